@@ -0,0 +1,79 @@
+package com.muzkat.reminder.mapper;
+
+import com.muzkat.reminder.dto.RemindDTO;
+import com.muzkat.reminder.model.Remind;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-бенчмарк преобразований {@link RemindMapper} между сущностью и DTO.
+ * <p>
+ *     Используется реализация, сгенерированная MapStruct, без контекста Spring.
+ *     Запуск: {@code gradle jmh}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RemindMapperBenchmark {
+
+    /**
+     * Поле проверяемый маппер
+     */
+    private final RemindMapper mapper = new RemindMapperImpl();
+
+    /**
+     * Поле исходная сущность
+     */
+    private Remind remind;
+
+    /**
+     * Поле исходный DTO
+     */
+    private RemindDTO dto;
+
+
+    /**
+     * Метод подготавливает сущность и DTO для преобразования
+     */
+    @Setup
+    public void setUp() {
+        remind = new Remind(1L, "Встреча", "Обсудить план релиза",
+                LocalDateTime.of(2025, 3, 14, 9, 30), 42L, false);
+        dto = mapper.toDto(remind);
+    }
+
+
+    /**
+     * Метод преобразует сущность в DTO
+     * @return DTO напоминания
+     */
+    @Benchmark
+    public RemindDTO toDto() {
+        return mapper.toDto(remind);
+    }
+
+
+    /**
+     * Метод преобразует DTO в сущность
+     * @return сущность напоминания
+     */
+    @Benchmark
+    public Remind toEntity() {
+        return mapper.toEntity(dto);
+    }
+}
@@ -0,0 +1,106 @@
+package com.muzkat.reminder.security;
+
+import com.muzkat.reminder.config.AdminProperties;
+import com.muzkat.reminder.repository.RevokedAccessTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-бенчмарк накладных расходов {@link JwtAuthenticationFilter} на один запрос.
+ * <p>
+ *     Параметр {@code verifiedCacheSize} сравнивает проверку токена с кэшем проверенных токенов
+ *     ({@code 10000}) и без него ({@code 0}).
+ *     Запуск: {@code gradle jmh}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtAuthenticationFilterBenchmark {
+
+    /**
+     * Поле размер кэша проверенных токенов
+     */
+    @Param({"0", "10000"})
+    private long verifiedCacheSize;
+
+    /**
+     * Поле проверяемый фильтр
+     */
+    private JwtAuthenticationFilter filter;
+
+    /**
+     * Поле значение заголовка Authorization
+     */
+    private String authorizationHeader;
+
+    /**
+     * Поле пустая цепочка фильтров
+     */
+    private final FilterChain chain = (request, response) -> { };
+
+
+    /**
+     * Метод создаёт провайдер токенов без контекста Spring и выпускает токен для бенчмарка
+     */
+    @Setup
+    public void setUp() {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "secretKey", "benchmark-secret-key-benchmark-secret-key");
+        ReflectionTestUtils.setField(provider, "validityInMillis", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(provider, "verifiedCacheSize", verifiedCacheSize);
+        ReflectionTestUtils.invokeMethod(provider, "init");
+
+        TokenAuditLog tokenAuditLog = new TokenAuditLog();
+        ReflectionTestUtils.setField(tokenAuditLog, "enabled", true);
+        ReflectionTestUtils.setField(tokenAuditLog, "bufferSize", 4096);
+        tokenAuditLog.start();
+
+        TokenRevocationService tokenRevocationService =
+                new TokenRevocationService(mock(RevokedAccessTokenRepository.class));
+        tokenRevocationService.reload();
+
+        filter = new JwtAuthenticationFilter(provider, tokenAuditLog, tokenRevocationService,
+                new AdminProperties(), new SimpleMeterRegistry());
+        filter.initMetrics();
+        authorizationHeader = "Bearer " + provider.generateToken("bench@example.com", 1L);
+    }
+
+
+    /**
+     * Метод прогоняет один аутентифицированный запрос через фильтр
+     * @return аутентификация, установленная фильтром
+     * @throws Exception в случае ошибки фильтра
+     */
+    @Benchmark
+    public Object doFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/remind/all");
+        request.addHeader("Authorization", authorizationHeader);
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
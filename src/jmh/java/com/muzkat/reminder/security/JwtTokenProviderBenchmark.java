@@ -0,0 +1,83 @@
+package com.muzkat.reminder.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-бенчмарк выпуска и проверки access-токенов {@link JwtTokenProvider}.
+ * <p>
+ *     Параметр {@code verifiedCacheSize} сравнивает проверку подписи на каждый вызов ({@code 0})
+ *     с проверкой через кэш проверенных токенов ({@code 10000}).
+ *     Запуск: {@code gradle jmh}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtTokenProviderBenchmark {
+
+    /**
+     * Поле размер кэша проверенных токенов
+     */
+    @Param({"0", "10000"})
+    private long verifiedCacheSize;
+
+    /**
+     * Поле проверяемый провайдер токенов
+     */
+    private JwtTokenProvider provider;
+
+    /**
+     * Поле заранее выпущенный токен
+     */
+    private String token;
+
+
+    /**
+     * Метод создаёт провайдер токенов без контекста Spring и выпускает токен для проверки
+     */
+    @Setup
+    public void setUp() {
+        provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "secretKey", "benchmark-secret-key-benchmark-secret-key");
+        ReflectionTestUtils.setField(provider, "validityInMillis", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(provider, "verifiedCacheSize", verifiedCacheSize);
+        ReflectionTestUtils.invokeMethod(provider, "init");
+        token = provider.generateToken("bench@example.com", 1L);
+    }
+
+
+    /**
+     * Метод выпускает новый access-токен
+     * @return токен
+     */
+    @Benchmark
+    public String generate() {
+        return provider.generateToken("bench@example.com", 1L);
+    }
+
+
+    /**
+     * Метод проверяет access-токен
+     * @return данные аутентифицированного пользователя
+     */
+    @Benchmark
+    public AuthenticatedUser validate() {
+        return provider.authenticate(token);
+    }
+}
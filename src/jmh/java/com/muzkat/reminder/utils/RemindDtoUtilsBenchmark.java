@@ -0,0 +1,96 @@
+package com.muzkat.reminder.utils;
+
+import com.muzkat.reminder.dto.RemindDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-бенчмарк фильтрации и сортировки списка напоминаний через {@link RemindDtoUtils}.
+ * <p>
+ *     Повторяет обработку в {@code RemindService.filterReminds} и {@code getSortedReminds}
+ *     на списках размером {@code size}. Данные генерируются с фиксированным зерном,
+ *     чтобы результаты разных запусков были сравнимы.
+ *     Запуск: {@code gradle jmh}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RemindDtoUtilsBenchmark {
+
+    /**
+     * Поле количество напоминаний в списке
+     */
+    @Param({"1000", "100000"})
+    private int size;
+
+    /**
+     * Поле критерий сортировки
+     */
+    @Param({"title", "date", "time"})
+    private String sortBy;
+
+    /**
+     * Поле исходный список напоминаний
+     */
+    private List<RemindDTO> reminds;
+
+
+    /**
+     * Метод генерирует список напоминаний
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        reminds = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            reminds.add(new RemindDTO((long) i, "Напоминание " + random.nextInt(size), "Описание " + i,
+                    start.plusDays(random.nextInt(365)), LocalTime.of(random.nextInt(24), random.nextInt(60)), 1L));
+        }
+    }
+
+
+    /**
+     * Метод фильтрует список по заголовку и дате
+     * @return отфильтрованный список
+     */
+    @Benchmark
+    public List<RemindDTO> filter() {
+        LocalDate date = LocalDate.of(2025, 6, 1);
+        return reminds.stream()
+                .filter(dto -> RemindDtoUtils.matchesFilters(dto, "НАПОМИНАНИЕ 1", date, null))
+                .toList();
+    }
+
+
+    /**
+     * Метод сортирует список по критерию {@code sortBy}
+     * @return отсортированный список
+     */
+    @Benchmark
+    public List<RemindDTO> sort() {
+        return reminds.stream()
+                .sorted(RemindDtoUtils.getComparator(sortBy))
+                .toList();
+    }
+}
@@ -0,0 +1,54 @@
+package com.muzkat.reminder.utils;
+
+import com.muzkat.reminder.model.Remind;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-бенчмарк формирования текста уведомления планировщика {@link RemindMessageUtils#telegramMessage}.
+ * Запуск: {@code gradle jmh}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RemindMessageUtilsBenchmark {
+
+    /**
+     * Поле напоминание для форматирования
+     */
+    private Remind remind;
+
+
+    /**
+     * Метод подготавливает напоминание
+     */
+    @Setup
+    public void setUp() {
+        remind = new Remind(1L, "Встреча", "Обсудить план релиза",
+                LocalDateTime.of(2025, 3, 14, 9, 30), 42L, false);
+    }
+
+
+    /**
+     * Метод формирует текст сообщения Telegram
+     * @return текст сообщения
+     */
+    @Benchmark
+    public String telegramMessage() {
+        return RemindMessageUtils.telegramMessage(remind);
+    }
+}
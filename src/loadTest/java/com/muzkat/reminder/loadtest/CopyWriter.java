@@ -0,0 +1,97 @@
+package com.muzkat.reminder.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Буферизованная запись строк в поток {@code COPY ... FROM STDIN} в текстовом формате
+ */
+final class CopyWriter implements AutoCloseable {
+
+    /**
+     * Поле открытая операция COPY
+     */
+    private final CopyIn copyIn;
+
+    /**
+     * Поле буфер текущей порции
+     */
+    private final StringBuilder buffer;
+
+    /**
+     * Поле размер порции в байтах
+     */
+    private final int bufferSize;
+
+    /**
+     * Конструктор открывает операцию COPY
+     * @param connection соединение с базой данных
+     * @param sql команда COPY
+     * @param bufferSize размер порции в байтах
+     * @throws SQLException в случае ошибки открытия COPY
+     */
+    CopyWriter(Connection connection, String sql, int bufferSize) throws SQLException {
+        this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+        this.bufferSize = bufferSize;
+        this.buffer = new StringBuilder(bufferSize + 1024);
+    }
+
+    /**
+     * Метод добавляет строку и отправляет порцию при заполнении буфера
+     * @param values значения столбцов
+     * @throws SQLException в случае ошибки отправки
+     */
+    void row(String... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append('\t');
+            }
+            escape(values[i]);
+        }
+        buffer.append('\n');
+        if (buffer.length() >= bufferSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Метод экранирует значение для текстового формата COPY
+     * @param value значение столбца
+     */
+    private void escape(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> buffer.append("\\\\");
+                case '\t' -> buffer.append("\\t");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                default -> buffer.append(c);
+            }
+        }
+    }
+
+    /**
+     * Метод отправляет накопленную порцию
+     * @throws SQLException в случае ошибки отправки
+     */
+    private void flush() throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    /**
+     * Метод отправляет остаток буфера и завершает COPY
+     * @throws SQLException в случае ошибки завершения
+     */
+    @Override
+    public void close() throws SQLException {
+        flush();
+        copyIn.endCopy();
+    }
+}
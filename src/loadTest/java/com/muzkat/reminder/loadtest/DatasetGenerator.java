@@ -0,0 +1,259 @@
+package com.muzkat.reminder.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Генератор синтетического набора данных для нагрузочных тестов.
+ * <p>
+ *     Создаёт {@code --users} пользователей с email {@code loadtest+N@example.com} и общим паролем
+ *     {@code --user-password}, а также по {@code --reminds-per-user} напоминаний на пользователя.
+ *     Строки загружаются командой {@code COPY ... FROM STDIN} порциями по {@code --copy-buffer} байт,
+ *     что на порядки быстрее построчных INSERT. Пароль хэшируется BCrypt один раз для всех пользователей.
+ * </p>
+ * Распределение времени напоминаний приближено к реальному:
+ * <ul>
+ *     <li>доля {@code --past-fraction} приходится на последние {@code --past-days} дней и отмечена отправленной</li>
+ *     <li>остальные равномерно распределены на {@code --future-days} дней вперёд</li>
+ *     <li>время суток сосредоточено в рабочие часы (8:00–21:00), минуты кратны 5, чаще всего :00 и :30</li>
+ * </ul>
+ * Параметр {@code --reset=true} предварительно удаляет данные предыдущего запуска генератора.
+ * <pre>
+ * gradle seedDataset -PloadTestArgs="--jdbc-url=jdbc:postgresql://localhost:5432/reminder
+ *     --db-user=postgres --db-password=secret --users=10000 --reminds-per-user=100 --reset=true"
+ * </pre>
+ */
+public final class DatasetGenerator {
+
+    /**
+     * Шаблон email сгенерированных пользователей
+     */
+    static final String EMAIL_PATTERN = "loadtest+%d@example.com";
+
+    /**
+     * Поле формат времени напоминания в потоке COPY
+     */
+    private static final DateTimeFormatter COPY_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * Поле веса часов суток с 8:00 до 21:00 при выборе времени напоминания
+     */
+    private static final int[] HOUR_WEIGHTS = {3, 8, 10, 8, 6, 5, 6, 7, 6, 5, 6, 8, 7, 4};
+
+    /**
+     * Поле заголовки напоминаний
+     */
+    private static final String[] TITLES = {
+            "Встреча", "Позвонить", "Оплатить счёт", "Тренировка", "Врач", "Отчёт", "День рождения", "Купить продукты"
+    };
+
+    /**
+     * Конструктор закрыт: класс содержит только точку входа
+     */
+    private DatasetGenerator() {
+    }
+
+
+    /**
+     * Точка входа генератора
+     * @param args параметры вида {@code --имя=значение}
+     * @throws Exception в случае ошибки загрузки данных
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTestSupport.parseOptions(args);
+        String url = options.getOrDefault("jdbc-url", "jdbc:postgresql://localhost:5432/reminder");
+        int users = Integer.parseInt(options.getOrDefault("users", "1000"));
+        int remindsPerUser = Integer.parseInt(options.getOrDefault("reminds-per-user", "100"));
+        int copyBuffer = Integer.parseInt(options.getOrDefault("copy-buffer", String.valueOf(1 << 20)));
+        boolean reset = Boolean.parseBoolean(options.getOrDefault("reset", "false"));
+        String userPassword = options.getOrDefault("user-password", "loadtest");
+        Distribution distribution = new Distribution(
+                Double.parseDouble(options.getOrDefault("past-fraction", "0.6")),
+                Integer.parseInt(options.getOrDefault("past-days", "90")),
+                Integer.parseInt(options.getOrDefault("future-days", "60")));
+        Random random = new Random(Long.parseLong(options.getOrDefault("seed", "42")));
+
+        try (Connection connection = DriverManager.getConnection(url,
+                options.get("db-user"), options.get("db-password"))) {
+            connection.setAutoCommit(false);
+            if (reset) {
+                reset(connection);
+            }
+            long started = System.nanoTime();
+            List<Long> userIds = copyUsers(connection, users, copyBuffer);
+            copyCredentials(connection, userIds, new BCryptPasswordEncoder().encode(userPassword), copyBuffer);
+            long reminds = copyReminds(connection, userIds, remindsPerUser, distribution, random, copyBuffer);
+            connection.commit();
+
+            try (Statement statement = connection.createStatement()) {
+                connection.setAutoCommit(true);
+                statement.execute("analyze app_user");
+                statement.execute("analyze user_credentials");
+                statement.execute("analyze remind");
+            }
+            double seconds = (System.nanoTime() - started) / 1e9;
+            System.out.printf("Загружено пользователей: %d, напоминаний: %d за %.1f с (%.0f строк/с)%n",
+                    userIds.size(), reminds, seconds, (userIds.size() * 2 + reminds) / seconds);
+            System.out.printf("Вход: email %s, пароль %s%n", String.format(EMAIL_PATTERN, 0), userPassword);
+        }
+    }
+
+
+    /**
+     * Метод удаляет данные предыдущего запуска генератора
+     * @param connection соединение с базой данных
+     * @throws SQLException в случае ошибки удаления
+     */
+    private static void reset(Connection connection) throws SQLException {
+        String generated = "select user_id from app_user where user_email like 'loadtest+%@example.com'";
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("delete from remind where user_id in (" + generated + ")");
+            statement.execute("delete from refresh_token where user_id in (" + generated + ")");
+            statement.execute("delete from user_credentials where user_id in (" + generated + ")");
+            int deleted = statement.executeUpdate("delete from app_user where user_email like 'loadtest+%@example.com'");
+            System.out.printf("Удалено пользователей предыдущего запуска: %d%n", deleted);
+        }
+    }
+
+
+    /**
+     * Метод загружает пользователей и возвращает их идентификаторы
+     * @param connection соединение с базой данных
+     * @param users количество пользователей
+     * @param copyBuffer размер порции COPY в байтах
+     * @return идентификаторы пользователей в порядке номеров
+     * @throws SQLException в случае ошибки загрузки
+     */
+    private static List<Long> copyUsers(Connection connection, int users, int copyBuffer) throws SQLException {
+        try (CopyWriter writer = new CopyWriter(connection, "copy app_user (name, user_email) from stdin", copyBuffer)) {
+            for (int i = 0; i < users; i++) {
+                writer.row("Load Test " + i, String.format(EMAIL_PATTERN, i));
+            }
+        }
+
+        List<Long> userIds = new ArrayList<>(users);
+        try (PreparedStatement statement = connection.prepareStatement("""
+                select user_id from app_user
+                where user_email like 'loadtest+%@example.com'
+                order by user_id
+                """)) {
+            statement.setFetchSize(10_000);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    userIds.add(resultSet.getLong(1));
+                }
+            }
+        }
+        return userIds;
+    }
+
+
+    /**
+     * Метод загружает учётные данные пользователей
+     * @param connection соединение с базой данных
+     * @param userIds идентификаторы пользователей
+     * @param passwordHash хэш общего пароля
+     * @param copyBuffer размер порции COPY в байтах
+     * @throws SQLException в случае ошибки загрузки
+     */
+    private static void copyCredentials(Connection connection, List<Long> userIds, String passwordHash,
+                                        int copyBuffer) throws SQLException {
+        try (CopyWriter writer = new CopyWriter(connection,
+                "copy user_credentials (user_id, password) from stdin", copyBuffer)) {
+            for (Long userId : userIds) {
+                writer.row(userId.toString(), passwordHash);
+            }
+        }
+    }
+
+
+    /**
+     * Метод загружает напоминания пользователей
+     * @param connection соединение с базой данных
+     * @param userIds идентификаторы пользователей
+     * @param remindsPerUser количество напоминаний на пользователя
+     * @param distribution распределение времени напоминаний
+     * @param random генератор случайных чисел
+     * @param copyBuffer размер порции COPY в байтах
+     * @return количество загруженных напоминаний
+     * @throws SQLException в случае ошибки загрузки
+     */
+    private static long copyReminds(Connection connection, List<Long> userIds, int remindsPerUser,
+                                    Distribution distribution, Random random, int copyBuffer) throws SQLException {
+        LocalDate today = LocalDate.now();
+        long count = 0;
+        try (CopyWriter writer = new CopyWriter(connection,
+                "copy remind (title, description, remind, user_id, notified) from stdin", copyBuffer)) {
+            for (Long userId : userIds) {
+                for (int i = 0; i < remindsPerUser; i++) {
+                    boolean past = random.nextDouble() < distribution.pastFraction();
+                    LocalDate date = past
+                            ? today.minusDays(random.nextInt(distribution.pastDays()) + 1)
+                            : today.plusDays(random.nextInt(distribution.futureDays()) + 1);
+                    LocalDateTime time = date.atTime(hour(random), minute(random));
+                    writer.row(TITLES[random.nextInt(TITLES.length)] + " " + i,
+                            "Напоминание " + i + " пользователя " + userId,
+                            time.format(COPY_TIMESTAMP),
+                            userId.toString(),
+                            past ? "t" : "f");
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+
+    /**
+     * Метод выбирает час напоминания с учётом весов рабочих часов
+     * @param random генератор случайных чисел
+     * @return час от 8 до 21
+     */
+    private static int hour(Random random) {
+        int total = 0;
+        for (int weight : HOUR_WEIGHTS) {
+            total += weight;
+        }
+        int point = random.nextInt(total);
+        for (int i = 0; i < HOUR_WEIGHTS.length; i++) {
+            point -= HOUR_WEIGHTS[i];
+            if (point < 0) {
+                return 8 + i;
+            }
+        }
+        return 8;
+    }
+
+
+    /**
+     * Метод выбирает минуту напоминания: половина напоминаний приходится на :00 и :30, остальные кратны 5
+     * @param random генератор случайных чисел
+     * @return минута
+     */
+    private static int minute(Random random) {
+        return random.nextBoolean() ? (random.nextBoolean() ? 0 : 30) : random.nextInt(12) * 5;
+    }
+
+
+    /**
+     * Распределение времени напоминаний
+     * @param pastFraction доля напоминаний в прошлом
+     * @param pastDays глубина прошлого в днях
+     * @param futureDays горизонт будущего в днях
+     */
+    private record Distribution(double pastFraction, int pastDays, int futureDays) {
+    }
+}
@@ -0,0 +1,350 @@
+package com.muzkat.reminder.loadtest;
+
+import com.muzkat.reminder.ReminderApplication;
+import com.muzkat.reminder.service.notification.RemindNotificationScheduler;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Бенчмарк скорости разбора очереди просроченных напоминаний планировщиком {@link RemindNotificationScheduler}.
+ * <p>
+ *     Загружает в локальный Postgres {@code --reminds} неотправленных напоминаний со временем
+ *     за последние {@code --spread-hours} часов, поднимает контекст приложения без веб-сервера,
+ *     заменив каналы доставки заглушками {@link StubChannelConfig} с задержкой {@code --email-latency-ms},
+ *     {@code --telegram-latency-ms} и долей ошибок {@code --email-error-rate}, {@code --telegram-error-rate},
+ *     и вызывает проход планировщика до тех пор, пока очередь не опустеет (не более {@code --max-passes} проходов).
+ * </p>
+ * <p>
+ *     Проход только передаёт напоминания в очереди каналов, а отметка notified ставится позже,
+ *     по завершении отправок. Поэтому после каждого прохода бенчмарк опрашивает количество неотправленных
+ *     напоминаний и завершённые отправки заглушек, пока очередь не опустеет и каждый канал не завершит
+ *     по отправке на каждое напоминание, либо пока они не перестанут меняться в течение {@code --settle-ms}
+ *     (отправки, завершившиеся ошибкой, передаёт повторно следующий проход). Общее время ограничено
+ *     {@code --delivery-timeout} секундами.
+ * </p>
+ * Выводятся:
+ * <ul>
+ *     <li>скорость постановки в очереди каналов (напоминаний в секунду до возврата из планировщика)</li>
+ *     <li>скорость доставки: напоминания, отмеченные отправленными, за время до последнего изменения
+ *     очереди или завершённых отправок</li>
+ *     <li>количество SQL-запросов Hibernate на одно напоминание</li>
+ *     <li>пиковый объём занятой кучи во время разбора</li>
+ * </ul>
+ * Регулярный запуск планировщика отключается, чтобы он не пересекался с измеряемым проходом.
+ * <pre>
+ * gradle drainBenchmark -PloadTestArgs="--jdbc-url=jdbc:postgresql://localhost:5432/reminder
+ *     --db-user=postgres --db-password=secret --reminds=1000000"
+ * </pre>
+ * Бенчмарк удаляет и пересоздаёт только своих пользователей {@code drain+N@example.com} и их напоминания
+ */
+public final class DrainBenchmark {
+
+    /**
+     * Поле шаблон email пользователей бенчмарка
+     */
+    private static final String EMAIL_PATTERN = "drain+%d@example.com";
+
+    /**
+     * Поле условие выбора пользователей бенчмарка
+     */
+    private static final String DRAIN_USERS = "select user_id from app_user where user_email like 'drain+%@example.com'";
+
+    /**
+     * Поле формат времени напоминания в потоке COPY
+     */
+    private static final DateTimeFormatter COPY_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * Конструктор закрыт: класс содержит только точку входа
+     */
+    private DrainBenchmark() {
+    }
+
+
+    /**
+     * Точка входа бенчмарка
+     * @param args параметры вида {@code --имя=значение}
+     * @throws Exception в случае ошибки загрузки данных или запуска приложения
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTestSupport.parseOptions(args);
+        String url = options.getOrDefault("jdbc-url", "jdbc:postgresql://localhost:5432/reminder");
+        String dbUser = options.get("db-user");
+        String dbPassword = options.get("db-password");
+        int reminds = Integer.parseInt(options.getOrDefault("reminds", "100000"));
+        int users = Integer.parseInt(options.getOrDefault("users", "100"));
+        int spreadHours = Integer.parseInt(options.getOrDefault("spread-hours", "24"));
+        int maxPasses = Integer.parseInt(options.getOrDefault("max-passes", "3"));
+        long deliveryTimeout = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("delivery-timeout", "600")));
+        long settle = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(options.getOrDefault("settle-ms", "2000")));
+
+        if (!Boolean.parseBoolean(options.getOrDefault("skip-seed", "false"))) {
+            try (Connection connection = DriverManager.getConnection(url, dbUser, dbPassword)) {
+                seed(connection, users, reminds, spreadHours);
+            }
+        }
+
+        SpringApplication application = new SpringApplication(ReminderApplication.class, StubChannelConfig.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setDefaultProperties(properties(options, url, dbUser, dbPassword));
+        try (ConfigurableApplicationContext context = application.run()) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            Statistics statistics = context.getBean(EntityManagerFactory.class)
+                    .unwrap(SessionFactory.class).getStatistics();
+            RemindNotificationScheduler scheduler = context.getBean(RemindNotificationScheduler.class);
+            StubChannelConfig.StubChannel email =
+                    context.getBean(StubChannelConfig.StubEmailSendService.class).channel();
+            StubChannelConfig.StubChannel telegram =
+                    context.getBean(StubChannelConfig.StubTelegramService.class).channel();
+
+            long pendingBefore = pending(jdbcTemplate);
+            statistics.clear();
+            HeapSampler heap = HeapSampler.start();
+            long started = System.nanoTime();
+            long lastProgress = started;
+            long dispatched = 0;
+            long enqueued = 0;
+            int passes = 0;
+            long pending = pendingBefore;
+            while (pending > 0 && passes < maxPasses && System.nanoTime() - started < deliveryTimeout) {
+                long passStarted = System.nanoTime();
+                scheduler.checkDateTimeAndSendRemind();
+                dispatched += System.nanoTime() - passStarted;
+                enqueued += scheduler.getLastPass().getDispatched();
+                passes++;
+
+                long completions = email.completed() + telegram.completed();
+                long quietSince = System.nanoTime();
+                while (System.nanoTime() - started < deliveryTimeout) {
+                    Thread.sleep(50);
+                    long remaining = pending(jdbcTemplate);
+                    long completed = email.completed() + telegram.completed();
+                    long now = System.nanoTime();
+                    if (remaining != pending || completed != completions) {
+                        pending = remaining;
+                        completions = completed;
+                        lastProgress = now;
+                        quietSince = now;
+                    }
+                    boolean drained = pending == 0
+                            && email.completed() >= pendingBefore && telegram.completed() >= pendingBefore;
+                    if (drained || now - quietSince >= settle) {
+                        break;
+                    }
+                }
+            }
+            long deliveredNanos = lastProgress - started;
+            long statements = statistics.getPrepareStatementCount();
+            long delivered = pendingBefore - pending;
+            heap.stop();
+
+            System.out.printf("Напоминаний в очереди: %d, отправлено: %d, осталось: %d, проходов: %d%n",
+                    pendingBefore, delivered, pending, passes);
+            System.out.printf("Постановка в очереди каналов: %.1f с, %.0f напоминаний/с%n",
+                    dispatched / 1e9, enqueued / (dispatched / 1e9));
+            System.out.printf("Доставка: %.1f с, %.0f напоминаний/с (email %d, ошибок %d; telegram %d, ошибок %d)%n",
+                    deliveredNanos / 1e9, delivered == 0 ? 0 : delivered / (deliveredNanos / 1e9),
+                    email.completed(), email.failed(), telegram.completed(), telegram.failed());
+            System.out.printf("SQL-запросов: %d, на напоминание: %.2f (загрузок сущностей %d, обновлений %d)%n",
+                    statements, delivered == 0 ? 0 : statements / (double) delivered,
+                    statistics.getEntityLoadCount(), statistics.getEntityUpdateCount());
+            System.out.printf("Пиковый объём кучи: %.1f МБ (до начала %.1f МБ)%n",
+                    heap.peak() / 1048576.0, heap.initial() / 1048576.0);
+        }
+    }
+
+
+    /**
+     * Метод формирует свойства приложения для бенчмарка
+     * @param options параметры командной строки
+     * @param url адрес базы данных
+     * @param dbUser пользователь базы данных
+     * @param dbPassword пароль базы данных
+     * @return свойства приложения по умолчанию
+     */
+    static Map<String, Object> properties(Map<String, String> options, String url,
+                                                  String dbUser, String dbPassword) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("DB_URL", url);
+        properties.put("DB_USERNAME", dbUser);
+        properties.put("DB_PASSWORD", dbPassword);
+        properties.put("EMAIL_USERNAME", "drain");
+        properties.put("EMAIL_PASSWORD", "drain");
+        properties.put("TELEGRAM_BOT_TOKEN", "0:drain");
+        properties.put("TELEGRAM_CHAT_ID", "0");
+        properties.put("CREDENTIAL_EMAIL", "drain-admin@example.com");
+        properties.put("CREDENTIAL_PASSWORD", "drain");
+        properties.put("JWT_SECRET", "drain-benchmark-secret-drain-benchmark-secret");
+        properties.put("reminder.scheduler.initial-delay-ms", Integer.MAX_VALUE);
+        properties.put("reminder.scheduler.interval-ms", Integer.MAX_VALUE);
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("spring.jpa.properties.hibernate.generate_statistics", true);
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener", "OFF");
+        properties.put("drain.stub.email-latency-ms", options.getOrDefault("email-latency-ms", "20"));
+        properties.put("drain.stub.email-error-rate", options.getOrDefault("email-error-rate", "0"));
+        properties.put("drain.stub.telegram-latency-ms", options.getOrDefault("telegram-latency-ms", "50"));
+        properties.put("drain.stub.telegram-error-rate", options.getOrDefault("telegram-error-rate", "0"));
+        return properties;
+    }
+
+
+    /**
+     * Метод подсчитывает неотправленные напоминания пользователей бенчмарка
+     * @param jdbcTemplate клиент JDBC
+     * @return количество неотправленных напоминаний
+     */
+    static long pending(JdbcTemplate jdbcTemplate) {
+        Long count = jdbcTemplate.queryForObject(
+                "select count(*) from remind where notified = false and user_id in (" + DRAIN_USERS + ")", Long.class);
+        return count == null ? 0 : count;
+    }
+
+
+    /**
+     * Метод пересоздаёт пользователей бенчмарка и загружает просроченные напоминания
+     * @param connection соединение с базой данных
+     * @param users количество пользователей
+     * @param reminds количество напоминаний
+     * @param spreadHours глубина просрочки в часах
+     * @throws SQLException в случае ошибки загрузки
+     */
+    static void seed(Connection connection, int users, int reminds, int spreadHours) throws SQLException {
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("delete from remind where user_id in (" + DRAIN_USERS + ")");
+            statement.execute("delete from user_credentials where user_id in (" + DRAIN_USERS + ")");
+            statement.execute("delete from refresh_token where user_id in (" + DRAIN_USERS + ")");
+            statement.execute("delete from app_user where user_email like 'drain+%@example.com'");
+        }
+        try (CopyWriter writer = new CopyWriter(connection, "copy app_user (name, user_email) from stdin", 1 << 20)) {
+            for (int i = 0; i < users; i++) {
+                writer.row("Drain " + i, String.format(EMAIL_PATTERN, i));
+            }
+        }
+        List<Long> userIds = new ArrayList<>(users);
+        try (PreparedStatement statement = connection.prepareStatement(DRAIN_USERS);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                userIds.add(resultSet.getLong(1));
+            }
+        }
+
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now().minusMinutes(1);
+        long spreadSeconds = TimeUnit.HOURS.toSeconds(spreadHours);
+        long started = System.nanoTime();
+        try (CopyWriter writer = new CopyWriter(connection,
+                "copy remind (title, description, remind, user_id, notified) from stdin", 1 << 20)) {
+            for (int i = 0; i < reminds; i++) {
+                writer.row("Очередь " + i, "Напоминание из очереди " + i,
+                        now.minusSeconds(random.nextLong(spreadSeconds)).format(COPY_TIMESTAMP),
+                        userIds.get(i % userIds.size()).toString(), "f");
+            }
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("analyze remind");
+        }
+        System.out.printf("Загружено %d просроченных напоминаний за %.1f с%n", reminds, (System.nanoTime() - started) / 1e9);
+    }
+
+
+    /**
+     * Фоновый замер занятой кучи. Сэмплирование каждые 10 мс даёт пик всей кучи,
+     * а не сумму пиков отдельных областей памяти
+     */
+    private static final class HeapSampler implements Runnable {
+
+        /**
+         * Поле источник данных о памяти
+         */
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        /**
+         * Поле пиковый объём занятой кучи в байтах
+         */
+        private final AtomicLong peak = new AtomicLong();
+
+        /**
+         * Поле объём занятой кучи при старте замера в байтах
+         */
+        private final long initial = memory.getHeapMemoryUsage().getUsed();
+
+        /**
+         * Поле поток замера
+         */
+        private Thread thread;
+
+        /**
+         * Метод запускает замер
+         * @return запущенный замер
+         */
+        static HeapSampler start() {
+            HeapSampler sampler = new HeapSampler();
+            sampler.thread = Thread.ofPlatform().daemon().name("heap-sampler").start(sampler);
+            return sampler;
+        }
+
+        @Override
+        public void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Метод останавливает замер
+         * @throws InterruptedException если ожидание остановки прервано
+         */
+        void stop() throws InterruptedException {
+            thread.interrupt();
+            thread.join();
+        }
+
+        /**
+         * Метод возвращает пиковый объём занятой кучи
+         * @return объём в байтах
+         */
+        long peak() {
+            return peak.get();
+        }
+
+        /**
+         * Метод возвращает объём занятой кучи при старте замера
+         * @return объём в байтах
+         */
+        long initial() {
+            return initial;
+        }
+    }
+}
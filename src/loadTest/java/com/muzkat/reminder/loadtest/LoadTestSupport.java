@@ -0,0 +1,80 @@
+package com.muzkat.reminder.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Общие методы нагрузочных тестов: разбор параметров командной строки и вход пользователя
+ */
+final class LoadTestSupport {
+
+    /**
+     * Шаблон извлечения access-токена из ответа /auth/login
+     */
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    /**
+     * Конструктор закрыт: класс содержит только статические методы
+     */
+    private LoadTestSupport() {
+    }
+
+
+    /**
+     * Метод разбирает параметры вида {@code --имя=значение}
+     * @param args аргументы командной строки
+     * @return параметры по имени
+     */
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+
+    /**
+     * Метод формирует тело запроса /auth/login
+     * @param email email пользователя
+     * @param password пароль пользователя
+     * @return JSON-тело запроса
+     */
+    static String loginBody(String email, String password) {
+        return "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}";
+    }
+
+
+    /**
+     * Метод получает access-токен через /auth/login
+     * @param client HTTP-клиент
+     * @param baseUrl адрес приложения
+     * @param email email пользователя
+     * @param password пароль пользователя
+     * @return access-токен
+     * @throws Exception если вход не выполнен
+     */
+    static String login(HttpClient client, String baseUrl, String email, String password) throws Exception {
+        if (email == null || password == null) {
+            throw new IllegalArgumentException("Укажите --email и --password пользователя для входа");
+        }
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(loginBody(email, password)))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Вход не выполнен: HTTP " + response.statusCode() + " " + response.body());
+        }
+        return matcher.group(1);
+    }
+}
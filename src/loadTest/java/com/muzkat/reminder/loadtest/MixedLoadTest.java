@@ -0,0 +1,408 @@
+package com.muzkat.reminder.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Нагрузочный тест смешанного трафика по открытой модели.
+ * <p>
+ *     Запросы поступают с заданной частотой {@code --rate} (запросов в секунду) независимо от того,
+ *     успевает ли приложение отвечать: при {@code --arrival=poisson} интервалы между запросами
+ *     экспоненциальные, при {@code --arrival=constant} одинаковые. Задержка отсчитывается
+ *     от запланированного момента отправки, поэтому очередь перед приложением попадает в измерение
+ *     (без эффекта coordinated omission). Если в полёте больше {@code --max-in-flight} запросов,
+ *     новый запрос не отправляется и учитывается как отброшенный.
+ * </p>
+ * Доля каждого сценария задаётся весами {@code --mix}, по умолчанию
+ * {@code all=20,by-id=30,filter=15,sorted=5,create=20,login=5,webhook=5}:
+ * <ul>
+ *     <li>{@code all}, {@code by-id}, {@code filter}, {@code sorted} – чтение /api/remind/*</li>
+ *     <li>{@code create} – POST /api/remind/create</li>
+ *     <li>{@code login} – POST /auth/login</li>
+ *     <li>{@code webhook} – POST /api/telegram/webhook</li>
+ * </ul>
+ * Запросы выполняются от имени {@code --login-users} пользователей, созданных {@link DatasetGenerator}.
+ * Для каждого сценария выводятся пропускная способность, ошибки и перцентили p50/p95/p99 по HdrHistogram;
+ * при указании {@code --histogram-dir} полные распределения сохраняются в файлы {@code <сценарий>.hgrm}.
+ * <pre>
+ * gradle mixedLoadTest -PloadTestArgs="--rate=500 --duration=120 --max-remind-id=1000000"
+ * </pre>
+ * Ограничение частоты запросов нужно отключить, иначе тест измерит ответы 429
+ */
+public final class MixedLoadTest {
+
+    /**
+     * Поле веса сценариев по умолчанию
+     */
+    private static final String DEFAULT_MIX = "all=20,by-id=30,filter=15,sorted=5,create=20,login=5,webhook=5";
+
+    /**
+     * Поле максимальная измеряемая задержка в наносекундах
+     */
+    private static final long MAX_LATENCY = TimeUnit.MINUTES.toNanos(2);
+
+    /**
+     * Конструктор закрыт: класс содержит только точку входа
+     */
+    private MixedLoadTest() {
+    }
+
+
+    /**
+     * Точка входа нагрузочного теста
+     * @param args параметры вида {@code --имя=значение}
+     * @throws Exception в случае ошибки входа или прерывания теста
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTestSupport.parseOptions(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        boolean poisson = !"constant".equals(options.getOrDefault("arrival", "poisson"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        int loginUsers = Integer.parseInt(options.getOrDefault("login-users", "20"));
+        String userPassword = options.getOrDefault("user-password", "loadtest");
+        long maxRemindId = Long.parseLong(options.getOrDefault("max-remind-id", "100000"));
+        Semaphore inFlight = new Semaphore(Integer.parseInt(options.getOrDefault("max-in-flight", "10000")));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .build();
+
+            List<String> tokens = new ArrayList<>(loginUsers);
+            for (int i = 0; i < loginUsers; i++) {
+                tokens.add(LoadTestSupport.login(client, baseUrl,
+                        String.format(DatasetGenerator.EMAIL_PATTERN, i), userPassword));
+            }
+            Context context = new Context(baseUrl, tokens, loginUsers, userPassword, maxRemindId);
+            List<Scenario> scenarios = scenarios(options.getOrDefault("mix", DEFAULT_MIX));
+            int totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+
+            long start = System.nanoTime();
+            long measureFrom = start + warmup.toNanos();
+            long measureTo = measureFrom + duration.toNanos();
+            double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+            double intended = start;
+            while (intended < measureTo) {
+                long scheduled = (long) intended;
+                long delay = scheduled - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                Scenario scenario = pick(scenarios, totalWeight);
+                boolean measured = scheduled >= measureFrom;
+                if (!inFlight.tryAcquire()) {
+                    if (measured) {
+                        scenario.dropped().incrementAndGet();
+                    }
+                } else {
+                    executor.submit(() -> {
+                        try {
+                            execute(client, scenario, context, scheduled, measured);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+                intended += poisson
+                        ? -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos
+                        : meanIntervalNanos;
+            }
+            executor.shutdown();
+            executor.awaitTermination(MAX_LATENCY, TimeUnit.NANOSECONDS);
+            report(scenarios, duration, options.get("histogram-dir"));
+        }
+    }
+
+
+    /**
+     * Метод отправляет запрос сценария и записывает задержку от запланированного момента
+     * @param client HTTP-клиент
+     * @param scenario сценарий
+     * @param context общие данные теста
+     * @param scheduled запланированный момент отправки ({@link System#nanoTime()})
+     * @param measured учитывать ли запрос в результатах
+     */
+    private static void execute(HttpClient client, Scenario scenario, Context context,
+                                long scheduled, boolean measured) {
+        int status;
+        try {
+            status = client.send(scenario.kind().request(context), HttpResponse.BodyHandlers.discarding())
+                    .statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            status = -1;
+        }
+        if (!measured) {
+            return;
+        }
+        if (status >= 200 && status < 300 || status == 404 && scenario.kind() == Kind.BY_ID) {
+            scenario.latencies().recordValue(Math.min(System.nanoTime() - scheduled, MAX_LATENCY));
+        } else {
+            scenario.errors().incrementAndGet();
+        }
+    }
+
+
+    /**
+     * Метод выводит итоги теста по каждому сценарию
+     * @param scenarios сценарии
+     * @param duration длительность измерения
+     * @param histogramDir каталог для полных распределений задержек (может быть null)
+     * @throws Exception в случае ошибки записи распределений
+     */
+    private static void report(List<Scenario> scenarios, Duration duration, String histogramDir) throws Exception {
+        System.out.printf("%-8s %9s %7s %7s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "dropped", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Scenario scenario : scenarios) {
+            Histogram latencies = scenario.latencies();
+            System.out.printf("%-8s %9d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    scenario.kind().label(), latencies.getTotalCount(), scenario.errors().get(),
+                    scenario.dropped().get(), latencies.getTotalCount() / (double) duration.toSeconds(),
+                    millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(95)),
+                    millis(latencies.getValueAtPercentile(99)), millis(latencies.getMaxValue()));
+            if (histogramDir != null) {
+                Path dir = Files.createDirectories(Path.of(histogramDir));
+                try (PrintStream out = new PrintStream(dir.resolve(scenario.kind().label() + ".hgrm").toFile(),
+                        StandardCharsets.UTF_8)) {
+                    latencies.outputPercentileDistribution(out, 1_000_000.0);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Метод переводит наносекунды в миллисекунды
+     * @param nanos значение в наносекундах
+     * @return значение в миллисекундах
+     */
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+
+    /**
+     * Метод разбирает веса сценариев вида {@code имя=вес,...}
+     * @param mix строка весов
+     * @return сценарии с ненулевым весом
+     */
+    private static List<Scenario> scenarios(String mix) {
+        Map<Kind, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            weights.put(Kind.of(parts[0]), Integer.parseInt(parts[1]));
+        }
+        List<Scenario> scenarios = new ArrayList<>();
+        weights.forEach((kind, weight) -> {
+            if (weight > 0) {
+                scenarios.add(new Scenario(kind, weight, new ConcurrentHistogram(MAX_LATENCY, 3),
+                        new AtomicLong(), new AtomicLong()));
+            }
+        });
+        return scenarios;
+    }
+
+
+    /**
+     * Метод выбирает сценарий пропорционально весам
+     * @param scenarios сценарии
+     * @param totalWeight сумма весов
+     * @return выбранный сценарий
+     */
+    private static Scenario pick(List<Scenario> scenarios, int totalWeight) {
+        int point = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            point -= scenario.weight();
+            if (point < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.getLast();
+    }
+
+
+    /**
+     * Сценарий нагрузки и его результаты
+     * @param kind вид запроса
+     * @param weight вес сценария в смеси
+     * @param latencies распределение задержек успешных запросов
+     * @param errors количество ошибок
+     * @param dropped количество запросов, не отправленных из-за предела {@code --max-in-flight}
+     */
+    private record Scenario(Kind kind, int weight, Histogram latencies, AtomicLong errors, AtomicLong dropped) {
+    }
+
+
+    /**
+     * Общие данные теста для построения запросов
+     * @param baseUrl адрес приложения
+     * @param tokens access-токены пользователей
+     * @param loginUsers количество пользователей для входа
+     * @param userPassword пароль пользователей
+     * @param maxRemindId верхняя граница идентификаторов напоминаний для запросов по id
+     */
+    private record Context(String baseUrl, List<String> tokens, int loginUsers, String userPassword,
+                           long maxRemindId) {
+
+        /**
+         * Метод создаёт построитель запроса с токеном случайного пользователя
+         * @param path путь запроса
+         * @return построитель запроса
+         */
+        HttpRequest.Builder authorized(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Authorization", "Bearer " + tokens.get(ThreadLocalRandom.current().nextInt(tokens.size())))
+                    .timeout(Duration.ofSeconds(30));
+        }
+    }
+
+
+    /**
+     * Виды запросов смешанного трафика
+     */
+    private enum Kind {
+
+        ALL("all") {
+            @Override
+            HttpRequest request(Context context) {
+                return context.authorized("/api/remind/all").GET().build();
+            }
+        },
+        BY_ID("by-id") {
+            @Override
+            HttpRequest request(Context context) {
+                long id = ThreadLocalRandom.current().nextLong(1, context.maxRemindId() + 1);
+                return context.authorized("/api/remind/by-id/" + id).GET().build();
+            }
+        },
+        FILTER("filter") {
+            @Override
+            HttpRequest request(Context context) {
+                LocalDate date = LocalDate.now().plusDays(ThreadLocalRandom.current().nextInt(-30, 30));
+                return context.authorized("/api/remind/filter?title="
+                        + URLEncoder.encode("Встреча", StandardCharsets.UTF_8) + "&date=" + date).GET().build();
+            }
+        },
+        SORTED("sorted") {
+            @Override
+            HttpRequest request(Context context) {
+                return context.authorized("/api/remind/sorted?sortBy=date").GET().build();
+            }
+        },
+        CREATE("create") {
+            @Override
+            HttpRequest request(Context context) {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                String body = "{\"title\":\"Нагрузка " + random.nextInt(1_000_000) + "\","
+                        + "\"description\":\"Создано нагрузочным тестом\","
+                        + "\"dateOfRemind\":\"" + LocalDate.now().plusDays(random.nextInt(1, 60)) + "\","
+                        + "\"timeOfRemind\":\"" + String.format("%02d:%02d:00", random.nextInt(8, 22),
+                        random.nextInt(12) * 5) + "\"}";
+                return context.authorized("/api/remind/create")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+            }
+        },
+        LOGIN("login") {
+            @Override
+            HttpRequest request(Context context) {
+                String email = String.format(DatasetGenerator.EMAIL_PATTERN,
+                        ThreadLocalRandom.current().nextInt(context.loginUsers()));
+                return HttpRequest.newBuilder(URI.create(context.baseUrl() + "/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .timeout(Duration.ofSeconds(30))
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                LoadTestSupport.loginBody(email, context.userPassword())))
+                        .build();
+            }
+        },
+        WEBHOOK("webhook") {
+            @Override
+            HttpRequest request(Context context) {
+                long updateId = UPDATE_IDS.incrementAndGet();
+                int user = ThreadLocalRandom.current().nextInt(context.loginUsers());
+                String body = "{\"update_id\":" + updateId + ",\"message\":{\"chat\":{\"id\":" + (100_000 + user)
+                        + "},\"text\":\"" + String.format(DatasetGenerator.EMAIL_PATTERN, user) + "\"}}";
+                return HttpRequest.newBuilder(URI.create(context.baseUrl() + "/api/telegram/webhook"))
+                        .header("Content-Type", "application/json")
+                        .timeout(Duration.ofSeconds(30))
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+            }
+        };
+
+        /**
+         * Поле счётчик update_id для запросов webhook; начинается с текущего времени,
+         * чтобы повторные запуски не попадали в окно дедупликации приложения
+         */
+        private static final AtomicLong UPDATE_IDS = new AtomicLong(System.currentTimeMillis() * 1000);
+
+        /**
+         * Поле имя сценария в параметре {@code --mix}
+         */
+        private final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Метод возвращает имя сценария
+         * @return имя сценария
+         */
+        String label() {
+            return label;
+        }
+
+        /**
+         * Метод строит очередной запрос сценария
+         * @param context общие данные теста
+         * @return HTTP-запрос
+         */
+        abstract HttpRequest request(Context context);
+
+        /**
+         * Метод находит вид запроса по имени сценария
+         * @param label имя сценария
+         * @return вид запроса
+         */
+        static Kind of(String label) {
+            for (Kind kind : values()) {
+                if (kind.label.equals(label)) {
+                    return kind;
+                }
+            }
+            throw new IllegalArgumentException("Неизвестный сценарий: " + label);
+        }
+    }
+}
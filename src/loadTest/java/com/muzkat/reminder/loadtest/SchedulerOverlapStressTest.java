@@ -0,0 +1,222 @@
+package com.muzkat.reminder.loadtest;
+
+import com.muzkat.reminder.ReminderApplication;
+import com.muzkat.reminder.service.notification.RemindNotificationScheduler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Нагрузочная проверка защиты {@link RemindNotificationScheduler} от пересекающихся проходов.
+ * <p>
+ *     Поднимает контекст приложения без веб-сервера с медленными заглушками каналов доставки
+ *     {@link StubChannelConfig} и дважды разбирает одну и ту же загруженную очередь
+ *     из {@code --reminds} просроченных напоминаний:
+ * </p>
+ * <ul>
+ *     <li>последовательно — проходы запускает один поток, пересечений нет;</li>
+ *     <li>конкурентно — {@code --callers} потоков вызывают проход каждые {@code --tick-ms} миллисекунд,
+ *     то есть регулярные проходы приходят намного чаще, чем успевает завершиться один проход.</li>
+ * </ul>
+ * Для каждого режима выводятся скорость доставки, количество повторных отправок в заглушках,
+ * прирост счётчика {@code reminder.scheduler.overlap} и наибольшее значение
+ * {@link RemindNotificationScheduler#getRunningPasses()}, замеренное отдельным потоком во время разбора.
+ * Скорость считается по завершённым отправкам заглушек, а не по напоминаниям, переданным в каналы:
+ * проход планировщика завершается раньше, чем выполняются сами отправки.
+ * Проверка завершается с кодом 1, если в конкурентном режиме есть повторные отправки, проходы
+ * выполнялись одновременно, пересечения не были зафиксированы счётчиком (то есть защита не проверялась)
+ * или скорость ниже {@code --min-throughput-ratio} от последовательной.
+ * <pre>
+ * gradle schedulerOverlapStressTest -PloadTestArgs="--jdbc-url=jdbc:postgresql://localhost:5432/reminder
+ *     --db-user=postgres --db-password=secret --reminds=2000 --callers=16 --email-latency-ms=100"
+ * </pre>
+ * Используются те же пользователи {@code drain+N@example.com}, что и в {@link DrainBenchmark}
+ */
+public final class SchedulerOverlapStressTest {
+
+    /**
+     * Конструктор закрыт: класс содержит только точку входа
+     */
+    private SchedulerOverlapStressTest() {
+    }
+
+
+    /**
+     * Точка входа проверки
+     * @param args параметры вида {@code --имя=значение}
+     * @throws Exception в случае ошибки загрузки данных или запуска приложения
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTestSupport.parseOptions(args);
+        String url = options.getOrDefault("jdbc-url", "jdbc:postgresql://localhost:5432/reminder");
+        String dbUser = options.get("db-user");
+        String dbPassword = options.get("db-password");
+        int reminds = Integer.parseInt(options.getOrDefault("reminds", "2000"));
+        int users = Integer.parseInt(options.getOrDefault("users", "100"));
+        int callers = Integer.parseInt(options.getOrDefault("callers", "16"));
+        long tickMs = Long.parseLong(options.getOrDefault("tick-ms", "10"));
+        double minThroughputRatio = Double.parseDouble(options.getOrDefault("min-throughput-ratio", "0.8"));
+        long timeout = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("timeout", "600")));
+
+        Map<String, Object> properties = DrainBenchmark.properties(options, url, dbUser, dbPassword);
+        properties.put("drain.stub.email-latency-ms", options.getOrDefault("email-latency-ms", "100"));
+        properties.put("drain.stub.telegram-latency-ms", options.getOrDefault("telegram-latency-ms", "200"));
+        if (options.containsKey("overlap-policy")) {
+            properties.put("reminder.scheduler.overlap-policy", options.get("overlap-policy"));
+        }
+
+        SpringApplication application = new SpringApplication(ReminderApplication.class, StubChannelConfig.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setDefaultProperties(properties);
+        try (ConfigurableApplicationContext context = application.run();
+             Connection connection = DriverManager.getConnection(url, dbUser, dbPassword)) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            RemindNotificationScheduler scheduler = context.getBean(RemindNotificationScheduler.class);
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            StubChannelConfig.StubChannel email =
+                    context.getBean(StubChannelConfig.StubEmailSendService.class).channel();
+            StubChannelConfig.StubChannel telegram =
+                    context.getBean(StubChannelConfig.StubTelegramService.class).channel();
+
+            DrainBenchmark.seed(connection, users, reminds, 24);
+            Result serial = run("последовательно", scheduler, meterRegistry, jdbcTemplate,
+                    email, telegram, 1, tickMs, timeout);
+
+            DrainBenchmark.seed(connection, users, reminds, 24);
+            Result concurrent = run("конкурентно", scheduler, meterRegistry, jdbcTemplate,
+                    email, telegram, callers, tickMs, timeout);
+
+            double ratio = concurrent.rate() / serial.rate();
+            System.out.printf("Скорость конкурентного режима относительно последовательного: %.2f%n", ratio);
+            if (concurrent.maxRunningPasses() > 1) {
+                System.out.println("ПРОВАЛ: проходы планировщика выполнялись одновременно");
+                System.exit(1);
+            }
+            if (concurrent.overlaps() == 0) {
+                System.out.println("ПРОВАЛ: пересечения проходов не возникали, уменьшите --tick-ms"
+                        + " или увеличьте --callers и задержку заглушек");
+                System.exit(1);
+            }
+            if (concurrent.duplicates() > 0 || concurrent.pending() > 0 || ratio < minThroughputRatio) {
+                System.out.println("ПРОВАЛ: повторные отправки, неразобранная очередь или падение скорости");
+                System.exit(1);
+            }
+            System.out.println("УСПЕХ: проходы не пересекались, повторных отправок нет, скорость не упала");
+        }
+    }
+
+
+    /**
+     * Метод разбирает очередь заданным количеством потоков до тех пор, пока заглушки обоих каналов
+     * не завершат по одной отправке на каждое напоминание и очередь не опустеет.
+     * Параллельно отдельный поток замеряет количество выполняющихся проходов
+     * @param mode название режима для вывода
+     * @param scheduler планировщик напоминаний
+     * @param meterRegistry реестр метрик приложения
+     * @param jdbcTemplate клиент JDBC
+     * @param email заглушка канала email
+     * @param telegram заглушка канала Telegram
+     * @param callers количество потоков, вызывающих проход
+     * @param tickMs пауза между вызовами прохода в каждом потоке
+     * @param timeout максимальная длительность разбора в наносекундах
+     * @return результат режима
+     * @throws InterruptedException если ожидание прервано
+     */
+    private static Result run(String mode, RemindNotificationScheduler scheduler, MeterRegistry meterRegistry,
+                              JdbcTemplate jdbcTemplate,
+                              StubChannelConfig.StubChannel email, StubChannelConfig.StubChannel telegram,
+                              int callers, long tickMs, long timeout) throws InterruptedException {
+        email.reset();
+        telegram.reset();
+        long pendingBefore = DrainBenchmark.pending(jdbcTemplate);
+        double overlapsBefore = overlaps(meterRegistry);
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicLong calls = new AtomicLong();
+        AtomicInteger maxRunningPasses = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>(callers);
+        Thread sampler = Thread.ofPlatform().name("running-passes-sampler").start(() -> {
+            while (!stop.get()) {
+                maxRunningPasses.accumulateAndGet(scheduler.getRunningPasses(), Math::max);
+                LockSupport.parkNanos(100_000);
+            }
+        });
+        long started = System.nanoTime();
+        for (int i = 0; i < callers; i++) {
+            threads.add(Thread.ofPlatform().name("tick-" + i).start(() -> {
+                while (!stop.get()) {
+                    scheduler.checkDateTimeAndSendRemind();
+                    calls.incrementAndGet();
+                    try {
+                        Thread.sleep(tickMs);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }));
+        }
+
+        long elapsed = System.nanoTime() - started;
+        long pending = pendingBefore;
+        while ((email.completed() < pendingBefore || telegram.completed() < pendingBefore || pending > 0)
+                && elapsed < timeout) {
+            Thread.sleep(50);
+            pending = DrainBenchmark.pending(jdbcTemplate);
+            elapsed = System.nanoTime() - started;
+        }
+        stop.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        sampler.join();
+
+        long delivered = Math.min(email.completed(), telegram.completed());
+        long overlaps = (long) (overlaps(meterRegistry) - overlapsBefore);
+        Result result = new Result(delivered / (elapsed / 1e9), email.duplicates() + telegram.duplicates(),
+                pending, overlaps, maxRunningPasses.get());
+        System.out.printf("[%s] потоков: %d, вызовов прохода: %d, доставлено: %d из %d за %.1f с, %.0f напоминаний/с%n",
+                mode, callers, calls.get(), delivered, pendingBefore, elapsed / 1e9, result.rate());
+        System.out.printf("[%s] отправок email %d, telegram %d; повторных отправок email %d, telegram %d%n",
+                mode, email.completed(), telegram.completed(), email.duplicates(), telegram.duplicates());
+        System.out.printf("[%s] пересечений проходов: %d, наибольшее число одновременных проходов: %d%n",
+                mode, overlaps, result.maxRunningPasses());
+        return result;
+    }
+
+
+    /**
+     * Метод суммирует счётчик {@code reminder.scheduler.overlap} по всем политикам
+     * @param meterRegistry реестр метрик приложения
+     * @return количество пересечений проходов
+     */
+    private static double overlaps(MeterRegistry meterRegistry) {
+        return meterRegistry.find("reminder.scheduler.overlap").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+
+    /**
+     * Результат одного режима
+     * @param rate скорость доставки по завершённым отправкам заглушек, напоминаний в секунду
+     * @param duplicates количество повторных отправок во всех каналах
+     * @param pending количество напоминаний, оставшихся в очереди
+     * @param overlaps прирост счётчика {@code reminder.scheduler.overlap} за время режима
+     * @param maxRunningPasses наибольшее замеренное количество одновременно выполняющихся проходов
+     */
+    private record Result(double rate, long duplicates, long pending, long overlaps, int maxRunningPasses) {
+    }
+}
@@ -0,0 +1,238 @@
+package com.muzkat.reminder.loadtest;
+
+import com.muzkat.reminder.config.TelegramProperties;
+import com.muzkat.reminder.service.TelegramService;
+import com.muzkat.reminder.service.notification.EmailSendService;
+import com.muzkat.reminder.service.notification.NotificationMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.mail.MailSendException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Конфигурация заглушек каналов доставки для {@link DrainBenchmark} и {@link SchedulerOverlapStressTest}.
+ * <p>
+ *     Заменяет {@link EmailSendService} и {@link TelegramService} ({@link Primary}) реализациями,
+ *     которые не обращаются к SMTP и Telegram, а ждут заданную задержку и с заданной вероятностью
+ *     завершаются ошибкой. Заглушки вызываются каналами доставки {@code email} и {@code telegram},
+ *     поэтому выполняются в тех же пулах потоков каналов, что и настоящие сервисы.
+ * </p>
+ * Параметры задаются свойствами {@code drain.stub.*}
+ */
+@Configuration(proxyBeanMethods = false)
+public class StubChannelConfig {
+
+    /**
+     * Метод создаёт заглушку отправки писем
+     * @param notificationMetrics метрики каналов доставки
+     * @param latencyMs задержка отправки в миллисекундах
+     * @param errorRate доля ошибок от 0 до 1
+     * @return заглушка {@link EmailSendService}
+     */
+    @Bean
+    @Primary
+    public StubEmailSendService stubEmailSendService(NotificationMetrics notificationMetrics,
+                                                     @Value("${drain.stub.email-latency-ms:20}") long latencyMs,
+                                                     @Value("${drain.stub.email-error-rate:0}") double errorRate) {
+        return new StubEmailSendService(notificationMetrics, new StubChannel(latencyMs, errorRate));
+    }
+
+
+    /**
+     * Метод создаёт заглушку отправки сообщений в Telegram
+     * @param telegramProperties настройки Telegram
+     * @param notificationMetrics метрики каналов доставки
+     * @param latencyMs задержка отправки в миллисекундах
+     * @param errorRate доля ошибок от 0 до 1
+     * @return заглушка {@link TelegramService}
+     */
+    @Bean
+    @Primary
+    public StubTelegramService stubTelegramService(TelegramProperties telegramProperties,
+                                                   NotificationMetrics notificationMetrics,
+                                                   @Value("${drain.stub.telegram-latency-ms:50}") long latencyMs,
+                                                   @Value("${drain.stub.telegram-error-rate:0}") double errorRate) {
+        return new StubTelegramService(telegramProperties, notificationMetrics,
+                new StubChannel(latencyMs, errorRate));
+    }
+
+
+    /**
+     * Имитация канала доставки: задержка, случайные ошибки и счётчики вызовов.
+     * Запоминает ключи отправленных сообщений, чтобы можно было подсчитать повторные отправки
+     */
+    public static final class StubChannel {
+
+        /**
+         * Поле задержка отправки в миллисекундах
+         */
+        private final long latencyMs;
+
+        /**
+         * Поле доля ошибок
+         */
+        private final double errorRate;
+
+        /**
+         * Поле количество завершённых отправок
+         */
+        private final AtomicLong completed = new AtomicLong();
+
+        /**
+         * Поле количество отправок, завершённых ошибкой
+         */
+        private final AtomicLong failed = new AtomicLong();
+
+        /**
+         * Поле количество отправок по ключу сообщения
+         */
+        private final Map<String, AtomicLong> sendsByKey = new ConcurrentHashMap<>();
+
+        /**
+         * Конструктор канала
+         * @param latencyMs задержка отправки в миллисекундах
+         * @param errorRate доля ошибок от 0 до 1
+         */
+        StubChannel(long latencyMs, double errorRate) {
+            this.latencyMs = latencyMs;
+            this.errorRate = errorRate;
+        }
+
+        /**
+         * Метод имитирует отправку
+         * @param key ключ сообщения (одинаковый для повторных отправок одного напоминания)
+         * @return true, если отправка успешна
+         */
+        boolean send(String key) {
+            sendsByKey.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            boolean ok = ThreadLocalRandom.current().nextDouble() >= errorRate;
+            if (!ok) {
+                failed.incrementAndGet();
+            }
+            completed.incrementAndGet();
+            return ok;
+        }
+
+        /**
+         * Метод возвращает количество завершённых отправок
+         * @return количество отправок, включая ошибочные
+         */
+        public long completed() {
+            return completed.get();
+        }
+
+        /**
+         * Метод возвращает количество ошибочных отправок
+         * @return количество ошибок
+         */
+        public long failed() {
+            return failed.get();
+        }
+
+        /**
+         * Метод возвращает количество повторных отправок: сообщений сверх первого с тем же ключом
+         * @return количество повторных отправок
+         */
+        public long duplicates() {
+            return sendsByKey.values().stream().mapToLong(count -> count.get() - 1).sum();
+        }
+
+        /**
+         * Метод сбрасывает счётчики перед новым замером
+         */
+        public void reset() {
+            completed.set(0);
+            failed.set(0);
+            sendsByKey.clear();
+        }
+    }
+
+
+    /**
+     * Заглушка отправки писем
+     */
+    public static class StubEmailSendService extends EmailSendService {
+
+        /**
+         * Поле имитация канала
+         */
+        private final StubChannel channel;
+
+        /**
+         * Конструктор заглушки
+         * @param notificationMetrics метрики каналов доставки
+         * @param channel имитация канала
+         */
+        public StubEmailSendService(NotificationMetrics notificationMetrics, StubChannel channel) {
+            super(null, notificationMetrics);
+            this.channel = channel;
+        }
+
+        @Override
+        public String sendEmail(String mailTo, String messageSubject, String textOfRemind) {
+            if (!channel.send(mailTo + '\n' + messageSubject)) {
+                throw new MailSendException("Имитация ошибки SMTP");
+            }
+            return "<stub-" + channel.completed() + "@drain>";
+        }
+
+        /**
+         * Метод возвращает имитацию канала
+         * @return имитация канала
+         */
+        public StubChannel channel() {
+            return channel;
+        }
+    }
+
+
+    /**
+     * Заглушка отправки сообщений в Telegram
+     */
+    public static class StubTelegramService extends TelegramService {
+
+        /**
+         * Поле имитация канала
+         */
+        private final StubChannel channel;
+
+        /**
+         * Конструктор заглушки
+         * @param telegramProperties настройки Telegram
+         * @param notificationMetrics метрики каналов доставки
+         * @param channel имитация канала
+         */
+        public StubTelegramService(TelegramProperties telegramProperties, NotificationMetrics notificationMetrics,
+                                   StubChannel channel) {
+            super(telegramProperties, notificationMetrics);
+            this.channel = channel;
+        }
+
+        @Override
+        public String sendMessage(String chatId, String message) {
+            if (!channel.send(message)) {
+                throw new IllegalStateException("Имитация ошибки Telegram");
+            }
+            return String.valueOf(channel.completed());
+        }
+
+        /**
+         * Метод возвращает имитацию канала
+         * @return имитация канала
+         */
+        public StubChannel channel() {
+            return channel;
+        }
+    }
+}
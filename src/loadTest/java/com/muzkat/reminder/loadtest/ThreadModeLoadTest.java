@@ -0,0 +1,191 @@
+package com.muzkat.reminder.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Нагрузочный тест для сравнения режимов обработки запросов (платформенные и виртуальные потоки).
+ * <p>
+ *     Тест работает по закрытой модели: {@code --concurrency} клиентов в цикле отправляют запросы
+ *     к {@code --path} и ждут ответа. После прогрева ({@code --warmup}) в течение {@code --duration}
+ *     измеряются пропускная способность и перцентили задержки (p50, p90, p99, p99.9).
+ * </p>
+ * Порядок сравнения:
+ * <pre>
+ * REMINDER_VIRTUAL_THREADS=false REMINDER_RATELIMIT_ENABLED=false java -jar reminder.jar
+ * gradle loadTest -PloadTestArgs="--label=platform --email=user@example.com --password=secret"
+ *
+ * REMINDER_VIRTUAL_THREADS=true REMINDER_RATELIMIT_ENABLED=false java -jar reminder.jar
+ * gradle loadTest -PloadTestArgs="--label=virtual --email=user@example.com --password=secret"
+ * </pre>
+ * Ограничение частоты запросов нужно отключить, иначе тест измерит ответы 429
+ */
+public final class ThreadModeLoadTest {
+
+    /**
+     * Конструктор закрыт: класс содержит только точку входа
+     */
+    private ThreadModeLoadTest() {
+    }
+
+
+    /**
+     * Точка входа нагрузочного теста
+     * @param args параметры вида {@code --имя=значение}
+     * @throws Exception в случае ошибки входа или прерывания теста
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTestSupport.parseOptions(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        String path = options.getOrDefault("path", "/api/remind/all");
+        String label = options.getOrDefault("label", "run");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .build();
+            String token = LoadTestSupport.login(client, baseUrl, options.get("email"), options.get("password"));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+
+            long measureFrom = System.nanoTime() + warmup.toNanos();
+            long measureTo = measureFrom + duration.toNanos();
+            AtomicLong errors = new AtomicLong();
+            List<LatencyRecorder> recorders = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                LatencyRecorder recorder = new LatencyRecorder();
+                recorders.add(recorder);
+                executor.submit(() -> runClient(client, request, recorder, errors, measureFrom, measureTo));
+            }
+            executor.shutdown();
+            executor.awaitTermination(warmup.plus(duration).plusMinutes(1).toSeconds(), TimeUnit.SECONDS);
+            report(label, concurrency, duration, recorders, errors.get());
+        }
+    }
+
+
+    /**
+     * Метод выполняет цикл одного клиента до окончания теста
+     * @param client HTTP-клиент
+     * @param request запрос
+     * @param recorder накопитель задержек клиента
+     * @param errors счётчик ошибок
+     * @param measureFrom начало измерения ({@link System#nanoTime()})
+     * @param measureTo окончание теста ({@link System#nanoTime()})
+     */
+    private static void runClient(HttpClient client, HttpRequest request, LatencyRecorder recorder,
+                                  AtomicLong errors, long measureFrom, long measureTo) {
+        long start;
+        while ((start = System.nanoTime()) < measureTo) {
+            boolean ok;
+            try {
+                ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                ok = false;
+            }
+            if (start >= measureFrom) {
+                if (ok) {
+                    recorder.record(System.nanoTime() - start);
+                } else {
+                    errors.incrementAndGet();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Метод выводит итоги теста
+     * @param label метка режима
+     * @param concurrency количество клиентов
+     * @param duration длительность измерения
+     * @param recorders накопители задержек клиентов
+     * @param errors количество ошибок
+     */
+    private static void report(String label, int concurrency, Duration duration,
+                               List<LatencyRecorder> recorders, long errors) {
+        long[] latencies = recorders.stream()
+                .flatMapToLong(recorder -> Arrays.stream(recorder.values()))
+                .sorted()
+                .toArray();
+        double throughput = latencies.length / (double) duration.toSeconds();
+        System.out.printf("%s: clients=%d requests=%d errors=%d throughput=%.1f req/s%n",
+                label, concurrency, latencies.length, errors, throughput);
+        System.out.printf("%s: p50=%.2f ms p90=%.2f ms p99=%.2f ms p99.9=%.2f ms max=%.2f ms%n",
+                label, percentile(latencies, 50), percentile(latencies, 90), percentile(latencies, 99),
+                percentile(latencies, 99.9), percentile(latencies, 100));
+    }
+
+
+    /**
+     * Метод вычисляет перцентиль по отсортированному массиву задержек
+     * @param sorted отсортированные задержки в наносекундах
+     * @param percentile перцентиль от 0 до 100
+     * @return значение перцентиля в миллисекундах
+     */
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+
+    /**
+     * Накопитель задержек одного клиента; используется только потоком этого клиента
+     */
+    private static final class LatencyRecorder {
+
+        /**
+         * Поле задержки в наносекундах
+         */
+        private long[] values = new long[1024];
+
+        /**
+         * Поле количество записанных задержек
+         */
+        private int size;
+
+        /**
+         * Метод записывает задержку
+         * @param nanos задержка в наносекундах
+         */
+        void record(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        /**
+         * Метод возвращает записанные задержки
+         * @return копия записанных задержек
+         */
+        long[] values() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
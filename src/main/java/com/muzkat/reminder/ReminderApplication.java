@@ -2,6 +2,8 @@ package com.muzkat.reminder;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
@@ -11,11 +13,15 @@ import org.springframework.scheduling.annotation.EnableScheduling;
  * Аннотации:
  * {@link org.springframework.boot.autoconfigure.SpringBootApplication} — включает авто-конфигурацию и компонент-сканирование.
  * {@link org.springframework.scheduling.annotation.EnableScheduling} — активирует планировщик задач для работы с @Scheduled.
+ * {@link org.springframework.cache.annotation.EnableCaching} — включает кэширование чтения напоминаний (Caffeine).
+ * Перехватчик кэша выполняется снаружи транзакции ({@code order} меньше порядка {@code @Transactional}),
+ * поэтому записи кэша сбрасываются и обновляются уже после фиксации изменений.
  * Метод {@code main} инициализирует и запускает контекст приложения через {@link org.springframework.boot.SpringApplication}
  */
 @SpringBootApplication(scanBasePackages = "com.muzkat.reminder")
 @EnableScheduling
 @EnableAsync
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
 public class ReminderApplication {
 
 	/**
@@ -0,0 +1,51 @@
+package com.muzkat.reminder.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+
+/**
+ * Класс для настройки администраторов приложения.
+ * <p>
+ *     Используется для маппинга значений из файла конфигурации (application.yml)
+ *     с префиксом <b>reminder.admin</b>: пользователи с перечисленными email при проверке
+ *     access-токена получают роль {@code ROLE_ADMIN}, которая открывает доступ к /api/admin/**
+ * </p>
+ * Пример конфигурации:
+ * <pre>
+ * reminder:
+ *   admin:
+ *     emails: ops@example.com, oncall@example.com
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "reminder.admin")
+@Getter
+@Setter
+public class AdminProperties {
+
+    /**
+     * Email администраторов
+     */
+    private Set<String> emails = new HashSet<>();
+
+
+    /**
+     * Метод проверяет, является ли пользователь администратором
+     * @param email email пользователя
+     * @return true, если email указан в {@code reminder.admin.emails} (без учёта регистра)
+     */
+    public boolean isAdmin(String email) {
+        if (email == null || emails.isEmpty()) {
+            return false;
+        }
+        String normalized = email.trim().toLowerCase(Locale.ROOT);
+        return emails.stream().anyMatch(admin -> admin.trim().toLowerCase(Locale.ROOT).equals(normalized));
+    }
+}
@@ -0,0 +1,168 @@
+package com.muzkat.reminder.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Класс для настройки каналов доставки уведомлений.
+ * <p>
+ *     Используется для маппинга значений из файла конфигурации (application.yml)
+ *     с префиксом <b>reminder.notification</b>: каналы по умолчанию для пользователей без собственных
+ *     предпочтений, размеры пула потоков и очереди (bulkhead) и параметры автоматического выключателя
+ *     (circuit breaker) каждого канала. Для канала без отдельных настроек используются значения
+ *     {@link Bulkhead} и {@link Breaker} по умолчанию
+ * </p>
+ * Пример конфигурации:
+ * <pre>
+ * reminder:
+ *   notification:
+ *     default-channels: email, telegram
+ *     send-timeout: 30s
+ *     claim-timeout: 10m
+ *     bulkheads:
+ *       email:
+ *         pool-size: 4
+ *         queue-capacity: 1000
+ *       telegram:
+ *         pool-size: 2
+ *         queue-capacity: 1000
+ *     circuit-breakers:
+ *       email:
+ *         failure-rate-threshold: 50
+ *         slow-call-rate-threshold: 80
+ *         slow-call-duration: 5s
+ *         sliding-window-size: 20
+ *         minimum-calls: 10
+ *         open-duration: 30s
+ *         half-open-calls: 3
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "reminder.notification")
+@Getter
+@Setter
+public class NotificationProperties {
+
+    /**
+     * Каналы, через которые отправляются напоминания пользователям без собственных предпочтений
+     */
+    private Set<String> defaultChannels = new LinkedHashSet<>(List.of("email", "telegram"));
+
+    /**
+     * Максимальное время ожидания отправки, выполняемой по запросу пользователя
+     * (ожидание в очереди канала и сама отправка)
+     */
+    private Duration sendTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Время, по истечении которого доставка, оставшаяся в состоянии PENDING (приложение остановилось
+     * или аварийно завершилось, не дождавшись отправки), может быть захвачена повторно.
+     * Должно превышать время ожидания в очереди канала вместе с самой отправкой, иначе выполняющаяся
+     * отправка будет повторена
+     */
+    private Duration claimTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Настройки пула потоков каждого канала по имени канала
+     */
+    private Map<String, Bulkhead> bulkheads = new HashMap<>();
+
+    /**
+     * Настройки автоматического выключателя каждого канала по имени канала
+     */
+    private Map<String, Breaker> circuitBreakers = new HashMap<>();
+
+
+    /**
+     * Метод возвращает настройки пула потоков канала
+     * @param channel имя канала
+     * @return настройки канала или настройки по умолчанию
+     */
+    public Bulkhead bulkhead(String channel) {
+        return bulkheads.getOrDefault(channel, new Bulkhead());
+    }
+
+
+    /**
+     * Метод возвращает настройки автоматического выключателя канала
+     * @param channel имя канала
+     * @return настройки канала или настройки по умолчанию
+     */
+    public Breaker breaker(String channel) {
+        return circuitBreakers.getOrDefault(channel, new Breaker());
+    }
+
+
+    /**
+     * Настройки изолированного пула потоков канала
+     */
+    @Getter
+    @Setter
+    public static class Bulkhead {
+
+        /**
+         * Количество потоков, одновременно отправляющих сообщения в канал
+         */
+        private int poolSize = 4;
+
+        /**
+         * Ёмкость очереди отправок канала. Отправки сверх неё отклоняются,
+         * а напоминание остаётся неотправленным до следующего прохода
+         */
+        private int queueCapacity = 1000;
+    }
+
+
+    /**
+     * Настройки автоматического выключателя канала
+     */
+    @Getter
+    @Setter
+    public static class Breaker {
+
+        /**
+         * Доля ошибок в окне в процентах, при которой выключатель размыкается
+         */
+        private int failureRateThreshold = 50;
+
+        /**
+         * Доля медленных отправок в окне в процентах, при которой выключатель размыкается
+         */
+        private int slowCallRateThreshold = 80;
+
+        /**
+         * Длительность, начиная с которой отправка считается медленной
+         */
+        private Duration slowCallDuration = Duration.ofSeconds(5);
+
+        /**
+         * Количество последних отправок, по которым считаются доли
+         */
+        private int slidingWindowSize = 20;
+
+        /**
+         * Минимальное количество отправок в окне для оценки долей
+         */
+        private int minimumCalls = 10;
+
+        /**
+         * Время, на которое выключатель размыкается перед пробными отправками
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /**
+         * Количество пробных отправок в полуразомкнутом состоянии
+         */
+        private int halfOpenCalls = 3;
+    }
+}
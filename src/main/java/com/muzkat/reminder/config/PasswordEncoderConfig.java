@@ -0,0 +1,26 @@
+package com.muzkat.reminder.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+
+/**
+ * Конфигурация шифрования паролей пользователей.
+ * Вынесена из {@link SecurityConfig}, так как используется и в сервлетном, и в реактивном режиме
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    /**
+     * Бин для шифрования паролей пользователей
+     * @param strength cost factor BCrypt ({@code reminder.password-hashing.strength}, по умолчанию 10)
+     * @return экземпляр BCryptPasswordEncoder
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${reminder.password-hashing.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+}
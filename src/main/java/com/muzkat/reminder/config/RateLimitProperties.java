@@ -0,0 +1,88 @@
+package com.muzkat.reminder.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Класс для настройки ограничения частоты запросов к API.
+ * <p>
+ *     Используется для маппинга значений из файла конфигурации (application.yml)
+ *     с префиксом <b>reminder.rate-limit</b>. Запрос относится к первой группе,
+ *     шаблон пути которой ему соответствует; для каждой группы задаются ёмкость и скорость пополнения
+ *     token bucket. Лимит применяется отдельно к пользователю и к IP-адресу
+ * </p>
+ * Пример конфигурации:
+ * <pre>
+ * reminder:
+ *   rate-limit:
+ *     enabled: true
+ *     idle-eviction: 10m
+ *     groups:
+ *       - name: auth
+ *         patterns: /auth/**
+ *         capacity: 10
+ *         refill-per-second: 1
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "reminder.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+
+    /**
+     * Признак включения ограничения частоты запросов
+     */
+    private boolean enabled = true;
+
+    /**
+     * Время бездействия, после которого bucket клиента удаляется из памяти
+     */
+    private Duration idleEviction = Duration.ofMinutes(10);
+
+    /**
+     * Максимальное количество bucket-ов в памяти
+     */
+    private long maxBuckets = 100_000;
+
+    /**
+     * Группы эндпоинтов с собственными лимитами. Порядок важен: применяется первая подходящая группа
+     */
+    private List<Group> groups = new ArrayList<>();
+
+
+    /**
+     * Группа эндпоинтов с общим лимитом
+     */
+    @Getter
+    @Setter
+    public static class Group {
+
+        /**
+         * Имя группы (используется в ключе bucket-а и в журналах)
+         */
+        private String name;
+
+        /**
+         * Шаблоны путей в формате Ant, например {@code /api/remind/**}
+         */
+        private List<String> patterns = new ArrayList<>();
+
+        /**
+         * Ёмкость bucket-а — допустимый всплеск запросов
+         */
+        private long capacity;
+
+        /**
+         * Скорость пополнения bucket-а в запросах в секунду
+         */
+        private double refillPerSecond;
+    }
+}
@@ -0,0 +1,76 @@
+package com.muzkat.reminder.config;
+
+import com.muzkat.reminder.security.JwtAuthenticationWebFilter;
+import com.muzkat.reminder.security.JwtTokenProvider;
+import com.muzkat.reminder.security.TokenRevocationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+
+import java.net.InetSocketAddress;
+
+
+/**
+ * Конфигурационный класс безопасности реактивного режима (профиль {@code reactive}).
+ * Повторяет правила {@link SecurityConfig} для WebFlux: stateless-аутентификация по JWT,
+ * CSRF, форма логина и Basic Auth отключены, /auth/login, /auth/register и /auth/refresh доступны без токена,
+ * /actuator/prometheus доступен без токена только на порту {@code management.server.port},
+ * остальные эндпоинты /actuator/**, кроме /actuator/health, доступны только с ролью ADMIN.
+ * <p>
+ *     Ограничение частоты запросов и журнал токенов реализованы сервлетными фильтрами
+ *     и в реактивном режиме не применяются
+ * </p>
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    /**
+     * Метод настройки реактивной цепочки фильтров безопасности
+     * @param http объект конфигурации безопасности WebFlux
+     * @param provider провайдер проверки JWT
+     * @param tokenRevocationService сервис отзыва access-токенов
+     * @param adminProperties настройки администраторов
+     * @param managementPort порт эндпоинтов actuator; -1, если отдельный порт не настроен
+     * @return цепочка фильтров безопасности
+     */
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtTokenProvider provider,
+                                                         TokenRevocationService tokenRevocationService,
+                                                         AdminProperties adminProperties,
+                                                         @Value("${management.server.port:-1}") int managementPort) {
+        ServerWebExchangeMatcher prometheusOnManagementPort = exchange -> {
+            InetSocketAddress local = exchange.getRequest().getLocalAddress();
+            boolean matches = managementPort > 0 && local != null && local.getPort() == managementPort
+                    && "/actuator/prometheus".equals(exchange.getRequest().getPath().value());
+            return matches ? ServerWebExchangeMatcher.MatchResult.match() : ServerWebExchangeMatcher.MatchResult.notMatch();
+        };
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers("/auth/login", "/auth/register", "/auth/refresh").permitAll()
+                        .pathMatchers("/actuator/health").permitAll()
+                        .matchers(prometheusOnManagementPort).permitAll()
+                        .pathMatchers("/actuator/**").hasRole("ADMIN")
+                        .anyExchange().authenticated()
+                )
+                .addFilterAt(new JwtAuthenticationWebFilter(provider, tokenRevocationService, adminProperties),
+                        SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+}
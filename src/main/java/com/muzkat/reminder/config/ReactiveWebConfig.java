@@ -0,0 +1,47 @@
+package com.muzkat.reminder.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+
+/**
+ * Конфигурация WebFlux реактивного режима (профиль {@code reactive}).
+ * <p>
+ *     Контроллеры с обычными (не реактивными) типами результата — аутентификация, пользователи,
+ *     Telegram — работают через блокирующие JPA и BCrypt. Такие методы выполняются
+ *     в пуле {@code applicationTaskExecutor}, а не в потоках обработки событий Netty;
+ *     реактивные контроллеры ({@code Mono}/{@code Flux}) выполняются без переключения потоков
+ * </p>
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    /**
+     * Поле пул потоков для блокирующих контроллеров
+     */
+    private final AsyncTaskExecutor applicationTaskExecutor;
+
+
+    /**
+     * Конструктор конфигурации
+     * @param applicationTaskExecutor пул потоков приложения
+     */
+    public ReactiveWebConfig(@Qualifier("applicationTaskExecutor") AsyncTaskExecutor applicationTaskExecutor) {
+        this.applicationTaskExecutor = applicationTaskExecutor;
+    }
+
+
+    /**
+     * Метод направляет методы контроллеров с блокирующим типом результата в пул потоков приложения
+     * @param configurer настройка выполнения блокирующих методов
+     */
+    @Override
+    public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+        configurer.setExecutor(applicationTaskExecutor);
+    }
+}
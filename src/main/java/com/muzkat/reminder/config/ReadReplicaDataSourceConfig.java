@@ -0,0 +1,84 @@
+package com.muzkat.reminder.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * Конфигурация источников данных с чтением с реплик.
+ * <p>
+ *     Включается параметром {@code reminder.datasource.read-replicas.enabled: true}.
+ *     Основным источником данных приложения становится {@link LazyConnectionDataSourceProxy}:
+ *     соединение берётся при первом запросе внутри транзакции, когда уже известен признак readOnly.
+ *     Транзакции {@code @Transactional(readOnly = true)} получают соединение из {@link ReplicaRoutingDataSource},
+ *     остальные — из пула основной базы данных ({@code spring.datasource})
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "reminder.datasource.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    /**
+     * Пул соединений основной базы данных
+     * @param properties параметры подключения {@code spring.datasource}
+     * @return пул соединений основной базы данных
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+
+    /**
+     * Источник данных для чтения, распределяющий соединения между репликами
+     * @param primaryDataSource пул соединений основной базы данных
+     * @param properties параметры подключения {@code spring.datasource}
+     * @param replicaProperties настройки реплик
+     * @return источник данных для чтения
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties properties,
+                                                             ReadReplicaProperties replicaProperties) {
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        for (ReadReplicaProperties.Node node : replicaProperties.getNodes()) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName(node.getName());
+            replica.setJdbcUrl(node.getUrl());
+            replica.setUsername(node.getUsername() != null ? node.getUsername() : properties.determineUsername());
+            replica.setPassword(node.getPassword() != null ? node.getPassword() : properties.determinePassword());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(node.getMaximumPoolSize());
+            replica.setReadOnly(true);
+            replicas.put(node.getName(), replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, replicaProperties.getMaxLag());
+    }
+
+
+    /**
+     * Основной источник данных приложения: записи и обычные транзакции идут в основную базу данных,
+     * транзакции только для чтения — на реплики
+     * @param primaryDataSource пул соединений основной базы данных
+     * @param replicaRoutingDataSource источник данных для чтения
+     * @return источник данных приложения
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+}
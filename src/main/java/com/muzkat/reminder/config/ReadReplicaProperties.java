@@ -0,0 +1,95 @@
+package com.muzkat.reminder.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Класс для настройки чтения с реплик базы данных.
+ * <p>
+ *     Используется для маппинга значений из файла конфигурации (application.yml)
+ *     с префиксом <b>reminder.datasource.read-replicas</b>. Транзакции только для чтения
+ *     ({@code @Transactional(readOnly = true)}) выполняются на репликах, отставание которых
+ *     не превышает {@code max-lag}; если таких реплик нет, чтение выполняется на основной базе данных.
+ *     Параметры подключения, не заданные для реплики, берутся из {@code spring.datasource}
+ * </p>
+ * Пример конфигурации:
+ * <pre>
+ * reminder:
+ *   datasource:
+ *     read-replicas:
+ *       enabled: true
+ *       max-lag: 5s
+ *       lag-check-interval-ms: 5000
+ *       nodes:
+ *         - name: replica-1
+ *           url: jdbc:postgresql://localhost:5433/reminder
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "reminder.datasource.read-replicas")
+@Getter
+@Setter
+public class ReadReplicaProperties {
+
+    /**
+     * Признак включения чтения с реплик
+     */
+    private boolean enabled = false;
+
+    /**
+     * Допустимое отставание реплики от основной базы данных. Реплика с большим отставанием
+     * исключается из чтения до следующей проверки
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * Интервал проверки отставания реплик в миллисекундах
+     */
+    private long lagCheckIntervalMs = 5000;
+
+    /**
+     * Реплики базы данных
+     */
+    private List<Node> nodes = new ArrayList<>();
+
+
+    /**
+     * Параметры подключения к реплике
+     */
+    @Getter
+    @Setter
+    public static class Node {
+
+        /**
+         * Имя реплики (используется как имя пула соединений и в журналах)
+         */
+        private String name;
+
+        /**
+         * JDBC-адрес реплики
+         */
+        private String url;
+
+        /**
+         * Имя пользователя; по умолчанию {@code spring.datasource.username}
+         */
+        private String username;
+
+        /**
+         * Пароль; по умолчанию {@code spring.datasource.password}
+         */
+        private String password;
+
+        /**
+         * Максимальный размер пула соединений реплики
+         */
+        private int maximumPoolSize = 10;
+    }
+}
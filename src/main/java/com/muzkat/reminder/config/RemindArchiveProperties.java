@@ -0,0 +1,65 @@
+package com.muzkat.reminder.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+
+/**
+ * Класс для настройки архивации отправленных напоминаний.
+ * <p>
+ *     Используется для маппинга значений из файла конфигурации (application.yml)
+ *     с префиксом <b>reminder.archive</b>. Задача архивации переносит отправленные напоминания
+ *     старше {@code min-age} в таблицу remind_archive небольшими пачками, каждая в отдельной транзакции
+ * </p>
+ * Пример конфигурации:
+ * <pre>
+ * reminder:
+ *   archive:
+ *     enabled: true
+ *     cron: 0 30 3 * * *
+ *     min-age: 30d
+ *     batch-size: 500
+ *     max-batches: 200
+ *     batch-pause: 100ms
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "reminder.archive")
+@Getter
+@Setter
+public class RemindArchiveProperties {
+
+    /**
+     * Признак включения архивации
+     */
+    private boolean enabled = true;
+
+    /**
+     * Расписание задачи архивации в формате cron
+     */
+    private String cron = "0 30 3 * * *";
+
+    /**
+     * Минимальный возраст напоминания (по времени напоминания), после которого оно переносится в архив
+     */
+    private Duration minAge = Duration.ofDays(30);
+
+    /**
+     * Количество напоминаний, переносимых в одной транзакции
+     */
+    private int batchSize = 500;
+
+    /**
+     * Максимальное количество пачек за один запуск задачи
+     */
+    private int maxBatches = 200;
+
+    /**
+     * Пауза между пачками, чтобы не мешать основной нагрузке
+     */
+    private Duration batchPause = Duration.ofMillis(100);
+}
@@ -0,0 +1,75 @@
+package com.muzkat.reminder.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Класс для настройки обслуживания месячных секций таблицы remind.
+ * <p>
+ *     Используется для маппинга значений из файла конфигурации (application.yml)
+ *     с префиксом <b>reminder.partitioning</b>. Задача обслуживания заранее создаёт секции
+ *     на несколько месяцев вперёд и, если задан срок хранения, отсоединяет или удаляет устаревшие секции
+ * </p>
+ * Пример конфигурации:
+ * <pre>
+ * reminder:
+ *   partitioning:
+ *     enabled: true
+ *     cron: 0 0 3 * * *
+ *     months-ahead: 3
+ *     retention-months: 24
+ *     retention-action: detach
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "reminder.partitioning")
+@Getter
+@Setter
+public class RemindPartitionProperties {
+
+    /**
+     * Признак включения обслуживания секций
+     */
+    private boolean enabled = true;
+
+    /**
+     * Расписание задачи обслуживания в формате cron
+     */
+    private String cron = "0 0 3 * * *";
+
+    /**
+     * Количество месяцев вперёд, на которые заранее создаются секции
+     */
+    private int monthsAhead = 3;
+
+    /**
+     * Срок хранения секций в месяцах. Секции, полностью старше этого срока, выводятся из таблицы;
+     * 0 — секции не выводятся
+     */
+    private int retentionMonths = 0;
+
+    /**
+     * Действие с устаревшей секцией
+     */
+    private RetentionAction retentionAction = RetentionAction.DETACH;
+
+
+    /**
+     * Действие с устаревшей секцией
+     */
+    public enum RetentionAction {
+
+        /**
+         * Секция отсоединяется от таблицы remind и остаётся отдельной таблицей
+         */
+        DETACH,
+
+        /**
+         * Секция отсоединяется и удаляется вместе с данными
+         */
+        DROP
+    }
+}
@@ -0,0 +1,80 @@
+package com.muzkat.reminder.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+
+/**
+ * Класс для настройки потока событий напоминаний (Server-Sent Events).
+ * <p>
+ *     Используется для маппинга значений из файла конфигурации (application.yml)
+ *     с префиксом <b>reminder.stream</b>: время жизни соединения, интервал heartbeat,
+ *     глубина буфера для повтора событий по {@code Last-Event-ID}, ограничение соединений
+ *     одного пользователя и размеры пула рассылки событий
+ * </p>
+ * Пример конфигурации:
+ * <pre>
+ * reminder:
+ *   stream:
+ *     timeout: 30m
+ *     heartbeat-interval-ms: 30000
+ *     reconnect-delay: 5s
+ *     replay-size: 100
+ *     replay-max-age: 1h
+ *     max-connections-per-user: 5
+ *     send-pool-size: 2
+ *     send-queue-capacity: 10000
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "reminder.stream")
+@Getter
+@Setter
+public class RemindStreamProperties {
+
+    /**
+     * Время жизни соединения, после которого сервер закрывает его, а клиент переподключается
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Интервал heartbeat-комментариев в миллисекундах: поддерживают соединение через прокси
+     * и выявляют закрытые клиентом соединения
+     */
+    private long heartbeatIntervalMs = 30_000;
+
+    /**
+     * Задержка переподключения, передаваемая клиенту в поле retry
+     */
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+
+    /**
+     * Количество последних событий пользователя, хранимых для повтора после переподключения
+     */
+    private int replaySize = 100;
+
+    /**
+     * Время, в течение которого событие доступно для повтора после переподключения
+     */
+    private Duration replayMaxAge = Duration.ofHours(1);
+
+    /**
+     * Максимальное количество одновременных соединений одного пользователя;
+     * при превышении закрывается самое старое
+     */
+    private int maxConnectionsPerUser = 5;
+
+    /**
+     * Количество потоков, отправляющих события клиентам
+     */
+    private int sendPoolSize = 2;
+
+    /**
+     * Ёмкость очереди отправки событий
+     */
+    private int sendQueueCapacity = 10_000;
+}
@@ -0,0 +1,144 @@
+package com.muzkat.reminder.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Источник данных для чтения, распределяющий соединения между репликами.
+ * <p>
+ *     Соединения выдаются по кругу из реплик, отставание которых на последней проверке
+ *     не превышало допустимого ({@link ReadReplicaProperties#getMaxLag()}).
+ *     Если подходящих реплик нет, соединение выдаётся основной базой данных.
+ *     Отставание проверяется по расписанию {@code reminder.datasource.read-replicas.lag-check-interval-ms}:
+ *     реплика, у которой принятый WAL воспроизведён полностью, считается не отстающей,
+ *     иначе отставание равно времени с момента последней воспроизведённой транзакции
+ * </p>
+ * Используется как источник только для чтения в {@link ReadReplicaDataSourceConfig}
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Запрос отставания реплики в секундах
+     */
+    private static final String LAG_SQL = """
+            select case
+                when not pg_is_in_recovery() then 0
+                when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 'Infinity')
+            end
+            """;
+
+    /**
+     * Поле пулы соединений реплик по имени
+     */
+    private final Map<String, HikariDataSource> replicas;
+
+    /**
+     * Поле допустимое отставание реплики
+     */
+    private final Duration maxLag;
+
+    /**
+     * Поле имена реплик, доступных для чтения по результатам последней проверки
+     */
+    private volatile List<String> healthy = List.of();
+
+    /**
+     * Поле счётчик для выбора реплики по кругу
+     */
+    private final AtomicInteger counter = new AtomicInteger();
+
+
+    /**
+     * Конструктор источника данных для чтения
+     * @param primary основная база данных, используемая при недоступности реплик
+     * @param replicas пулы соединений реплик по имени
+     * @param maxLag допустимое отставание реплики
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, HikariDataSource> replicas, Duration maxLag) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.maxLag = maxLag;
+        setDefaultTargetDataSource(primary);
+        setTargetDataSources(new HashMap<>(replicas));
+        setLenientFallback(true);
+        afterPropertiesSet();
+    }
+
+
+    /**
+     * Метод выбирает реплику для очередного соединения
+     * @return имя реплики или null, если соединение должна выдать основная база данных
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        List<String> current = healthy;
+        if (current.isEmpty()) {
+            return null;
+        }
+        return current.get(Math.floorMod(counter.getAndIncrement(), current.size()));
+    }
+
+
+    /**
+     * Метод проверяет отставание реплик и обновляет список доступных для чтения
+     */
+    @Scheduled(fixedDelayString = "${reminder.datasource.read-replicas.lag-check-interval-ms:5000}")
+    public void checkReplicas() {
+        List<String> available = new ArrayList<>();
+        for (Map.Entry<String, HikariDataSource> replica : replicas.entrySet()) {
+            double lagSeconds = lagSeconds(replica.getKey(), replica.getValue());
+            if (lagSeconds <= maxLag.toMillis() / 1000.0) {
+                available.add(replica.getKey());
+            } else if (healthy.contains(replica.getKey())) {
+                log.warn("Реплика {} исключена из чтения: отставание {} с", replica.getKey(), lagSeconds);
+            }
+        }
+        if (!available.equals(healthy)) {
+            log.info("Реплики, доступные для чтения: {}", available);
+        }
+        healthy = List.copyOf(available);
+    }
+
+
+    /**
+     * Метод закрывает пулы соединений реплик
+     */
+    @PreDestroy
+    public void close() {
+        replicas.values().forEach(HikariDataSource::close);
+    }
+
+
+    /**
+     * Метод измеряет отставание реплики
+     * @param name имя реплики
+     * @param replica пул соединений реплики
+     * @return отставание в секундах; бесконечность, если реплика недоступна
+     */
+    private double lagSeconds(String name, DataSource replica) {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_SQL)) {
+            return resultSet.next() ? resultSet.getDouble(1) : Double.POSITIVE_INFINITY;
+        } catch (Exception e) {
+            log.warn("Не удалось проверить отставание реплики {}: {}", name, e.getMessage());
+            return Double.POSITIVE_INFINITY;
+        }
+    }
+}
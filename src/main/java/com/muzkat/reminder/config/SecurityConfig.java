@@ -1,13 +1,15 @@
 package com.muzkat.reminder.config;
 
 import com.muzkat.reminder.security.JwtAuthenticationFilter;
+import com.muzkat.reminder.security.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -20,8 +22,10 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
  * <p>
  *     Использует Stateless-аутентификацию (JWT), отключает форму логина и Basic Auth.
  * </p>
+ * Применяется в сервлетном режиме; в реактивном режиме используется {@link ReactiveSecurityConfig}
  */
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 public class SecurityConfig {
 
@@ -30,13 +34,28 @@ public class SecurityConfig {
      */
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    /**
+     * Поле фильтр ограничения частоты запросов
+     */
+    private final RateLimitFilter rateLimitFilter;
+
+    /**
+     * Поле порт эндпоинтов actuator ({@code management.server.port}); -1, если отдельный порт не настроен
+     */
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
 
     /**
      * Метод настройки цепочки фильтров безопасности
      * <p>
      *     Отключает CSRF, Basic Auth и форму логина.
      *     Включает stateless-аутентификацию через JWT.
-     *     Разрешает доступ к /auth/login, /auth/register без авторизации.
+     *     Разрешает доступ к /auth/login, /auth/register, /auth/refresh без авторизации,
+     *     а также к /actuator/health для проверок. /actuator/prometheus доступен без токена только
+     *     на отдельном порту {@code management.server.port}, который не публикуется наружу и открыт только сборщику метрик:
+     *     метрики раскрывают длительности запросов, состояние выключателей и глубину очередей каналов.
+     *     Остальные эндпоинты /actuator/** (и /actuator/prometheus на основном порту) доступны только администраторам.
      *     Все остальные запросы требуют валидного токена.
      * </p>
      * <p>
@@ -45,7 +64,12 @@ public class SecurityConfig {
      *     <li><b> csrf().disable()</b> — отключает CSRF-защиту (актуально для REST API)</li>
      *     <li><b>authorizeHttpRequests(...)</b> — настраивает доступ к маршрутам:
      *         <ul>
-     *             <li><b>/auth/login</b> и <b>/auth/register</b> доступны без токена</li>
+     *             <li>асинхронные диспетчеризации (завершение потока событий {@code api/remind/stream})
+     *             не проверяются повторно: исходный запрос уже прошёл авторизацию</li>
+     *             <li><b>/auth/login</b>, <b>/auth/register</b> и <b>/auth/refresh</b> доступны без токена</li>
+     *             <li><b>/actuator/health</b> доступен без токена, <b>/actuator/prometheus</b> — без токена
+     *             только на порту {@code management.server.port}</li>
+     *             <li><b>/api/admin/**</b> и остальные <b>/actuator/**</b> доступны только с ролью ADMIN</li>
      *             <li>все остальные запросы требуют авторизации (валидного JWT)</li>
      *         </ul>
      *     </li>
@@ -55,6 +79,8 @@ public class SecurityConfig {
      *     <li><b>formLogin().disable()</b> — отключает HTML-форму логина</li>
      *     <li><b>addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)</b>
      *     — добавляет фильтр JWT-аутентификации до стандартного фильтра логина</li>
+     *     <li><b>addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)</b>
+     *     — добавляет фильтр ограничения частоты запросов после фильтра JWT-аутентификации</li>
      * </ul>
      * </p>
      * @param http объект конфигурации безопасности
@@ -67,23 +93,19 @@ public class SecurityConfig {
                 .csrf()
                 .disable()
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/auth/login", "/auth/register").permitAll()
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers("/auth/login", "/auth/register", "/auth/refresh").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers(request -> managementPort > 0 && request.getLocalPort() == managementPort
+                                && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
+                        .requestMatchers("/api/admin/**", "/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .httpBasic(AbstractHttpConfigurer::disable)
                 .formLogin(AbstractHttpConfigurer::disable)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
                 .build();
     }
-
-
-    /**
-     * Бин для шифрования паролей пользователей
-     * @return экземпляр BCryptPasswordEncoder
-     */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+package com.muzkat.reminder.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+
+/**
+ * Класс для настройки приёма обновлений от Telegram-бота.
+ * <p>
+ *     Используется для маппинга значений из файла конфигурации (application.yml)
+ *     с префиксом <b>telegram.ingestion</b>: способ получения обновлений (webhook или long polling getUpdates),
+ *     размер очереди входящих обновлений, размер пачки для обработки, повторные попытки применения пачки
+ *     и окно отсечения повторно доставленных обновлений
+ * </p>
+ * Пример конфигурации:
+ * <pre>
+ * telegram:
+ *   ingestion:
+ *     mode: polling
+ *     poll-timeout: 30s
+ *     queue-capacity: 1000
+ *     batch-size: 100
+ *     apply-max-attempts: 5
+ *     apply-max-backoff: 30s
+ *     dedup-window-size: 10000
+ *     dedup-window: 24h
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "telegram.ingestion")
+@Getter
+@Setter
+public class TelegramIngestionProperties {
+
+    /**
+     * Способ получения обновлений от Telegram
+     */
+    private Mode mode = Mode.WEBHOOK;
+
+    /**
+     * Время ожидания новых обновлений в одном запросе getUpdates (long polling), не более 50 секунд
+     */
+    private Duration pollTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Максимальная пауза между повторными запросами getUpdates после ошибки
+     */
+    private Duration pollMaxBackoff = Duration.ofSeconds(30);
+
+    /**
+     * Ёмкость очереди обновлений, ожидающих обработки
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * Максимальное количество обновлений, обрабатываемых за одну транзакцию.
+     * В режиме polling также ограничивает размер пачки getUpdates (не более 100)
+     */
+    private int batchSize = 100;
+
+    /**
+     * Максимальное количество попыток применить пачку обновлений из очереди webhook.
+     * После последней неудачной попытки обновления пачки записываются в журнал как недоставленные
+     */
+    private int applyMaxAttempts = 5;
+
+    /**
+     * Максимальная пауза между повторными попытками применить пачку обновлений
+     */
+    private Duration applyMaxBackoff = Duration.ofSeconds(30);
+
+    /**
+     * Максимальное количество запоминаемых идентификаторов обновлений (update_id)
+     */
+    private long dedupWindowSize = 10_000;
+
+    /**
+     * Время, в течение которого повторно доставленное обновление считается дубликатом
+     */
+    private Duration dedupWindow = Duration.ofHours(24);
+
+
+    /**
+     * Способ получения обновлений от Telegram
+     */
+    public enum Mode {
+
+        /**
+         * Telegram отправляет обновления на {@code /api/telegram/webhook}
+         */
+        WEBHOOK,
+
+        /**
+         * Приложение само запрашивает обновления методом getUpdates (long polling)
+         */
+        POLLING
+    }
+}
@@ -17,6 +17,7 @@ import org.springframework.stereotype.Component;
  * <pre>
  * telegram:
  *   bot:
+ *     api-url: https://api.telegram.org
  *     token: your_bot_token
  *     chat-id: your_chat_id
  * </pre>
@@ -27,6 +28,11 @@ import org.springframework.stereotype.Component;
 @Setter
 public class TelegramProperties {
 
+    /**
+     * Базовый адрес Telegram Bot API. Можно заменить адресом локальной заглушки Bot API
+     */
+    private String apiUrl = "https://api.telegram.org";
+
     /**
      * Токен авторизации бота в Telegram API. Получен у @BotFather,
      * используется для отправки запросов к Telegram Bot API
@@ -38,4 +44,14 @@ public class TelegramProperties {
      * Можно получить при первом сообщении пользователя в бот
      */
     private String chatId;
+
+
+    /**
+     * Метод формирует адрес метода Telegram Bot API
+     * @param method имя метода, например {@code sendMessage}
+     * @return полный адрес метода с токеном бота
+     */
+    public String methodUrl(String method) {
+        return apiUrl + "/bot" + token + "/" + method;
+    }
 }
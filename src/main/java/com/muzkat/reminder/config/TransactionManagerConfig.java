@@ -0,0 +1,39 @@
+package com.muzkat.reminder.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+
+/**
+ * Конфигурация менеджера транзакций JPA.
+ * <p>
+ *     В реактивном режиме автоконфигурация R2DBC создаёт реактивный менеджер транзакций, и стандартный
+ *     менеджер транзакций JPA перестаёт создаваться автоматически. Поэтому менеджер транзакций JPA
+ *     объявлен явно и помечен основным: {@code @Transactional} в сервисах всегда относится к JPA,
+ *     реактивные изменения выполняются через {@code TransactionalOperator}
+ * </p>
+ */
+@Configuration
+public class TransactionManagerConfig {
+
+    /**
+     * Основной менеджер транзакций JPA
+     * @param entityManagerFactory фабрика EntityManager
+     * @param customizers настройки менеджеров транзакций из {@code spring.transaction}
+     * @return менеджер транзакций JPA
+     */
+    @Bean
+    @Primary
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                         ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        customizers.ifAvailable(c -> c.customize(transactionManager));
+        return transactionManager;
+    }
+}
@@ -2,10 +2,13 @@ package com.muzkat.reminder.controllers;
 
 import com.muzkat.reminder.dto.AuthRequestDTO;
 import com.muzkat.reminder.dto.AuthResponseDTO;
+import com.muzkat.reminder.dto.RefreshTokenRequestDTO;
+import com.muzkat.reminder.security.AuthenticatedUser;
 import com.muzkat.reminder.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -20,7 +23,11 @@ import org.springframework.web.bind.annotation.PostMapping;
  * </p>
  * Конечные точки:
  * <p> <b>POST /auth/login</b> — аутентификация пользователя с использованием email и пароля.
- * Возвращает JWT-токен при успешной аутентификации
+ * Возвращает JWT-токен и refresh-токен при успешной аутентификации
+ * </p>
+ * <p> <b>POST /auth/refresh</b> — обновление JWT-токена по refresh-токену. Возвращает новую пару токенов
+ * </p>
+ * <p> <b>POST /auth/logout</b> — отзыв текущего JWT-токена и refresh-токена
  * </p>
  *   <b>POST /auth/register</b> — регистрация нового пользователя с предоставленным email и паролем.
  *   Возвращает сообщение об успешной регистрации
@@ -41,12 +48,36 @@ public class AuthController {
     /**
      * Выполняет аутентификацию пользователя по имени и паролю
      * @param request DTO с именем пользователя и паролем
-     * @return JWT токен в случае успешной аутентификации
+     * @return JWT токен и refresh-токен в случае успешной аутентификации
      */
     @PostMapping("/login")
     public ResponseEntity<AuthResponseDTO> login(@Valid @RequestBody AuthRequestDTO request){
-        String token = authService.login(request.getEmail(), request.getPassword());
-        return ResponseEntity.ok(new AuthResponseDTO(token));
+        return ResponseEntity.ok(authService.login(request.getEmail(), request.getPassword()));
+    }
+
+
+    /**
+     * Обновляет JWT-токен по refresh-токену
+     * @param request DTO с refresh-токеном
+     * @return новый JWT токен и новый refresh-токен
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponseDTO> refresh(@Valid @RequestBody RefreshTokenRequestDTO request) {
+        return ResponseEntity.ok(authService.refresh(request.getRefreshToken()));
+    }
+
+
+    /**
+     * Выход из системы: отзывает текущий JWT-токен и переданный refresh-токен
+     * @param principal текущий аутентифицированный пользователь
+     * @param request DTO с refresh-токеном (необязательный)
+     * @return статус 204, если токены отозваны
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal AuthenticatedUser principal,
+                                       @RequestBody(required = false) RefreshTokenRequestDTO request) {
+        authService.logout(principal, request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
     }
 
 
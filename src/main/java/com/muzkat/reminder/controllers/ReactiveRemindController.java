@@ -0,0 +1,198 @@
+package com.muzkat.reminder.controllers;
+
+import com.muzkat.reminder.dto.RemindDTO;
+import com.muzkat.reminder.model.User;
+import com.muzkat.reminder.security.AuthenticatedUser;
+import com.muzkat.reminder.service.ReactiveRemindService;
+import com.muzkat.reminder.service.UserService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+
+/** Реактивный контроллер для управления напоминаниями.
+ * Обслуживает те же маршруты, что и {@link RemindController}, в реактивном режиме
+ * (профиль {@code reactive}, WebFlux + R2DBC).
+ * Списки возвращаются потоком {@link Flux}: в формате {@code application/json} — массивом,
+ * в формате {@code application/x-ndjson} — по одному напоминанию в строке. Ответ пишется по мере
+ * готовности клиента принимать данные, поэтому медленный клиент не удерживает поток сервера.
+ * Использует {@link ReactiveRemindService} для выполнения бизнес-логики.
+ */
+@RestController
+@RequestMapping("api/remind")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRemindController {
+
+    /**
+     * Поле экземпляр ReactiveRemindService
+     */
+    private final ReactiveRemindService remindService;
+
+
+    /**
+     * Поле экземпляр UserService
+     */
+    private final UserService userService;
+
+
+    /**
+     * Получение напоминания по идентификатору
+     * @param id идентификатор напоминания
+     * @return DTO напоминания или пустой ответ, если напоминание не найдено
+     */
+    @GetMapping("/by-id/{id}")
+    public Mono<RemindDTO> findById(@PathVariable Long id) {
+        return remindService.findRemindById(id);
+    }
+
+
+    /**
+     * Получение напоминания по краткому описанию
+     * @param title краткое описание напоминания
+     * @return DTO напоминания или пустой ответ, если напоминание не найдено
+     */
+    @GetMapping("/by-title/{title}")
+    public Mono<RemindDTO> findByTitle(@PathVariable String title) {
+        return remindService.findRemindByTitle(title);
+    }
+
+
+    /**
+     * Получение напоминания по полному описанию
+     * @param description описание напоминания
+     * @return DTO напоминания или пустой ответ, если напоминание не найдено
+     */
+    @GetMapping("/by-description/{description}")
+    public Mono<RemindDTO> findByDescription(@PathVariable String description) {
+        return remindService.findRemindByDescription(description);
+    }
+
+
+    /**
+     * Создание нового напоминания для авторизованного пользователя.
+     * Для токенов без идентификатора пользователя пользователь ищется по email
+     * в отдельном пуле потоков, так как {@link UserService} работает через блокирующий JDBC
+     * @param remindDTO объект {@link RemindDTO}, содержащий данные напоминания
+     * @param principal {@link AuthenticatedUser} авторизованного пользователя
+     * @param request текущий HTTP-запрос
+     * @return cозданное напоминание с URI
+     */
+    @PostMapping("/create")
+    public Mono<ResponseEntity<RemindDTO>> createRemind(@Valid @RequestBody RemindDTO remindDTO,
+                                                        @AuthenticationPrincipal AuthenticatedUser principal,
+                                                        ServerHttpRequest request) {
+        Mono<Long> userId = principal.getId() != null
+                ? Mono.just(principal.getId())
+                : Mono.fromCallable(() -> userService.findByEmail(principal.getEmail())
+                                .map(User::getId)
+                                .orElseThrow(() -> new UsernameNotFoundException("Пользоватль с указанными данными не найден")))
+                        .subscribeOn(Schedulers.boundedElastic());
+
+        return userId
+                .flatMap(id -> remindService.createRemind(remindDTO, id))
+                .map(created -> {
+                    URI location = UriComponentsBuilder.fromUri(request.getURI())
+                            .path("/{id}")
+                            .buildAndExpand(created.getId())
+                            .toUri();
+                    return ResponseEntity.created(location).body(created);
+                });
+    }
+
+
+    /**
+     * Удаление напоминания по идентификатору
+     * @param id идентификатор напоминания
+     * @return cтатус, если напоминание успешно удалено
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteRemind(@PathVariable Long id) {
+        return remindService.deleteRemind(id)
+                .thenReturn(ResponseEntity.noContent().build());
+    }
+
+
+    /**
+     * Обновление напоминания по краткому описанию
+     * @param title краткое описание напоминания
+     * @param remind обновлённый объект напоминания
+     * @return обновлённое DTO или пустой ответ, если напоминание не найдено
+     */
+    @PutMapping("/by-title/{title}")
+    public Mono<RemindDTO> updateRemindByTitle(@PathVariable String title, @Valid @RequestBody RemindDTO remind) {
+        return remindService.updateRemindByTitle(title, remind);
+    }
+
+
+    /**
+     * Обновление напоминания по идентификатору
+     * @param id идентификатор напоминания
+     * @param remindDTO обновлённый объект напоминания
+     * @return обновлённое DTO или пустой ответ, если напоминание не найдено
+     */
+    @PutMapping("/by-id/{id}")
+    public Mono<RemindDTO> updateRemindById(@PathVariable Long id, @Valid @RequestBody RemindDTO remindDTO) {
+        return remindService.updateRemindById(id, remindDTO);
+    }
+
+
+    /**
+     * Получение потока всех напоминаний
+     * @return поток напоминаний
+     */
+    @GetMapping(value = "/all", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<RemindDTO> getAllReminds() {
+        return remindService.getAllReminds();
+    }
+
+
+    /**
+     * Фильтрация напоминаний по краткому описанию, дате или времени
+     * @param title заголовок (необязательный)
+     * @param date дата (необязательная)
+     * @param time время (необязательное)
+     * @return поток отфильтрованных напоминаний
+     */
+    @GetMapping(value = "/filter", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<RemindDTO> filterReminds(
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime time) {
+        return remindService.filterReminds(title, date, time);
+    }
+
+
+    /**
+     * Сортировка напоминаний по краткому описанию, дате или времени
+     * @param sortBy критерий сортировки ("title", "date" или "time")
+     * @return отсортированный поток напоминаний
+     */
+    @GetMapping(value = "/sorted", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<RemindDTO> getSortedReminds(@RequestParam String sortBy) {
+        return remindService.getSortedReminds(sortBy);
+    }
+}
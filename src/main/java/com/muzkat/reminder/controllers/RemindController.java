@@ -2,14 +2,16 @@ package com.muzkat.reminder.controllers;
 
 import com.muzkat.reminder.dto.RemindDTO;
 import com.muzkat.reminder.model.User;
+import com.muzkat.reminder.security.AuthenticatedUser;
 import com.muzkat.reminder.service.RemindService;
 import com.muzkat.reminder.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -34,8 +36,10 @@ import java.util.Optional;
  * Также добавлены методы для получения списка напоминаний, отфильтрованных
  * и отсортированных по краткому описанию, дате и времени.
  * Использует {@link com.muzkat.reminder.service.RemindService} для выполнения бизнес-логики.
+ * Работает в сервлетном режиме; в реактивном режиме те же маршруты обслуживает {@link ReactiveRemindController}.
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("api/remind")
 @RequiredArgsConstructor
 public class RemindController {
@@ -55,11 +59,17 @@ public class RemindController {
     /**
      * Получение напоминания по идентификатору
      * @param id идентификатор напоминания
+     * @param includeArchived искать ли напоминание в архиве, если оно не найдено среди текущих
      * @return Optional с DTO напоминания
      */
     @GetMapping("/by-id/{id}")
-    public ResponseEntity<Optional<RemindDTO>> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(remindService.findRemindById(id));
+    public ResponseEntity<Optional<RemindDTO>> findById(@PathVariable Long id,
+                                                        @RequestParam(defaultValue = "false") boolean includeArchived) {
+        Optional<RemindDTO> remind = remindService.findRemindById(id);
+        if (remind.isEmpty() && includeArchived) {
+            remind = remindService.findArchivedRemindById(id);
+        }
+        return ResponseEntity.ok(remind);
     }
 
 
@@ -89,24 +99,28 @@ public class RemindController {
     /**
      * Создание нового напоминания для авторизованного пользователя
      * <p>
-     *     Извлекает адрес электронной почты пользователя из объекта {@code Authentication},
-     *     находит соответствующего пользователя в базе данных и создаёт новое напоминание,
-     *     связанное с этим пользователем. Возвращает ответ с кодом 201 (Created) и телом
-     *     созданного напоминания
+     *     Берёт идентификатор пользователя из {@link AuthenticatedUser}, который фильтр JWT-аутентификации
+     *     построил по проверенному токену, и создаёт новое напоминание, связанное с этим пользователем,
+     *     без дополнительного запроса к базе данных. Для токенов без идентификатора пользователя
+     *     (выпущенных до добавления claim) пользователь ищется по email.
+     *     Возвращает ответ с кодом 201 (Created) и телом созданного напоминания
      * </p>
      * @param remindDTO объект {@link RemindDTO}, содержащий данные напоминания
-     * @param authentication объект {@link Authentication}, содержащий информацию об авторизованном пользователе
+     * @param principal {@link AuthenticatedUser} авторизованного пользователя
      * @return cозданное напоминание с URI
      * @throws UsernameNotFoundException если пользователь с указанным адресом электронной почты не найден
      */
     @PostMapping("/create")
     public ResponseEntity<RemindDTO> createRemind(@Valid @RequestBody RemindDTO remindDTO,
-                                                  Authentication authentication) {
-        String email = authentication.getName();
-        User user = userService.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("Пользоватль с указанными данными не найден"));
+                                                  @AuthenticationPrincipal AuthenticatedUser principal) {
+        Long userId = principal.getId();
+        if (userId == null) {
+            userId = userService.findByEmail(principal.getEmail())
+                    .map(User::getId)
+                    .orElseThrow(() -> new UsernameNotFoundException("Пользоватль с указанными данными не найден"));
+        }
 
-        RemindDTO createdRemind = remindService.createRemind(remindDTO, user);
+        RemindDTO createdRemind = remindService.createRemind(remindDTO, userId);
 
         URI location = ServletUriComponentsBuilder
                 .fromCurrentRequest()
@@ -155,11 +169,12 @@ public class RemindController {
 
     /**
      * Получение списка со всеми напоминаниями
+     * @param includeArchived добавить ли в список архивные напоминания
      * @return cтатус в случае удачного получения списка напоминаний
      * */
     @GetMapping("/all")
-    public ResponseEntity<List<RemindDTO>> getAllReminds() {
-        return ResponseEntity.ok(remindService.getAllReminds());
+    public ResponseEntity<List<RemindDTO>> getAllReminds(@RequestParam(defaultValue = "false") boolean includeArchived) {
+        return ResponseEntity.ok(remindService.getAllReminds(includeArchived));
     }
 
 
@@ -168,24 +183,28 @@ public class RemindController {
      * @param title заголовок (необязательный)
      * @param date дата (необязательная)
      * @param time время (необязательное)
+     * @param includeArchived искать ли также среди архивных напоминаний
      * @return список отфильтрованных напоминаний
      */
     @GetMapping("/filter")
     public ResponseEntity<List<RemindDTO>> filterReminds(
             @RequestParam(required = false) String title,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime time) {
-        return ResponseEntity.ok(remindService.filterReminds(title, date, time));
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime time,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return ResponseEntity.ok(remindService.filterReminds(title, date, time, includeArchived));
     }
 
 
     /**
      * Сортировка напоминаний по краткому описанию, дате или времени
      * @param sortBy критерий сортировки ("title", "date" или "time")
+     * @param includeArchived добавить ли в список архивные напоминания
      * @return отсортированный список напоминаний
      */
     @GetMapping("/sorted")
-    public ResponseEntity<List<RemindDTO>> getSortedReminds(@RequestParam String sortBy) {
-        return ResponseEntity.ok(remindService.getSortedReminds(sortBy));
+    public ResponseEntity<List<RemindDTO>> getSortedReminds(@RequestParam String sortBy,
+                                                            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return ResponseEntity.ok(remindService.getSortedReminds(sortBy, includeArchived));
     }
 }
@@ -0,0 +1,89 @@
+package com.muzkat.reminder.controllers;
+
+import com.muzkat.reminder.model.User;
+import com.muzkat.reminder.security.AuthenticatedUser;
+import com.muzkat.reminder.service.UserService;
+import com.muzkat.reminder.service.stream.RemindStreamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+
+/**
+ * Контроллер потока событий напоминаний (Server-Sent Events).
+ * Авторизованный пользователь подключается к {@code GET api/remind/stream} и получает события о создании,
+ * изменении, удалении и срабатывании своих напоминаний, не опрашивая список.
+ * После обрыва соединения клиент переподключается с заголовком {@code Last-Event-ID}
+ * (браузерный {@code EventSource} передаёт его сам) и получает пропущенные события.
+ * Использует {@link RemindStreamService}
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("api/remind")
+@RequiredArgsConstructor
+public class RemindStreamController {
+
+    /**
+     * Поле экземпляр RemindStreamService
+     */
+    private final RemindStreamService remindStreamService;
+
+    /**
+     * Поле экземпляр UserService
+     */
+    private final UserService userService;
+
+
+    /**
+     * Подключение к потоку событий напоминаний авторизованного пользователя
+     * <p>
+     *     Идентификатор последнего полученного события берётся из заголовка {@code Last-Event-ID},
+     *     а если его нет — из параметра {@code lastEventId} (для клиентов, которые не могут задать заголовок).
+     *     Некорректный идентификатор считается устаревшим: клиент получит событие {@code resync}
+     * </p>
+     * @param principal {@link AuthenticatedUser} авторизованного пользователя
+     * @param lastEventIdHeader значение заголовка Last-Event-ID
+     * @param lastEventIdParam значение параметра lastEventId
+     * @return поток событий
+     * @throws UsernameNotFoundException если пользователь с указанным адресом электронной почты не найден
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal AuthenticatedUser principal,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                             @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        Long userId = principal.getId();
+        if (userId == null) {
+            userId = userService.findByEmail(principal.getEmail())
+                    .map(User::getId)
+                    .orElseThrow(() -> new UsernameNotFoundException("Пользоватль с указанными данными не найден"));
+        }
+
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        return remindStreamService.subscribe(userId, parseEventId(lastEventId));
+    }
+
+
+    /**
+     * Метод разбирает идентификатор события
+     * @param value значение заголовка или параметра (может быть null)
+     * @return идентификатор; null, если значение не передано; 0, если значение некорректно
+     */
+    private static Long parseEventId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+}
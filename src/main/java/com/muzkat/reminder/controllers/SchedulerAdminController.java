@@ -0,0 +1,98 @@
+package com.muzkat.reminder.controllers;
+
+import com.muzkat.reminder.dto.SchedulerPassDTO;
+import com.muzkat.reminder.dto.SchedulerStatusDTO;
+import com.muzkat.reminder.service.notification.RemindSchedulerControl;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+
+/**
+ * Контроллер администрирования планировщика напоминаний.
+ * Позволяет посмотреть состояние очереди, приостановить и возобновить регулярные проходы,
+ * изменить их интервал и выполнить ограниченный ручной разбор очереди, чтобы управлять
+ * нагрузкой на почтовый сервер и Telegram во время сбоев.
+ * Доступен только пользователям с ролью ADMIN ({@code reminder.admin.emails})
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("api/admin/scheduler")
+@RequiredArgsConstructor
+@Validated
+public class SchedulerAdminController {
+
+    /**
+     * Поле экземпляр {@link RemindSchedulerControl}
+     */
+    private final RemindSchedulerControl schedulerControl;
+
+
+    /**
+     * Получение состояния планировщика: глубина очереди, возраст самого старого напоминания,
+     * количество выполняющихся проходов и напоминаний в работе, результат последнего прохода
+     * @return состояние планировщика
+     */
+    @GetMapping
+    public ResponseEntity<SchedulerStatusDTO> status() {
+        return ResponseEntity.ok(schedulerControl.status());
+    }
+
+
+    /**
+     * Приостановка регулярных проходов. Выполняющийся проход завершается
+     * @return состояние планировщика
+     */
+    @PostMapping("/pause")
+    public ResponseEntity<SchedulerStatusDTO> pause() {
+        schedulerControl.pause();
+        return ResponseEntity.ok(schedulerControl.status());
+    }
+
+
+    /**
+     * Возобновление регулярных проходов
+     * @return состояние планировщика
+     */
+    @PostMapping("/resume")
+    public ResponseEntity<SchedulerStatusDTO> resume() {
+        schedulerControl.resume();
+        return ResponseEntity.ok(schedulerControl.status());
+    }
+
+
+    /**
+     * Изменение интервала между регулярными проходами
+     * @param intervalMs новый интервал в миллисекундах (от 1 секунды до 1 суток)
+     * @return состояние планировщика
+     */
+    @PutMapping("/interval")
+    public ResponseEntity<SchedulerStatusDTO> changeInterval(
+            @RequestParam @Min(1000) @Max(86_400_000) long intervalMs) {
+        schedulerControl.changeInterval(Duration.ofMillis(intervalMs));
+        return ResponseEntity.ok(schedulerControl.status());
+    }
+
+
+    /**
+     * Ручной разбор очереди: отправка не более {@code limit} самых старых просроченных напоминаний.
+     * Выполняется и при приостановленных регулярных проходах
+     * @param limit максимальное количество напоминаний
+     * @return результат прохода
+     */
+    @PostMapping("/drain")
+    public ResponseEntity<SchedulerPassDTO> drain(@RequestParam(defaultValue = "100") @Min(1) @Max(10_000) int limit) {
+        return ResponseEntity.ok(schedulerControl.drain(limit));
+    }
+}
@@ -1,9 +1,10 @@
 package com.muzkat.reminder.controllers;
 
 import com.muzkat.reminder.dto.TelegramUpdateDTO;
-import com.muzkat.reminder.repository.UserRepository;
+import com.muzkat.reminder.service.telegram.TelegramUpdateQueue;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -15,29 +16,32 @@ import org.springframework.web.bind.annotation.RestController;
 /**
  * Контроллер для обработки входящих сообщений от Telegram-бота.
  * Используется для автоматической регистрации пользователя и
- * сохранения его chat_id по указанному email
+ * сохранения его chat_id по указанному email.
+ * Активен в режиме webhook ({@code telegram.ingestion.mode=webhook}, по умолчанию)
  */
 @RestController
+@ConditionalOnProperty(prefix = "telegram.ingestion", name = "mode", havingValue = "webhook", matchIfMissing = true)
 @RequiredArgsConstructor
 @RequestMapping("api/telegram")
 @Slf4j
 public class TelegramRegistrationController {
 
     /**
-     * Поле экземпляр {@link UserRepository}
+     * Поле экземпляр {@link TelegramUpdateQueue}
      */
-    private final UserRepository userRepository;
+    private final TelegramUpdateQueue updateQueue;
 
 
     /**
      * Получение сообщения от Telegram-бота.
-     * Метод извлекает email из текстового сообщения и сохраняет chat_id в базе данных
-     * для пользователя с указанным email, если пользователь существует в базе данных.
+     * Метод ставит обновление в очередь и сразу подтверждает получение; chat_id сохраняется
+     * для пользователя с указанным в тексте email фоновым обработчиком очереди.
+     * Повторно доставленные Telegram обновления (с тем же update_id) не обрабатываются повторно.
      * <p>
      *     Пользователь должен отправить свой email боту в сообщении.
      * </p>
      * @param dto DTO, содержащий сообщение от Telegram
-     * @return HTTP-ответ с результатом регистрации Telegram-аккаунта
+     * @return HTTP-ответ 200, если обновление принято; 503, если очередь обновлений заполнена
      */
     @PostMapping("/webhook")
     public ResponseEntity<String> registrationUserByTelegram(@RequestBody TelegramUpdateDTO dto) {
@@ -47,21 +51,11 @@ public class TelegramRegistrationController {
                     .body("Некорректный запрос: отсутствует сообщение, чат или текст");
         }
 
-        Long chatId = message.getChat().getId();
-        String email = message.getText().trim();
-
-        return userRepository.findByEmail(email)
-                .map(user -> {
-                    user.setTelegramChatId(chatId.toString());
-                    userRepository.save(user);
-
-                    log.info("Пользователь с email {} успешно добавлен в telegram-чат: chat_id {}", email, chatId);
-                    return ResponseEntity.ok("Telegram добавлен к учетной записи");
-                })
-                .orElseGet(() -> {
-                    log.warn("Не удалось добавить Telegram: пользователь с email {} не найден", email);
-                    return ResponseEntity.ok("email не найден. Введите корректный email");
-                });
+        if (!updateQueue.submit(dto)) {
+            log.warn("Очередь обновлений Telegram заполнена, update_id {} отклонён", dto.getUpdateId());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body("Сервис перегружен, повторите попытку позже");
+        }
+        return ResponseEntity.ok("Обновление принято");
     }
 }
-
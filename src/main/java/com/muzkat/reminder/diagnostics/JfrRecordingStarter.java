@@ -0,0 +1,129 @@
+package com.muzkat.reminder.diagnostics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Непрерывная запись JFR с профилем сервиса.
+ * <p>
+ *     Включается свойством {@code reminder.jfr.recording.enabled: true}. При старте приложения
+ *     запускает запись с настройками стандартного профиля {@code default}, дополненными профилем
+ *     {@code jfr/reminder.jfc} (события приложения и пониженные пороги событий JDK).
+ *     Запись хранится на диске в кольцевом буфере ({@code max-age}, {@code max-size}) и выгружается
+ *     при остановке приложения в {@code destination}, а если он не задан — в файл
+ *     {@code reminder-<pid>-<время>.jfr} в рабочем каталоге. При аварийном завершении JVM
+ *     запись выгружается механизмом dump-on-exit.
+ *     Снимок можно получить в любой момент: {@code jcmd <pid> JFR.dump name=reminder filename=reminder.jfr}
+ * </p>
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "reminder.jfr.recording", name = "enabled", havingValue = "true")
+public class JfrRecordingStarter {
+
+    /**
+     * Имя записи
+     */
+    static final String RECORDING_NAME = "reminder";
+
+    /**
+     * Путь к профилю сервиса в classpath
+     */
+    private static final String PROFILE = "jfr/reminder.jfc";
+
+    /**
+     * Поле максимальный возраст данных записи
+     */
+    @Value("${reminder.jfr.recording.max-age:6h}")
+    private Duration maxAge;
+
+    /**
+     * Поле максимальный объём данных записи
+     */
+    @Value("${reminder.jfr.recording.max-size:256MB}")
+    private DataSize maxSize;
+
+    /**
+     * Поле файл, в который выгружается запись при остановке приложения
+     * (пусто — файл {@code reminder-<pid>-<время>.jfr} в рабочем каталоге)
+     */
+    @Value("${reminder.jfr.recording.destination:}")
+    private String destination;
+
+    /**
+     * Поле текущая запись
+     */
+    private Recording recording;
+
+
+    /**
+     * Метод запускает запись
+     * @throws IOException если профиль не удалось прочитать
+     * @throws ParseException если профиль или стандартный профиль некорректны
+     */
+    @PostConstruct
+    public void start() throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        try (Reader reader = new InputStreamReader(new ClassPathResource(PROFILE).getInputStream(),
+                StandardCharsets.UTF_8)) {
+            settings.putAll(Configuration.create(reader).getSettings());
+        }
+
+        recording = new Recording(settings);
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.setDumpOnExit(true);
+        if (!destination.isBlank()) {
+            recording.setDestination(Path.of(destination));
+        }
+        recording.start();
+        log.info("Запущена запись JFR '{}' (max-age {}, max-size {})", RECORDING_NAME, maxAge, maxSize);
+    }
+
+
+    /**
+     * Метод останавливает запись и выгружает данные в {@code destination}. Без {@code destination}
+     * {@link Recording#stop()} ничего не записывает, а {@link Recording#close()} удаляет данные,
+     * поэтому запись предварительно выгружается в файл в рабочем каталоге
+     */
+    @PreDestroy
+    public void stop() {
+        if (recording == null) {
+            return;
+        }
+        if (destination.isBlank()) {
+            Path dump = Path.of("%s-%d-%s.jfr".formatted(RECORDING_NAME, ProcessHandle.current().pid(),
+                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))));
+            try {
+                recording.dump(dump);
+                log.info("Запись JFR '{}' выгружена в {}", RECORDING_NAME, dump.toAbsolutePath());
+            } catch (IOException e) {
+                log.error("Не удалось выгрузить запись JFR '{}' в {}: {}", RECORDING_NAME, dump, e.getMessage());
+            }
+        }
+        recording.stop();
+        recording.close();
+    }
+}
@@ -0,0 +1,33 @@
+package com.muzkat.reminder.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Событие JFR проверки access-токена
+ */
+@Name("com.muzkat.reminder.JwtValidation")
+@Label("JWT Validation")
+@Category({"Reminder", "Security"})
+@Description("Проверка access-токена")
+@Enabled
+@StackTrace(false)
+public class JwtValidationEvent extends Event {
+
+    /**
+     * Поле признак того, что токен взят из кэша проверенных токенов
+     */
+    @Label("Cached")
+    public boolean cached;
+
+    /**
+     * Поле признак успешной проверки
+     */
+    @Label("Valid")
+    public boolean valid;
+}
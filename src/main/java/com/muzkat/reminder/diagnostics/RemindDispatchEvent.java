@@ -0,0 +1,48 @@
+package com.muzkat.reminder.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Событие JFR передачи одного напоминания в канал доставки.
+ * Длительность события — время передачи с точки зрения планировщика
+ */
+@Name("com.muzkat.reminder.RemindDispatch")
+@Label("Remind Dispatch")
+@Category({"Reminder", "Scheduler"})
+@Description("Передача напоминания в канал доставки")
+@Enabled
+@StackTrace(false)
+public class RemindDispatchEvent extends Event {
+
+    /**
+     * Поле идентификатор напоминания
+     */
+    @Label("Remind Id")
+    public long remindId;
+
+    /**
+     * Поле канал доставки
+     */
+    @Label("Channel")
+    public String channel;
+
+    /**
+     * Поле задержка отправки относительно времени напоминания
+     */
+    @Label("Lag")
+    @Timespan(Timespan.MILLISECONDS)
+    public long lag;
+
+    /**
+     * Поле признак успешной передачи
+     */
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,41 @@
+package com.muzkat.reminder.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Событие JFR вызова метода репозитория Spring Data JPA.
+ * Стек вызовов по умолчанию не записывается; профиль {@code jfr/reminder.jfc} включает его
+ * для медленных вызовов, чтобы было видно, какой метод сервиса их выполнил
+ */
+@Name("com.muzkat.reminder.RepositoryCall")
+@Label("Repository Call")
+@Category({"Reminder", "Database"})
+@Description("Вызов метода репозитория")
+@Enabled
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    /**
+     * Поле имя интерфейса репозитория
+     */
+    @Label("Repository")
+    public String repository;
+
+    /**
+     * Поле имя метода
+     */
+    @Label("Method")
+    public String method;
+
+    /**
+     * Поле признак успешного вызова
+     */
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,68 @@
+package com.muzkat.reminder.diagnostics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * Пост-процессор, добавляющий в прокси блокирующих репозиториев Spring Data
+ * запись события JFR {@link RepositoryCallEvent} для каждого вызова метода.
+ * <p>
+ *     Реактивные репозитории не оборачиваются: их методы возвращают {@code Mono}/{@code Flux} сразу,
+ *     и длительность вызова не отражает время запроса к базе данных.
+ *     Если запись JFR не ведётся или событие отключено, перехватчик сводится к вызову
+ *     {@link RepositoryCallEvent#isEnabled()}
+ * </p>
+ */
+@Component
+public class RepositoryCallEventPostProcessor implements BeanPostProcessor {
+
+    /**
+     * Метод регистрирует перехватчик в фабрике репозитория до создания прокси
+     * @param bean бин
+     * @param beanName имя бина
+     * @return тот же бин
+     */
+    @Override
+    public Object postProcessBeforeInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> {
+                        if (!information.isReactiveRepository()) {
+                            proxyFactory.addAdvice(interceptor(information.getRepositoryInterface().getSimpleName()));
+                        }
+                    }));
+        }
+        return bean;
+    }
+
+
+    /**
+     * Метод создаёт перехватчик вызовов репозитория
+     * @param repository имя интерфейса репозитория
+     * @return перехватчик
+     */
+    private static MethodInterceptor interceptor(String repository) {
+        return invocation -> {
+            RepositoryCallEvent event = new RepositoryCallEvent();
+            if (!event.isEnabled()) {
+                return invocation.proceed();
+            }
+            event.begin();
+            try {
+                Object result = invocation.proceed();
+                event.success = true;
+                return result;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.repository = repository;
+                    event.method = invocation.getMethod().getName();
+                    event.commit();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.muzkat.reminder.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Событие JFR одного прохода планировщика напоминаний.
+ * Длительность события — длительность прохода, поля — результаты прохода
+ */
+@Name("com.muzkat.reminder.SchedulerTick")
+@Label("Scheduler Tick")
+@Category({"Reminder", "Scheduler"})
+@Description("Один проход планировщика отправки напоминаний")
+@Enabled
+@StackTrace(false)
+public class SchedulerTickEvent extends Event {
+
+    /**
+     * Поле количество найденных просроченных напоминаний
+     */
+    @Label("Due")
+    public int due;
+
+    /**
+     * Поле количество напоминаний, переданных в очереди каналов доставки
+     */
+    @Label("Dispatched")
+    public int dispatched;
+
+    /**
+     * Поле количество напоминаний, отправка которых завершилась ошибкой
+     */
+    @Label("Failed")
+    public int failed;
+
+    /**
+     * Поле количество напоминаний, отправка которых отложена до следующего прохода
+     */
+    @Label("Deferred")
+    public int deferred;
+}
@@ -0,0 +1,154 @@
+package com.muzkat.reminder.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Монитор блокировки (pinning) виртуальных потоков на несущих потоках.
+ * <p>
+ *     Работает только в режиме виртуальных потоков ({@code spring.threads.virtual.enabled: true}).
+ *     Подписывается на событие JFR {@code jdk.VirtualThreadPinned}, которое JVM генерирует, когда
+ *     виртуальный поток блокируется внутри {@code synchronized} или нативного кода дольше порога
+ *     {@code reminder.virtual-threads.pinning-threshold} и занимает несущий поток
+ *     (типичные места — JDBC-драйвер и JavaMail).
+ * </p>
+ * <p>
+ *     Каждое событие учитывается в таймере {@value #PINNED_TIMER}; стек вызовов записывается в журнал
+ *     один раз для каждого места блокировки, чтобы не засорять журнал повторами
+ * </p>
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    /**
+     * Имя таймера событий блокировки
+     */
+    static final String PINNED_TIMER = "jvm.threads.virtual.pinned";
+
+    /**
+     * Имя события JFR
+     */
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    /**
+     * Количество кадров стека, по которым определяется место блокировки и которые пишутся в журнал
+     */
+    private static final int STACK_DEPTH = 12;
+
+    /**
+     * Максимальное количество запоминаемых мест блокировки
+     */
+    private static final int MAX_REPORTED_SITES = 1000;
+
+    /**
+     * Поле реестр метрик
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Поле признак включения монитора
+     */
+    @Value("${reminder.virtual-threads.pinning-monitor:true}")
+    private boolean enabled;
+
+    /**
+     * Поле минимальная длительность блокировки, о которой сообщает JVM
+     */
+    @Value("${reminder.virtual-threads.pinning-threshold:20ms}")
+    private Duration threshold;
+
+    /**
+     * Поле места блокировки, стек которых уже записан в журнал
+     */
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Поле таймер событий блокировки
+     */
+    private Timer pinnedTimer;
+
+    /**
+     * Поле поток событий JFR
+     */
+    private RecordingStream recordingStream;
+
+
+    /**
+     * Метод запускает поток событий JFR
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        pinnedTimer = Timer.builder(PINNED_TIMER)
+                .description("Блокировки виртуальных потоков на несущих потоках")
+                .register(meterRegistry);
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        log.info("Мониторинг блокировок виртуальных потоков включён, порог {} мс", threshold.toMillis());
+    }
+
+
+    /**
+     * Метод останавливает поток событий JFR
+     */
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+
+    /**
+     * Метод учитывает событие блокировки и записывает стек для нового места блокировки
+     * @param event событие {@code jdk.VirtualThreadPinned}
+     */
+    private void onPinned(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return;
+        }
+        String frames = stackTrace.getFrames().stream()
+                .limit(STACK_DEPTH)
+                .map(VirtualThreadPinningMonitor::formatFrame)
+                .collect(Collectors.joining("\n\tat "));
+        if (reportedSites.size() < MAX_REPORTED_SITES && reportedSites.add(frames)) {
+            log.warn("Виртуальный поток заблокирован на несущем потоке {} мс:\n\tat {}",
+                    event.getDuration().toMillis(), frames);
+        }
+    }
+
+
+    /**
+     * Метод форматирует кадр стека в виде, привычном для журнала
+     * @param frame кадр стека
+     * @return строка вида {@code класс.метод:строка}
+     */
+    private static String formatFrame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
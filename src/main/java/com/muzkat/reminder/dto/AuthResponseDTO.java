@@ -7,8 +7,9 @@ import lombok.NoArgsConstructor;
 /**
  * DTO-класс для ответа при аутентификации пользователя
  * <p>
- *     Содержит JWT-токен, предоставляемый клиенту после успешной аутентификации.
- *     Этот токен используется для последующих запросов к защищённым ресурсам
+ *     Содержит короткоживущий JWT-токен, предоставляемый клиенту после успешной аутентификации,
+ *     и refresh-токен для получения нового JWT-токена.
+ *     JWT-токен используется для последующих запросов к защищённым ресурсам
  * </p>
  */
 @Data
@@ -20,4 +21,10 @@ public class AuthResponseDTO {
      * Поле JWT-токен, предоставляемый после успешной аутентификации пользователя
      */
     private String token;
+
+    /**
+     * Поле refresh-токен для обновления JWT-токена через <b>POST /auth/refresh</b>.
+     * Одноразовый: при обновлении выдаётся новый refresh-токен
+     */
+    private String refreshToken;
 }
@@ -0,0 +1,21 @@
+package com.muzkat.reminder.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO-класс для передачи refresh-токена при обновлении JWT-токена и при выходе из системы
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenRequestDTO {
+
+    /**
+     * Поле refresh-токен, выданный при аутентификации или предыдущем обновлении
+     */
+    @NotBlank
+    private String refreshToken;
+}
@@ -0,0 +1,64 @@
+package com.muzkat.reminder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO-класс для представления результата одного прохода планировщика напоминаний
+ * <p>
+ *     Используется в ответах API администрирования планировщика: как статистика последнего прохода
+ *     и как результат ручного разбора очереди.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerPassDTO {
+
+    /**
+     * Поле время начала прохода
+     */
+    private LocalDateTime startedAt;
+
+
+    /**
+     * Поле длительность прохода в миллисекундах
+     */
+    private long durationMs;
+
+
+    /**
+     * Поле количество найденных просроченных напоминаний
+     */
+    private int due;
+
+
+    /**
+     * Поле количество напоминаний, переданных в очереди каналов доставки.
+     * Сами отправки завершаются после прохода; доставленные напоминания учитываются
+     * метрикой {@code reminder.scheduler.delivered}
+     */
+    private int dispatched;
+
+
+    /**
+     * Поле количество напоминаний, отправка которых завершилась ошибкой
+     */
+    private int failed;
+
+
+    /**
+     * Поле количество напоминаний, отправка которых отложена до следующего прохода
+     * (очередь канала заполнена или выключатель канала разомкнут)
+     */
+    private int deferred;
+
+
+    /**
+     * Поле признак ручного запуска (разбор очереди через API администрирования)
+     */
+    private boolean manual;
+}
@@ -0,0 +1,58 @@
+package com.muzkat.reminder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO-класс для представления состояния планировщика напоминаний
+ * <p>
+ *     Используется в качестве ответа API администрирования планировщика.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerStatusDTO {
+
+    /**
+     * Поле признак приостановки регулярных проходов
+     */
+    private boolean paused;
+
+
+    /**
+     * Поле интервал между регулярными проходами в миллисекундах
+     */
+    private long intervalMs;
+
+
+    /**
+     * Поле количество неотправленных напоминаний, время которых наступило
+     */
+    private long backlog;
+
+
+    /**
+     * Поле возраст самого старого неотправленного напоминания в секундах (0, если очередь пуста)
+     */
+    private long oldestDueAgeSeconds;
+
+
+    /**
+     * Поле количество выполняющихся проходов
+     */
+    private int runningPasses;
+
+
+    /**
+     * Поле количество напоминаний, выбранных выполняющимися проходами и ещё не обработанных
+     */
+    private int inFlight;
+
+
+    /**
+     * Поле результат последнего завершённого прохода (null, если проходов ещё не было)
+     */
+    private SchedulerPassDTO lastPass;
+}
@@ -0,0 +1,31 @@
+package com.muzkat.reminder.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO-класс для представления ответа метода getUpdates Telegram Bot API.
+ * Содержит признак успешности запроса и пачку обновлений в формате {@link TelegramUpdateDTO}
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TelegramGetUpdatesResponseDTO {
+
+    /**
+     * Поле признак успешного выполнения запроса
+     */
+    private boolean ok;
+
+    /**
+     * Поле описание ошибки, если запрос не выполнен
+     */
+    private String description;
+
+    /**
+     * Поле полученные обновления в порядке возрастания update_id
+     */
+    private List<TelegramUpdateDTO> result = new ArrayList<>();
+}
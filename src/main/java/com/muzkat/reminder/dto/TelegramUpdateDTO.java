@@ -1,6 +1,7 @@
 package com.muzkat.reminder.dto;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import lombok.Getter;
 
@@ -14,6 +15,13 @@ import lombok.Getter;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class TelegramUpdateDTO {
 
+    /**
+     * Поле уникальный идентификатор обновления (update_id).
+     * Telegram повторно доставляет обновление с тем же идентификатором, по нему отсекаются дубликаты
+     */
+    @JsonProperty("update_id")
+    private Long updateId;
+
     /**
      * Вложенное сообщение в Telegram
      */
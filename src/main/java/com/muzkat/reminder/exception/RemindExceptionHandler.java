@@ -3,6 +3,7 @@ package com.muzkat.reminder.exception;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -95,7 +96,7 @@ public class RemindExceptionHandler {
     }
 
     /**
-     * Метод обрабатывает исключения {@link IOException}, возникшие при операциях записи JWT-токена в файл.
+     * Метод обрабатывает исключения {@link IOException}, возникшие при операциях ввода-вывода.
      * @param e исключение IOException, содержащее информацию об ошибке
      * @return ответ с HTTP-статусом 500 Internal Server Error и сообщением об ошибке
      */
@@ -105,6 +106,20 @@ public class RemindExceptionHandler {
                 "Произошла ошибка при обработке файла: " + e.getMessage());
     }
 
+    /**
+     * Метод обрабатывает исключения {@link ServiceOverloadedException},
+     * возникшие при перегрузке ограниченного ресурса приложения.
+     * @param e исключение ServiceOverloadedException с рекомендуемой задержкой повторного запроса
+     * @return ответ с HTTP-статусом 503 Service Unavailable, заголовком Retry-After и сообщением об ошибке
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Map<String, Object>> handleServiceOverloaded(ServiceOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Сервис перегружен: " + e.getMessage()).getBody());
+    }
+
     /**
      * Вспомогательный метод для построения структурированного ответа об ошибке.
      * @param status HTTP-статус, который нужно вернуть
@@ -0,0 +1,29 @@
+package com.muzkat.reminder.exception;
+
+import lombok.Getter;
+
+/**
+ * Исключение, которое выбрасывается, когда ограниченный ресурс приложения перегружен
+ * (например, очередь пула хэширования паролей заполнена) и запрос не может быть обработан сейчас.
+ * Преобразуется в ответ с HTTP-статусом 503 Service Unavailable и заголовком {@code Retry-After}
+ * в {@link RemindExceptionHandler}
+ */
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+    /**
+     * Поле рекомендуемая задержка перед повторным запросом в секундах
+     */
+    private final long retryAfterSeconds;
+
+
+    /**
+     * Конструктор исключения
+     * @param message сообщение об ошибке
+     * @param retryAfterSeconds рекомендуемая задержка перед повторным запросом в секундах
+     */
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
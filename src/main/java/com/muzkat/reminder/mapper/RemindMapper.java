@@ -1,7 +1,9 @@
 package com.muzkat.reminder.mapper;
 
 import com.muzkat.reminder.dto.RemindDTO;
+import com.muzkat.reminder.model.ArchivedRemind;
 import com.muzkat.reminder.model.Remind;
+import com.muzkat.reminder.model.RemindRecord;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -10,6 +12,8 @@ import org.mapstruct.Mapping;
  * Выполняет преобразование:
  * <li>из {@link Remind} в {@link RemindDTO} — разбивает LocalDateTime на LocalDate и LocalTime</li>
  * <li>из {@link RemindDTO} в {@link Remind} — объединяет LocalDate и LocalTime в LocalDateTime</li>
+ * <li>из {@link ArchivedRemind} в {@link RemindDTO} — так же, как для {@link Remind}</li>
+ * <li>между {@link RemindRecord} (реактивный режим) и {@link RemindDTO} — так же, как для {@link Remind}</li>
  */
 @Mapper(componentModel = "spring")
 public interface RemindMapper {
@@ -36,4 +40,40 @@ public interface RemindMapper {
     @Mapping(target = "remindId", ignore = true)
     @Mapping(target = "notified", ignore = true)
     Remind toEntity(RemindDTO dto);
+
+
+    /**
+     * Преобразует архивное напоминание {@link ArchivedRemind} в DTO {@link RemindDTO}.
+     * Дополнительно разбивает поле dateTimeOfRemind на dateOfRemind и timeOfRemind
+     * @param remind архивное напоминание для преобразования
+     * @return DTO-объект, соответствующий переданному архивному напоминанию
+     */
+    @Mapping(target = "dateOfRemind", expression = "java(remind.getDateTimeOfRemind().toLocalDate())")
+    @Mapping(target = "timeOfRemind", expression = "java(remind.getDateTimeOfRemind().toLocalTime())")
+    @Mapping(source = "remindId", target = "id")
+    RemindDTO toDto(ArchivedRemind remind);
+
+
+    /**
+     * Преобразует строку {@link RemindRecord} в DTO {@link RemindDTO}.
+     * Дополнительно разбивает поле dateTimeOfRemind на dateOfRemind и timeOfRemind
+     * @param remind строка таблицы remind для преобразования
+     * @return DTO-объект, соответствующий переданной строке
+     */
+    @Mapping(target = "dateOfRemind", expression = "java(remind.getDateTimeOfRemind().toLocalDate())")
+    @Mapping(target = "timeOfRemind", expression = "java(remind.getDateTimeOfRemind().toLocalTime())")
+    @Mapping(source = "remindId", target = "id")
+    RemindDTO toDto(RemindRecord remind);
+
+
+    /**
+     * Преобразует DTO {@link RemindDTO} в строку {@link RemindRecord}.
+     * Объединяет поля dateOfRemind и timeOfRemind в одно поле dateTimeOfRemind
+     * @param dto DTO-объект для преобразования
+     * @return строка таблицы remind, соответствующая переданному DTO
+     */
+    @Mapping(target = "dateTimeOfRemind", expression = "java(dto.getDateOfRemind().atTime(dto.getTimeOfRemind()))")
+    @Mapping(target = "remindId", ignore = true)
+    @Mapping(target = "notified", ignore = true)
+    RemindRecord toRecord(RemindDTO dto);
 }
@@ -0,0 +1,68 @@
+package com.muzkat.reminder.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * Архивное напоминание со свойствами <b>remindId</b>, <b>title</b>, <b>description</b>,
+ * <b>dateTimeOfRemind</b>, <b>userId</b> и <b>archivedAt</b>.
+ * Отправленные напоминания переносятся в таблицу remind_archive задачей архивации
+ * и сохраняют исходный идентификатор. Записи только читаются приложением
+ */
+@Entity
+@Data
+@Table(name = "remind_archive")
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedRemind {
+
+    /**
+     * Поле идентификатор напоминания (совпадает с исходным)
+     */
+    @Id
+    @Column(name = "remind_id")
+    private Long remindId;
+
+
+    /**
+     * Поле краткое описание напоминания
+     */
+    @Column(name = "title", nullable = false)
+    private String title;
+
+
+    /**
+     * Поле полное описание напоминания
+     */
+    @Column(name = "description")
+    private String description;
+
+
+    /**
+     * Поле дата и время напоминания
+     */
+    @Column(name = "remind", nullable = false)
+    private LocalDateTime dateTimeOfRemind;
+
+
+    /**
+     * Поле идентификатор пользователя
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+
+    /**
+     * Поле дата и время переноса напоминания в архив
+     */
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
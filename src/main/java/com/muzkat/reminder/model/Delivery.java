@@ -0,0 +1,116 @@
+package com.muzkat.reminder.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * Запись журнала доставки уведомления со свойствами <b>remindId</b>, <b>occurrence</b>, <b>channel</b>,
+ * <b>status</b>, <b>providerMessageId</b>, <b>error</b>, <b>createdAt</b> и <b>completedAt</b>.
+ * Тройка (remindId, occurrence, channel) уникальна: на одно срабатывание напоминания
+ * в каждый канал создаётся не более одной записи, что и исключает повторную отправку
+ */
+@Entity
+@Data
+@Table(name = "delivery")
+@NoArgsConstructor
+@AllArgsConstructor
+public class Delivery {
+
+    /**
+     * Поле идентификатор записи
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+
+    /**
+     * Поле идентификатор напоминания
+     */
+    @Column(name = "remind_id", nullable = false)
+    private Long remindId;
+
+
+    /**
+     * Поле срабатывание напоминания: дата и время, на которые оно было назначено при отправке
+     */
+    @Column(name = "occurrence", nullable = false)
+    private LocalDateTime occurrence;
+
+
+    /**
+     * Поле канал доставки (email, telegram)
+     */
+    @Column(name = "channel", nullable = false)
+    private String channel;
+
+
+    /**
+     * Поле состояние доставки
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status;
+
+
+    /**
+     * Поле идентификатор сообщения у провайдера (Message-ID письма, message_id в Telegram)
+     */
+    @Column(name = "provider_message_id")
+    private String providerMessageId;
+
+
+    /**
+     * Поле текст ошибки неудачной доставки
+     */
+    @Column(name = "error")
+    private String error;
+
+
+    /**
+     * Поле дата и время захвата доставки перед отправкой
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+
+    /**
+     * Поле дата и время завершения отправки
+     */
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+
+    /**
+     * Состояние доставки
+     */
+    public enum Status {
+
+        /**
+         * Доставка захвачена, отправка выполняется (или её результат неизвестен)
+         */
+        PENDING,
+
+        /**
+         * Сообщение принято провайдером
+         */
+        SENT,
+
+        /**
+         * Отправка завершилась ошибкой; доставку можно захватить повторно
+         */
+        FAILED
+    }
+}
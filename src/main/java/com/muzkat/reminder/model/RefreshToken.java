@@ -0,0 +1,69 @@
+package com.muzkat.reminder.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * Refresh-токен пользователя со свойствами <b>id</b>, <b>userId</b>, <b>tokenHash</b>,
+ * <b>expiresAt</b>, <b>createdAt</b>, <b>revoked</b>.
+ * В базе данных хранится только SHA-256 отпечаток токена, сам токен выдаётся клиенту один раз
+ */
+@Entity
+@Data
+@Table(name = "refresh_token")
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+
+    /**
+     * Поле уникальный идентификатор refresh-токена
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+
+    /**
+     * Поле идентификатор пользователя, которому выдан токен
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+
+    /**
+     * Поле SHA-256 отпечаток токена
+     */
+    @Column(name = "token_hash", nullable = false, unique = true)
+    private String tokenHash;
+
+
+    /**
+     * Поле дата и время истечения срока действия токена
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+
+    /**
+     * Поле дата и время выдачи токена
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+
+    /**
+     * Флаг, который показывает, что токен отозван или уже использован для обновления.
+     * Повторное предъявление отозванного токена считается компрометацией
+     */
+    private boolean revoked;
+}
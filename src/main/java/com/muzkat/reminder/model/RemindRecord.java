@@ -0,0 +1,65 @@
+package com.muzkat.reminder.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * Строка таблицы remind для реактивного доступа через R2DBC со свойствами <b>remindId</b>, <b>title</b>,
+ * <b>description</b>, <b>dateTimeOfRemind</b>, <b>userId</b>, <b>notified</b>.
+ * Соответствует сущности {@link Remind}, которая используется JPA в сервлетном режиме
+ */
+@Data
+@Table("remind")
+@NoArgsConstructor
+@AllArgsConstructor
+public class RemindRecord {
+
+    /**
+     * Поле уникальный идентификатор напоминания
+     */
+    @Id
+    @Column("remind_id")
+    private Long remindId;
+
+
+    /**
+     * Поле краткое описание напоминания
+     */
+    @Column("title")
+    private String title;
+
+
+    /**
+     * Поле полное описание напоминания
+     */
+    @Column("description")
+    private String description;
+
+
+    /**
+     * Поле дата и время напоминания
+     */
+    @Column("remind")
+    private LocalDateTime dateTimeOfRemind;
+
+
+    /**
+     * Поле идентификатор пользователя
+     */
+    @Column("user_id")
+    private Long userId;
+
+
+    /**
+     * Флаг, который показывает, было ли отправлено уведомление пользователю
+     */
+    @Column("notified")
+    private boolean notified;
+}
@@ -0,0 +1,38 @@
+package com.muzkat.reminder.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * Отозванный access-токен со свойствами <b>jti</b> и <b>expiresAt</b>.
+ * Запись нужна только до истечения срока действия токена, после чего удаляется
+ */
+@Entity
+@Data
+@Table(name = "revoked_access_token")
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedAccessToken {
+
+    /**
+     * Поле идентификатор access-токена (claim jti)
+     */
+    @Id
+    @Column(name = "jti")
+    private String jti;
+
+
+    /**
+     * Поле дата и время истечения срока действия отозванного токена
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
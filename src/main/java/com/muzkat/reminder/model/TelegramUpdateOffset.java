@@ -0,0 +1,46 @@
+package com.muzkat.reminder.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * Смещение получения обновлений Telegram (getUpdates) со свойствами <b>bot</b>, <b>nextOffset</b>
+ * и <b>updatedAt</b>. Хранит идентификатор следующего ожидаемого обновления,
+ * чтобы после перезапуска приложения не обрабатывать уже подтверждённые обновления
+ */
+@Entity
+@Data
+@Table(name = "telegram_update_offset")
+@NoArgsConstructor
+@AllArgsConstructor
+public class TelegramUpdateOffset {
+
+    /**
+     * Поле идентификатор бота (часть токена до двоеточия)
+     */
+    @Id
+    @Column(name = "bot")
+    private String bot;
+
+
+    /**
+     * Поле идентификатор следующего обновления, передаваемый в getUpdates как offset
+     */
+    @Column(name = "next_offset", nullable = false)
+    private Long nextOffset;
+
+
+    /**
+     * Поле дата и время последнего обновления смещения
+     */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -11,7 +11,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 /**
- * Класс пользователя с полями <b>id</b>, <b>name</b>, <b>email</b>, <b>telegramChatId</b>
+ * Класс пользователя с полями <b>id</b>, <b>name</b>, <b>email</b>, <b>telegramChatId</b>,
+ * <b>notificationChannels</b>
  * @author ekaterinarodionova
  */
 
@@ -49,4 +50,12 @@ public class User {
      */
     @Column(name = "telegram_chat_id")
     private String telegramChatId;
+
+    /**
+     * Поле каналы уведомлений через запятую (например, {@code email,telegram}).
+     * Если не задано, используются каналы по умолчанию {@code reminder.notification.default-channels};
+     * пустая строка отключает уведомления
+     */
+    @Column(name = "notification_channels")
+    private String notificationChannels;
 }
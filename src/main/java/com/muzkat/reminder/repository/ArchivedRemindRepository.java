@@ -0,0 +1,27 @@
+package com.muzkat.reminder.repository;
+
+import com.muzkat.reminder.model.ArchivedRemind;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+
+/**
+ * Репозиторий для работы с сущностями типа {@link ArchivedRemind}.
+ * Данное расширение {@link JpaRepository} позволяет выполнять
+ * стандартные CRUD-операции и поиск архивных напоминаний за период
+ */
+@Repository
+public interface ArchivedRemindRepository extends JpaRepository<ArchivedRemind, Long> {
+
+    /**
+     * Метод поиска архивных напоминаний, время которых попадает в полуинтервал {@code [from, to)}
+     * @param from начало периода включительно
+     * @param to конец периода, не включая
+     * @return список архивных напоминаний за период
+     */
+    List<ArchivedRemind> findByDateTimeOfRemindGreaterThanEqualAndDateTimeOfRemindLessThan(LocalDateTime from,
+                                                                                           LocalDateTime to);
+}
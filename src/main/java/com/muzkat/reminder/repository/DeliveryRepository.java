@@ -0,0 +1,97 @@
+package com.muzkat.reminder.repository;
+
+import com.muzkat.reminder.model.Delivery;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+
+/**
+ * Репозиторий для работы с сущностями типа {@link Delivery}.
+ * Данное расширение {@link JpaRepository} позволяет выполнять
+ * стандартные CRUD-операции, содержит методы захвата доставки перед отправкой
+ * и записи её результата
+ */
+@Repository
+public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
+
+    /**
+     * Метод захватывает доставку срабатывания напоминания в канал.
+     * <p>
+     *     Вставка по уникальному ключу (remind_id, occurrence, channel) с {@code ON CONFLICT}:
+     *     если записи нет, она создаётся в состоянии PENDING; если прежняя отправка завершилась
+     *     ошибкой (FAILED) или захват в состоянии PENDING старше {@code staleBefore} (процесс, захвативший
+     *     доставку, остановился, не записав результат), запись возвращается в PENDING с новым временем захвата.
+     *     Если доставка выполняется или выполнена, ничего не меняется. Конкурирующие вставки одного ключа упорядочивает уникальный индекс,
+     *     поэтому захват успешен ровно у одного вызова — без блокировок на уровне приложения.
+     *     Выполняется в отдельной транзакции, чтобы захват был зафиксирован до отправки
+     *     и не откатывался вместе с транзакцией вызывающего кода
+     * </p>
+     * @param remindId идентификатор напоминания
+     * @param occurrence срабатывание напоминания
+     * @param channel канал доставки
+     * @param now текущие дата и время
+     * @param staleBefore захваты PENDING, созданные раньше этого момента, считаются брошенными
+     * @return 1, если доставка захвачена и сообщение нужно отправить, иначе 0
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = """
+            insert into delivery (remind_id, occurrence, channel, status, created_at)
+            values (:remindId, :occurrence, :channel, 'PENDING', :now)
+            on conflict (remind_id, occurrence, channel) do update
+                set status = 'PENDING', error = null, completed_at = null, created_at = :now
+                where delivery.status = 'FAILED'
+                   or (delivery.status = 'PENDING' and delivery.created_at < :staleBefore)
+            """, nativeQuery = true)
+    int claim(@Param("remindId") Long remindId, @Param("occurrence") LocalDateTime occurrence,
+              @Param("channel") String channel, @Param("now") LocalDateTime now,
+              @Param("staleBefore") LocalDateTime staleBefore);
+
+
+    /**
+     * Метод записывает результат отправки
+     * @param remindId идентификатор напоминания
+     * @param occurrence срабатывание напоминания
+     * @param channel канал доставки
+     * @param status итоговое состояние (SENT или FAILED)
+     * @param providerMessageId идентификатор сообщения у провайдера
+     * @param error текст ошибки
+     * @param completedAt дата и время завершения отправки
+     * @return количество обновлённых записей
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update Delivery d
+            set d.status = :status, d.providerMessageId = :providerMessageId, d.error = :error,
+                d.completedAt = :completedAt
+            where d.remindId = :remindId and d.occurrence = :occurrence and d.channel = :channel
+            """)
+    int complete(@Param("remindId") Long remindId, @Param("occurrence") LocalDateTime occurrence,
+                 @Param("channel") String channel, @Param("status") Delivery.Status status,
+                 @Param("providerMessageId") String providerMessageId, @Param("error") String error,
+                 @Param("completedAt") LocalDateTime completedAt);
+
+
+    /**
+     * Метод подсчитывает доставки срабатывания напоминания в указанные каналы с заданным состоянием.
+     * Выполняется в транзакции чтения-записи, чтобы читать с основной базы данных: только что записанный
+     * результат отправки может ещё не дойти до реплики
+     * @param remindId идентификатор напоминания
+     * @param occurrence срабатывание напоминания
+     * @param channels каналы доставки
+     * @param status состояние доставки
+     * @return количество доставок
+     */
+    @Transactional
+    long countByRemindIdAndOccurrenceAndChannelInAndStatus(Long remindId, LocalDateTime occurrence,
+                                                           Collection<String> channels, Delivery.Status status);
+}
@@ -0,0 +1,67 @@
+package com.muzkat.reminder.repository;
+
+import com.muzkat.reminder.model.RemindRecord;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * Реактивный репозиторий для работы со строками таблицы remind ({@link RemindRecord}) через R2DBC.
+ * Используется в реактивном режиме (профиль {@code reactive}); методы возвращают {@link Flux} и {@link Mono},
+ * строки читаются из базы данных по мере запроса подписчиком
+ */
+@Repository
+public interface ReactiveRemindRepository extends R2dbcRepository<RemindRecord, Long> {
+
+    /**
+     * Метод поиска первого напоминания по краткому описанию
+     * @param title краткое описание напоминания
+     * @return напоминание или пустой {@link Mono}
+     */
+    Mono<RemindRecord> findFirstByTitle(String title);
+
+
+    /**
+     * Метод поиска первого напоминания по полному описанию
+     * @param description полное описание напоминания
+     * @return напоминание или пустой {@link Mono}
+     */
+    Mono<RemindRecord> findFirstByDescription(String description);
+
+
+    /**
+     * Метод поиска напоминаний, время которых попадает в полуинтервал {@code [from, to)}
+     * @param from начало периода включительно
+     * @param to конец периода, не включая
+     * @return поток напоминаний за период
+     */
+    Flux<RemindRecord> findByDateTimeOfRemindGreaterThanEqualAndDateTimeOfRemindLessThan(LocalDateTime from,
+                                                                                         LocalDateTime to);
+
+
+    /**
+     * Метод получения всех напоминаний, отсортированных по краткому описанию
+     * @return поток напоминаний
+     */
+    Flux<RemindRecord> findAllByOrderByTitle();
+
+
+    /**
+     * Метод получения всех напоминаний, отсортированных по дате и времени
+     * @return поток напоминаний
+     */
+    Flux<RemindRecord> findAllByOrderByDateTimeOfRemind();
+
+
+    /**
+     * Метод получения всех напоминаний, отсортированных по времени суток напоминания
+     * @return поток напоминаний
+     */
+    @Query("select * from remind order by cast(remind as time), remind_id")
+    Flux<RemindRecord> findAllOrderByTimeOfDay();
+}
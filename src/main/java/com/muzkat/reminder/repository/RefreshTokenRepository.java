@@ -0,0 +1,48 @@
+package com.muzkat.reminder.repository;
+
+import com.muzkat.reminder.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+
+/**
+ * Репозиторий для работы с сущностями типа {@link RefreshToken}.
+ * Данное расширение {@link JpaRepository} позволяет выполнять
+ * стандартные CRUD-операции, содержит дополнительные методы поиска токена по отпечатку
+ * и отзыва всех токенов пользователя
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Метод поиска refresh-токена по его SHA-256 отпечатку
+     * @param tokenHash отпечаток токена
+     * @return {@link Optional} с найденным {@link RefreshToken}, иначе пустой {@link Optional}
+     */
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+
+    /**
+     * Метод атомарно отмечает refresh-токен как использованный, если он ещё не был отозван
+     * @param id идентификатор refresh-токена
+     * @return 1, если токен отмечен; 0, если токен уже был отозван (например, параллельным запросом)
+     */
+    @Modifying
+    @Query("update RefreshToken r set r.revoked = true where r.id = :id and r.revoked = false")
+    int markUsed(@Param("id") Long id);
+
+
+    /**
+     * Метод отзывает все действующие refresh-токены пользователя
+     * @param userId идентификатор пользователя
+     * @return количество отозванных токенов
+     */
+    @Modifying
+    @Query("update RefreshToken r set r.revoked = true where r.userId = :userId and r.revoked = false")
+    int revokeAllByUserId(@Param("userId") Long userId);
+}
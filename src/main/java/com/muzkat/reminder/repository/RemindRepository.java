@@ -2,10 +2,16 @@ package com.muzkat.reminder.repository;
 
 import com.muzkat.reminder.model.Remind;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 
 /**
@@ -17,6 +23,18 @@ import java.util.List;
 @Repository
 public interface RemindRepository extends JpaRepository<Remind, Long> {
 
+    /**
+     * Метод поиска напоминания по идентификатору в основной базе данных.
+     * В отличие от {@link #findById(Object)}, который вне транзакции выполняется в транзакции только для чтения
+     * и может быть обслужен отстающей репликой, выполняется в транзакции чтения-записи.
+     * Используется для отправки напоминания по запросу, которая выполняется вне транзакции
+     * @param remindId идентификатор напоминания
+     * @return напоминание, если найдено
+     */
+    @Transactional
+    Optional<Remind> findByRemindId(Long remindId);
+
+
     /**
      * Метод поиска напоминания по краткому описанию
      * @param title краткое описание напоминания
@@ -34,13 +52,91 @@ public interface RemindRepository extends JpaRepository<Remind, Long> {
 
 
     /**
-     * Метод поиска всех напоминаний по дате и времени, по которым
-     * время отправки напоминания или уже прошли или еще не были отправлены
-     * и поле notified имеет значение false.
+     * Метод поиска неотправленных напоминаний (notified = false), время которых уже наступило.
      * Метод используется для автоматической отправки просроченных напоминаний
-     * с помощью планировщика задач {@code @Scheduled}.
-     * @param time значение времени, по которому выбираются напоминания с {@code remind < time}
+     * с помощью планировщика задач {@code @Scheduled}. Нижней границы нет: напоминание, пропущенное
+     * во время простоя или перенесённое в прошлое, всё равно будет отправлено; запрос остаётся дешёвым
+     * благодаря частичному индексу idx_remind_pending ({@code where notified = false}).
+     * Выполняется в транзакции чтения-записи, чтобы всегда читать с основной базы данных:
+     * отстающая реплика может вернуть уже отправленные напоминания
+     * @param now текущее время
      * @return список напоминаний, удовлетворяющих условиям фильтра
      */
-    List<Remind> findByDateTimeOfRemindBeforeAndNotifiedFalse(LocalDateTime time);
+    @Transactional
+    @Query("""
+            select r from Remind r
+            where r.dateTimeOfRemind <= :now and r.notified = false
+            """)
+    List<Remind> findPendingDue(@Param("now") LocalDateTime now);
+
+
+    /**
+     * Метод поиска не более {@code limit} самых старых неотправленных напоминаний, время которых уже наступило.
+     * Используется для ручного ограниченного разбора очереди; читает с основной базы данных
+     * @param now текущее время
+     * @param limit максимальное количество напоминаний
+     * @return список напоминаний в порядке времени напоминания
+     */
+    @Transactional
+    @Query("""
+            select r from Remind r
+            where r.dateTimeOfRemind <= :now and r.notified = false
+            order by r.dateTimeOfRemind
+            """)
+    List<Remind> findPendingDueOldestFirst(@Param("now") LocalDateTime now, Limit limit);
+
+
+    /**
+     * Метод подсчёта неотправленных напоминаний, время которых уже наступило
+     * @param now текущее время
+     * @return количество напоминаний
+     */
+    @Transactional
+    @Query("""
+            select count(r) from Remind r
+            where r.dateTimeOfRemind <= :now and r.notified = false
+            """)
+    long countPendingDue(@Param("now") LocalDateTime now);
+
+
+    /**
+     * Метод поиска времени самого старого неотправленного напоминания, время которого уже наступило
+     * @param now текущее время
+     * @return время напоминания или null, если таких напоминаний нет
+     */
+    @Transactional
+    @Query("""
+            select min(r.dateTimeOfRemind) from Remind r
+            where r.dateTimeOfRemind <= :now and r.notified = false
+            """)
+    LocalDateTime findOldestPendingDue(@Param("now") LocalDateTime now);
+
+
+    /**
+     * Метод поиска напоминаний, время которых попадает в полуинтервал {@code [from, to)}.
+     * Используется для фильтрации по дате, чтобы запрос читал только нужные секции таблицы remind
+     * @param from начало периода включительно
+     * @param to конец периода, не включая
+     * @return список напоминаний за период
+     */
+    List<Remind> findByDateTimeOfRemindGreaterThanEqualAndDateTimeOfRemindLessThan(LocalDateTime from,
+                                                                                   LocalDateTime to);
+
+
+    /**
+     * Метод отмечает срабатывание напоминания отправленным (notified = true).
+     * Обновляет только флаг и только если время напоминания не изменилось с момента выборки,
+     * поэтому не затирает правки пользователя, сделанные во время доставки, и не отмечает
+     * перенесённое на другое время напоминание
+     * @param remindId идентификатор напоминания
+     * @param occurrence время срабатывания, по которому выполнялась доставка
+     * @return 1, если напоминание отмечено, иначе 0
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update Remind r set r.notified = true
+            where r.remindId = :remindId and r.dateTimeOfRemind = :occurrence and r.notified = false
+            """)
+    int markNotified(@Param("remindId") Long remindId, @Param("occurrence") LocalDateTime occurrence);
 }
@@ -0,0 +1,40 @@
+package com.muzkat.reminder.repository;
+
+import com.muzkat.reminder.model.RevokedAccessToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+
+/**
+ * Репозиторий для работы с сущностями типа {@link RevokedAccessToken}.
+ * Данное расширение {@link JpaRepository} позволяет выполнять
+ * стандартные CRUD-операции, содержит методы выборки действующих отзывов
+ * и удаления записей о токенах с истёкшим сроком действия
+ */
+@Repository
+public interface RevokedAccessTokenRepository extends JpaRepository<RevokedAccessToken, String> {
+
+    /**
+     * Метод возвращает идентификаторы отозванных токенов, срок действия которых ещё не истёк
+     * @param now текущие дата и время
+     * @return список идентификаторов (jti) отозванных токенов
+     */
+    @Query("select r.jti from RevokedAccessToken r where r.expiresAt > :now")
+    List<String> findActiveJtis(@Param("now") LocalDateTime now);
+
+
+    /**
+     * Метод удаляет записи об отозванных токенах, срок действия которых истёк
+     * @param now текущие дата и время
+     * @return количество удалённых записей
+     */
+    @Modifying
+    @Query("delete from RevokedAccessToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
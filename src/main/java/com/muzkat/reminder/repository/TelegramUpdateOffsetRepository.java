@@ -0,0 +1,15 @@
+package com.muzkat.reminder.repository;
+
+import com.muzkat.reminder.model.TelegramUpdateOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+
+/**
+ * Репозиторий для работы с сущностями типа {@link TelegramUpdateOffset}.
+ * Данное расширение {@link JpaRepository} позволяет выполнять
+ * стандартные CRUD-операции над сохранённым смещением getUpdates
+ */
+@Repository
+public interface TelegramUpdateOffsetRepository extends JpaRepository<TelegramUpdateOffset, String> {
+}
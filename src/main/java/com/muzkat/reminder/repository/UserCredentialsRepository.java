@@ -2,6 +2,8 @@ package com.muzkat.reminder.repository;
 
 import com.muzkat.reminder.model.UserCredentials;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -22,4 +24,14 @@ public interface UserCredentialsRepository  extends JpaRepository <UserCredentia
      * иначе возвращает пустой {@link Optional}
      */
     Optional<UserCredentials> findByUserId(Long userId);
-}
\ No newline at end of file
+
+
+    /**
+     * Метод поиска учетных данных вместе с пользователем по адресу электронной почты одним запросом (join fetch)
+     * @param email адрес электронной почты пользователя
+     * @return {@link Optional}, содержащий {@link UserCredentials} с загруженным пользователем,
+     * иначе возвращает пустой {@link Optional}
+     */
+    @Query("select c from UserCredentials c join fetch c.user u where u.email = :email")
+    Optional<UserCredentials> findByUserEmail(@Param("email") String email);
+}
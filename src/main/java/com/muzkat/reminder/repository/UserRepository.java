@@ -4,6 +4,8 @@ import com.muzkat.reminder.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -34,4 +36,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByEmail(String email);
 
+
+    /**
+     * Метод ищет пользователей по списку адресов электронной почты одним запросом
+     * @param emails адреса электронной почты пользователей
+     * @return список найденных пользователей
+     */
+    List<User> findByEmailIn(Collection<String> emails);
+
 }
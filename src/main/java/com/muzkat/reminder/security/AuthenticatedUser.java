@@ -0,0 +1,45 @@
+package com.muzkat.reminder.security;
+
+import lombok.Value;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Облегчённый principal аутентифицированного пользователя.
+ * <p>
+ *     Создаётся {@link JwtAuthenticationFilter} из проверенного JWT-токена: идентификатор пользователя
+ *     берётся из claim {@value JwtTokenProvider#USER_ID_CLAIM}, email — из subject токена,
+ *     идентификатор токена — из claim jti (используется для отзыва токена).
+ *     Благодаря этому защищённые методы получают идентификатор пользователя без обращения к базе данных.
+ * </p>
+ * {@link #getName()} возвращает email, поэтому {@code authentication.getName()} работает как и раньше
+ */
+@Value
+public class AuthenticatedUser implements AuthenticatedPrincipal {
+
+    /**
+     * Поле идентификатор пользователя.
+     * Может быть null для токенов, выпущенных до появления claim с идентификатором
+     */
+    Long id;
+
+    /**
+     * Поле адрес электронной почты пользователя (subject токена)
+     */
+    String email;
+
+    /**
+     * Поле идентификатор access-токена (claim jti).
+     * Может быть null для токенов, выпущенных до появления jti
+     */
+    String tokenId;
+
+
+    /**
+     * Метод возвращает имя principal — адрес электронной почты пользователя
+     * @return email пользователя
+     */
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -1,10 +1,17 @@
 package com.muzkat.reminder.security;
 
+import com.muzkat.reminder.config.AdminProperties;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -13,11 +20,10 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Класс-фильтр аутентификации JsonWebToken (JWT), который перехватывает входящие HTTP-запросы,
@@ -29,9 +35,31 @@ import java.util.List;
  * </p>
  */
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
+@Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /**
+     * Результат проверки: токен принят
+     */
+    private static final String AUTHENTICATED = "authenticated";
+
+    /**
+     * Результат проверки: токен отозван
+     */
+    private static final String REVOKED = "revoked";
+
+    /**
+     * Результат проверки: токен не прошёл проверку
+     */
+    private static final String INVALID = "invalid";
+
+    /**
+     * Результат проверки: токена в запросе нет
+     */
+    private static final String ANONYMOUS = "anonymous";
+
     /**
      * Поле компонент для обработки и валидации JWT-токенов.
      * Используется для извлечения информации о пользователе из токена
@@ -39,14 +67,59 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      */
     private final JwtTokenProvider provider;
 
+    /**
+     * Поле неблокирующий журнал аудита токенов
+     */
+    private final TokenAuditLog tokenAuditLog;
+
+    /**
+     * Поле сервис проверки отозванных токенов
+     */
+    private final TokenRevocationService tokenRevocationService;
+
+    /**
+     * Поле настройки администраторов
+     */
+    private final AdminProperties adminProperties;
+
+    /**
+     * Поле реестр метрик
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Поле таймеры проверки токена по результату
+     */
+    private final Map<String, Timer> timers = new HashMap<>();
+
+
+    /**
+     * Метод регистрирует таймер {@code reminder.security.jwt.filter} с тегом {@code outcome}:
+     * authenticated (токен принят), revoked (токен отозван), invalid (токен не прошёл проверку),
+     * anonymous (токена нет). Таймер измеряет только работу фильтра, без остальной цепочки
+     */
+    @PostConstruct
+    public void initMetrics() {
+        for (String outcome : List.of(AUTHENTICATED, REVOKED, INVALID, ANONYMOUS)) {
+            timers.put(outcome, Timer.builder("reminder.security.jwt.filter")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
 
     /**
      * Метод обрабатывает каждый входящий HTTP-запрос, извлекая JWT из заголовка Authorization,
      * проверяет его действительность и устанавливает аутентификацию в контексте безопасности Spring.
      * <p>
-     *     Если токен действителен, извлекается адрес электронной почты пользователя, создаётся объект
-     *     {@link UsernamePasswordAuthenticationToken}, который устанавливается в {@link SecurityContextHolder}.
-     *     Затем запрос передаётся дальше по цепочке фильтров
+     *     Токен проверяется одним вызовом {@link JwtTokenProvider#authenticate(String)},
+     *     затем проверяется, не отозван ли он ({@link TokenRevocationService}); отозванный токен не аутентифицирует запрос.
+     *     Если токен действителен, из него извлекаются email и идентификатор пользователя ({@link AuthenticatedUser}),
+     *     создаётся объект {@link UsernamePasswordAuthenticationToken} с ролью USER (и ADMIN для email
+     *     из {@link AdminProperties}), который устанавливается в {@link SecurityContextHolder}.
+     *     Недействительный или просроченный токен не аутентифицирует запрос и учитывается в метрике
+     *     с {@code outcome=invalid}. Затем запрос передаётся дальше по цепочке фильтров
      * </p>
      * @param request текущий HTTP-запрос
      * @param response текущий HTTP-ответ
@@ -57,18 +130,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
         String token = getTokenFromRequest(request);
 
-        writeTokenToFile(token);
+        tokenAuditLog.record(token, request);
 
-        if (token != null && provider.validateToken(token)) {
-            String email = provider.getEmailFromToken(token);
-
-            List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        AuthenticatedUser user = null;
+        String outcome;
+        if (token != null) {
+            try {
+                user = provider.authenticate(token);
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("Недействительный JWT-токен: {}", e.getMessage());
+            }
+        }
+        if (token == null) {
+            outcome = ANONYMOUS;
+        } else if (user == null) {
+            outcome = INVALID;
+        } else if (tokenRevocationService.isRevoked(user.getTokenId())) {
+            outcome = REVOKED;
+        } else {
+            outcome = AUTHENTICATED;
+            List<GrantedAuthority> authorities = adminProperties.isAdmin(user.getEmail())
+                    ? List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"))
+                    : List.of(new SimpleGrantedAuthority("ROLE_USER"));
             UsernamePasswordAuthenticationToken auth =
-                    new UsernamePasswordAuthenticationToken(email, null, authorities);
+                    new UsernamePasswordAuthenticationToken(user, null, authorities);
             SecurityContextHolder.getContext().setAuthentication(auth);
         }
+        timers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
         filterChain.doFilter(request, response);
     }
@@ -87,25 +178,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
-
-
-    /**
-     * Метод записывает предоставленный JWT-токен в текстовый файл для целей аудита или отладки.
-     * <p>
-     *     Токен добавляется в конец файла, указанного в переменной <b>logFilePath</b>.
-     *     Если токен равен null, метод завершает выполнение без записи.
-     * </p>
-     * @param token JWT-токен, который записывается в файл.
-     *              В случае, если null, запись не производится
-     * @throws IOException если возникает ошибка при создании или записи в файл
-     */
-    private void writeTokenToFile(String token) throws IOException {
-        if (token == null) return;
-        Path logFilePath = Paths.get("logs/token.log");
-        Files.createDirectories(logFilePath.getParent());
-
-        String logEntry = "Token: " + token + System.lineSeparator();
-        Files.writeString(logFilePath, logEntry, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
-    }
 }
-
@@ -0,0 +1,85 @@
+package com.muzkat.reminder.security;
+
+import com.muzkat.reminder.config.AdminProperties;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * Реактивный фильтр JWT-аутентификации для режима WebFlux.
+ * <p>
+ *     Повторяет проверку {@link JwtAuthenticationFilter}: токен из заголовка Authorization проверяется
+ *     {@link JwtTokenProvider#authenticate(String)}, затем проверяется, не отозван ли он ({@link TokenRevocationService}).
+ *     Проверка отзыва может обратиться к базе данных через JDBC, поэтому выполняется в пуле
+ *     {@link Schedulers#boundedElastic()}, а не в потоке обработки событий.
+ *     Недействительный или отозванный токен не аутентифицирует запрос. Администраторы
+ *     ({@link AdminProperties}) получают роль {@code ROLE_ADMIN}, как и в сервлетном режиме
+ * </p>
+ * Регистрируется в цепочке безопасности {@code com.muzkat.reminder.config.ReactiveSecurityConfig}
+ */
+@RequiredArgsConstructor
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    /**
+     * Поле провайдер проверки JWT
+     */
+    private final JwtTokenProvider provider;
+
+    /**
+     * Поле сервис отзыва access-токенов
+     */
+    private final TokenRevocationService tokenRevocationService;
+
+    /**
+     * Поле настройки администраторов
+     */
+    private final AdminProperties adminProperties;
+
+
+    /**
+     * Метод аутентифицирует запрос по JWT и передаёт его дальше по цепочке фильтров
+     * @param exchange текущий обмен запрос-ответ
+     * @param chain цепочка фильтров
+     * @return сигнал завершения обработки
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String bearer = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (bearer == null || !bearer.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+
+        AuthenticatedUser user;
+        try {
+            user = provider.authenticate(bearer.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            return chain.filter(exchange);
+        }
+
+        return Mono.fromCallable(() -> tokenRevocationService.isRevoked(user.getTokenId()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(revoked -> {
+                    if (revoked) {
+                        return chain.filter(exchange);
+                    }
+                    List<GrantedAuthority> authorities = adminProperties.isAdmin(user.getEmail())
+                            ? List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"))
+                            : List.of(new SimpleGrantedAuthority("ROLE_USER"));
+                    UsernamePasswordAuthenticationToken auth =
+                            new UsernamePasswordAuthenticationToken(user, null, authorities);
+                    return chain.filter(exchange)
+                            .contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth));
+                });
+    }
+}
@@ -1,6 +1,16 @@
 package com.muzkat.reminder.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.muzkat.reminder.diagnostics.JwtValidationEvent;
+import com.muzkat.reminder.utils.TokenDigestUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MissingClaimException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -8,17 +18,34 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
 
 /**
  * Класс-провайдер для создания и валидации JWT-токена.
- * Используется для генерации токена на основе email пользователя и их последующей валидации
+ * Используется для генерации токена на основе email и идентификатора пользователя и их последующей валидации
+ * <p>
+ *     Ключ подписи и неизменяемый {@link JwtParser} создаются один раз при инициализации.
+ *     Недавно проверенные токены хранятся в ограниченном кэше (ключ — SHA-256 отпечаток токена)
+ *     до истечения срока действия токена, поэтому повторные запросы с тем же токеном не разбирают его заново.
+ *     Размер кэша задаётся параметром {@code jwt.cache.maximum-size}, значение 0 отключает кэш:
+ *     отпечаток токена в этом случае не вычисляется, и каждый вызов проверяет подпись.
+ *     Токены без срока действия (claim exp) отклоняются
+ * </p>
  */
 @Component
 @RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    /**
+     * Имя claim, в котором хранится идентификатор пользователя
+     */
+    public static final String USER_ID_CLAIM = "uid";
+
     /**
      * Поле секретный ключ для подписи JWT-токена
      */
@@ -31,63 +58,148 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private long validityInMillis;
 
+    /**
+     * Поле максимальное количество проверенных токенов в кэше
+     */
+    @Value("${jwt.cache.maximum-size:10000}")
+    private long verifiedCacheSize;
+
+    /**
+     * Поле ключ подписи HMAC-SHA, вычисляется один раз при инициализации
+     */
+    private SecretKey signingKey;
+
+    /**
+     * Поле неизменяемый потокобезопасный парсер JWT-токенов
+     */
+    private JwtParser parser;
+
+    /**
+     * Поле кэш проверенных токенов: отпечаток токена -> данные пользователя и срок действия
+     * (null, если кэш отключён)
+     */
+    private Cache<String, VerifiedToken> verifiedTokens;
+
 
     /**
-     * Метод инициализирует секретный ключ с помощью Base64
+     * Метод инициализирует секретный ключ с помощью Base64,
+     * создаёт ключ подписи, парсер и кэш проверенных токенов (если размер кэша больше 0)
      */
     @PostConstruct
     protected void init() {
         secretKey = Base64.getEncoder().encodeToString(secretKey.getBytes());
+        signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        if (verifiedCacheSize <= 0) {
+            return;
+        }
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken verified, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), verified.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken verified, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken verified, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
 
     /**
-     * Метод генерирует JWT-токен для указанного email пользователя
+     * Метод генерирует JWT-токен для указанного пользователя.
+     * Идентификатор пользователя записывается в claim {@value #USER_ID_CLAIM},
+     * уникальный идентификатор токена — в claim jti
      * @param email почта пользователя (используется как логин)
+     * @param userId идентификатор пользователя
      * @return сгенерированный JWT-токен
      */
-    public String generateToken(String email) {
+    public String generateToken(String email, Long userId) {
         Date now = new Date();
         Date validity = new Date(now.getTime() + validityInMillis);
 
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(email)
+                .claim(USER_ID_CLAIM, userId)
                 .setIssuedAt(now)
                 .setExpiration(validity)
-                .signWith(Keys.hmacShaKeyFor(secretKey.getBytes()), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
 
     /**
-     * Метод извлекает email пользователя из JWT-токена.
+     * Метод проверяет JWT-токен и извлекает из него данные пользователя: email из subject
+     * и идентификатор из claim {@value #USER_ID_CLAIM}.
+     * <p>
+     *     Токен разбирается и проверяется один раз; результат сохраняется в кэше проверенных токенов
+     *     до истечения срока действия токена. Каждая проверка записывается событием JFR {@link JwtValidationEvent}
+     * </p>
      * @param token JWT-токен
-     * @return email пользователя
+     * @return {@link AuthenticatedUser} с email и идентификатором пользователя
+     * @throws JwtException если токен некорректен, просрочен, не содержит срока действия или подпись не совпадает
      */
-    public String getEmailFromToken(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(secretKey.getBytes()))
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+    public AuthenticatedUser authenticate(String token) {
+        JwtValidationEvent event = new JwtValidationEvent();
+        event.begin();
+        try {
+            String fingerprint = null;
+            if (verifiedTokens != null) {
+                fingerprint = TokenDigestUtils.sha256(token);
+                VerifiedToken cached = verifiedTokens.getIfPresent(fingerprint);
+                if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+                    event.cached = true;
+                    event.valid = true;
+                    return cached.user();
+                }
+            }
+
+            Jws<Claims> jws = parser.parseClaimsJws(token);
+            Claims claims = jws.getBody();
+            if (claims.getExpiration() == null) {
+                throw new MissingClaimException(jws.getHeader(), claims, "JWT-токен не содержит срока действия (exp)");
+            }
+            AuthenticatedUser user = new AuthenticatedUser(
+                    claims.get(USER_ID_CLAIM, Long.class), claims.getSubject(), claims.getId());
+            if (verifiedTokens != null) {
+                verifiedTokens.put(fingerprint, new VerifiedToken(user, claims.getExpiration().toInstant()));
+            }
+            event.valid = true;
+            return user;
+        } finally {
+            event.commit();
+        }
     }
 
 
     /**
-     * Метод проверяет валидность JWT-токена
-     * @param token JWT-токен
-     * @return true, если токен действителен
+     * Метод возвращает время жизни access-токена
+     * @return время жизни токена в миллисекундах
      */
-    public boolean validateToken(String token) {
-        Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(secretKey.getBytes()))
-                .build()
-                .parseClaimsJws(token);
-        return true;
+    public long getValidityInMillis() {
+        return validityInMillis;
     }
-}
-
 
 
+    /**
+     * Проверенный токен в кэше: данные пользователя и момент истечения срока действия токена
+     * @param user данные пользователя из токена
+     * @param expiresAt момент истечения срока действия токена
+     */
+    private record VerifiedToken(AuthenticatedUser user, Instant expiresAt) {
+    }
+}
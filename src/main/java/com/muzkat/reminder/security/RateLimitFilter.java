@@ -0,0 +1,184 @@
+package com.muzkat.reminder.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.muzkat.reminder.config.RateLimitProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Класс-фильтр ограничения частоты запросов.
+ * <p>
+ *     Подключается в цепочку безопасности после {@link JwtAuthenticationFilter} и применяет token bucket
+ *     к каждому IP-адресу и, для аутентифицированных запросов, к каждому пользователю.
+ *     Лимиты задаются по группам эндпоинтов в {@link RateLimitProperties}.
+ *     Если лимит исчерпан, запрос завершается ответом 429 Too Many Requests с заголовком {@code Retry-After}.
+ * </p>
+ * <p>
+ *     Bucket-ы хранятся в конкурентном кэше Caffeine с ограничением размера и удалением после
+ *     периода бездействия; сами bucket-ы неблокирующие ({@link TokenBucket})
+ * </p>
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Slf4j
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Поле настройки ограничения частоты запросов
+     */
+    private final RateLimitProperties properties;
+
+    /**
+     * Поле сериализатор тела ответа об ошибке
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Поле сопоставление путей запросов с шаблонами групп
+     */
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * Поле bucket-ы клиентов: ключ — группа, тип и идентификатор клиента
+     */
+    private Cache<String, TokenBucket> buckets;
+
+
+    /**
+     * Метод создаёт хранилище bucket-ов с удалением после периода бездействия
+     */
+    @PostConstruct
+    public void init() {
+        buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleEviction())
+                .build();
+    }
+
+
+    /**
+     * Метод пропускает фильтр, если ограничение частоты запросов выключено
+     * @param request текущий HTTP-запрос
+     * @return true, если фильтр не применяется
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+
+    /**
+     * Метод проверяет лимиты группы эндпоинтов для IP-адреса и пользователя
+     * и либо передаёт запрос дальше по цепочке, либо отвечает 429
+     * @param request текущий HTTP-запрос
+     * @param response текущий HTTP-ответ
+     * @param filterChain цепочка фильтров для продолжения обработки запроса
+     * @throws ServletException в случае ошибок сервлета
+     * @throws IOException в случае ошибок ввода-вывода
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RateLimitProperties.Group group = findGroup(request.getRequestURI());
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        TokenBucket ipBucket = bucket(group, "ip:" + request.getRemoteAddr());
+        long waitNanos = ipBucket.tryConsume();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (waitNanos == 0 && authentication != null && authentication.isAuthenticated()) {
+            waitNanos = bucket(group, "user:" + authentication.getName()).tryConsume();
+            if (waitNanos > 0) {
+                // запрос отклонён лимитом пользователя: токен IP-адреса не расходуется,
+                // иначе один пользователь исчерпает общий лимит всех клиентов за тем же NAT
+                ipBucket.refund();
+            }
+        }
+
+        if (waitNanos > 0) {
+            log.debug("Превышен лимит запросов группы {} для {} {}", group.getName(), request.getRemoteAddr(),
+                    request.getRequestURI());
+            reject(response, waitNanos);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+
+    /**
+     * Метод находит первую группу эндпоинтов, шаблон которой соответствует пути запроса
+     * @param path путь запроса
+     * @return группа эндпоинтов или null, если ни одна группа не подходит
+     */
+    private RateLimitProperties.Group findGroup(String path) {
+        for (RateLimitProperties.Group group : properties.getGroups()) {
+            for (String pattern : group.getPatterns()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * Метод возвращает bucket клиента в указанной группе, создавая полный bucket при первом обращении
+     * @param group группа эндпоинтов
+     * @param client идентификатор клиента (IP-адрес или пользователь)
+     * @return bucket клиента
+     */
+    private TokenBucket bucket(RateLimitProperties.Group group, String client) {
+        return buckets.get(group.getName() + ':' + client,
+                key -> new TokenBucket(group.getCapacity(), group.getRefillPerSecond()));
+    }
+
+
+    /**
+     * Метод формирует ответ 429 Too Many Requests с заголовком Retry-After
+     * @param response текущий HTTP-ответ
+     * @param waitNanos время до появления токена в наносекундах
+     * @throws IOException в случае ошибок ввода-вывода
+     */
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1);
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", "Превышен лимит запросов, повторите через " + retryAfterSeconds + " с");
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getWriter(), body);
+    }
+}
@@ -0,0 +1,106 @@
+package com.muzkat.reminder.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Фильтр Блума для быстрой проверки отозванных токенов в памяти.
+ * <p>
+ *     Ответ {@code false} метода {@link #mightContain(String)} гарантирует, что значение не добавлялось,
+ *     ответ {@code true} означает «возможно добавлялось» и требует точной проверки.
+ *     Битовый массив хранится в {@link AtomicLongArray}, поэтому добавление и проверка потокобезопасны без блокировок
+ * </p>
+ */
+public class RevocationBloomFilter {
+
+    /**
+     * Поле битовый массив фильтра
+     */
+    private final AtomicLongArray bits;
+
+    /**
+     * Поле количество бит в фильтре
+     */
+    private final long bitCount;
+
+    /**
+     * Поле количество хэш-функций
+     */
+    private final int hashCount;
+
+
+    /**
+     * Конструктор фильтра с размером, рассчитанным по ожидаемому количеству значений и доле ложных срабатываний
+     * @param expectedInsertions ожидаемое количество значений
+     * @param falsePositiveRate допустимая доля ложных срабатываний (например, 0.01)
+     */
+    public RevocationBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (m + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = words * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+
+    /**
+     * Метод добавляет значение в фильтр
+     * @param value добавляемое значение
+     */
+    public void put(String value) {
+        long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+
+    /**
+     * Метод проверяет, могло ли значение быть добавлено в фильтр
+     * @param value проверяемое значение
+     * @return false, если значение точно не добавлялось; true, если возможно добавлялось
+     */
+    public boolean mightContain(String value) {
+        long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Метод вычисляет 64-битный хэш строки (FNV-1a с финальным перемешиванием splitmix64)
+     * @param value строка
+     * @param seed начальное значение хэша
+     * @return 64-битный хэш
+     */
+    private static long hash(String value, long seed) {
+        long h = seed;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 30;
+        h *= 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 27;
+        h *= 0x94D049BB133111EBL;
+        h ^= h >>> 31;
+        return h;
+    }
+}
@@ -0,0 +1,199 @@
+package com.muzkat.reminder.security;
+
+import com.muzkat.reminder.utils.TokenDigestUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Неблокирующий журнал аудита JWT-токенов.
+ * <p>
+ *     Поток обработки запроса только кладёт запись в ограниченный буфер в памяти и сразу продолжает работу.
+ *     Фоновый поток {@code token-audit-writer} забирает записи пачками, вычисляет отпечаток токена
+ *     (SHA-256, см. {@link TokenDigestUtils}) и пишет его в журнал. Сам токен на диск не попадает.
+ *     Запись в файлы с ротацией выполняет logback (appender <b>TOKEN_AUDIT</b> в {@code logback-spring.xml}).
+ * </p>
+ * <p>
+ *     Если буфер заполнен, запись отбрасывается и учитывается в счётчике {@link #getDroppedCount()},
+ *     поток запроса никогда не блокируется
+ * </p>
+ */
+@Component
+@Slf4j
+public class TokenAuditLog {
+
+    /**
+     * Длина отпечатка токена, сохраняемого в журнале
+     */
+    private static final int FINGERPRINT_LENGTH = 16;
+
+    /**
+     * Максимальное количество записей, которое фоновый поток забирает из буфера за один раз
+     */
+    private static final int DRAIN_BATCH_SIZE = 256;
+
+    /**
+     * Поле признак включения журнала аудита
+     */
+    @Value("${jwt.audit.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Поле ёмкость буфера записей аудита
+     */
+    @Value("${jwt.audit.buffer-size:4096}")
+    private int bufferSize;
+
+    /**
+     * Поле ограниченный буфер записей, ожидающих записи в журнал
+     */
+    private BlockingQueue<AuditEntry> buffer;
+
+    /**
+     * Поле общее количество отброшенных записей при переполнении буфера
+     */
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /**
+     * Поле количество отброшенных записей, о которых уже сообщено в журнале
+     */
+    private long reportedDroppedCount;
+
+    /**
+     * Поле фоновый поток записи журнала
+     */
+    private Thread writer;
+
+    /**
+     * Поле признак работы фонового потока
+     */
+    private volatile boolean running;
+
+
+    /**
+     * Метод создаёт буфер и запускает фоновый поток записи журнала
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        buffer = new ArrayBlockingQueue<>(bufferSize);
+        running = true;
+        writer = Thread.ofPlatform()
+                .name("token-audit-writer")
+                .daemon(true)
+                .start(this::drainLoop);
+    }
+
+
+    /**
+     * Метод останавливает фоновый поток, предварительно дописав оставшиеся записи
+     * @throws InterruptedException если ожидание завершения потока было прервано
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+
+    /**
+     * Метод добавляет запись об использовании токена в буфер, не блокируя поток запроса.
+     * Если буфер заполнен, запись отбрасывается и учитывается в счётчике отброшенных записей
+     * @param token JWT-токен из запроса. В случае, если null, запись не производится
+     * @param request текущий HTTP-запрос
+     */
+    public void record(String token, HttpServletRequest request) {
+        if (token == null || buffer == null) {
+            return;
+        }
+        if (!buffer.offer(new AuditEntry(token, request.getMethod(), request.getRequestURI()))) {
+            droppedCount.incrementAndGet();
+        }
+    }
+
+
+    /**
+     * Метод возвращает общее количество записей, отброшенных из-за переполнения буфера
+     * @return количество отброшенных записей
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+
+    /**
+     * Цикл фонового потока: забирает записи из буфера пачками и пишет их в журнал,
+     * пока журнал работает или в буфере остаются записи
+     */
+    private void drainLoop() {
+        List<AuditEntry> batch = new ArrayList<>(DRAIN_BATCH_SIZE);
+        while (running || !buffer.isEmpty()) {
+            try {
+                AuditEntry first = buffer.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, DRAIN_BATCH_SIZE - 1);
+                for (AuditEntry entry : batch) {
+                    log.info("token={} {} {}", fingerprint(entry.token()), entry.method(), entry.uri());
+                }
+                batch.clear();
+                reportDropped();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                batch.clear();
+                log.warn("Ошибка при записи журнала аудита токенов: {}", e.getMessage());
+            }
+        }
+    }
+
+
+    /**
+     * Метод сообщает в журнал о записях, отброшенных с момента предыдущего сообщения
+     */
+    private void reportDropped() {
+        long dropped = droppedCount.get();
+        if (dropped > reportedDroppedCount) {
+            log.warn("Буфер аудита токенов переполнен, отброшено записей: {}", dropped - reportedDroppedCount);
+            reportedDroppedCount = dropped;
+        }
+    }
+
+
+    /**
+     * Метод вычисляет сокращённый отпечаток токена для журнала
+     * @param token JWT-токен
+     * @return первые {@value #FINGERPRINT_LENGTH} символов SHA-256 отпечатка токена
+     */
+    private static String fingerprint(String token) {
+        return TokenDigestUtils.sha256(token).substring(0, FINGERPRINT_LENGTH);
+    }
+
+
+    /**
+     * Запись аудита, ожидающая обработки фоновым потоком
+     * @param token JWT-токен (хранится только в памяти до вычисления отпечатка)
+     * @param method HTTP-метод запроса
+     * @param uri URI запроса
+     */
+    private record AuditEntry(String token, String method, String uri) {
+    }
+}
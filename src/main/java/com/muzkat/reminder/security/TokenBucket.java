@@ -0,0 +1,84 @@
+package com.muzkat.reminder.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Неблокирующий token bucket для ограничения частоты запросов одного клиента.
+ * <p>
+ *     Состояние (количество токенов и момент последнего пополнения) хранится в неизменяемом объекте
+ *     и обновляется через compare-and-set, поэтому параллельные запросы не блокируют друг друга
+ * </p>
+ */
+public class TokenBucket {
+
+    /**
+     * Поле ёмкость bucket-а
+     */
+    private final double capacity;
+
+    /**
+     * Поле скорость пополнения в токенах за наносекунду
+     */
+    private final double refillPerNano;
+
+    /**
+     * Поле текущее состояние bucket-а
+     */
+    private final AtomicReference<State> state;
+
+
+    /**
+     * Конструктор полного bucket-а
+     * @param capacity ёмкость bucket-а
+     * @param refillPerSecond скорость пополнения в токенах в секунду
+     */
+    public TokenBucket(long capacity, double refillPerSecond) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.state = new AtomicReference<>(new State(capacity, System.nanoTime()));
+    }
+
+
+    /**
+     * Метод пытается взять один токен
+     * @return 0, если токен взят; иначе время в наносекундах до появления следующего токена
+     */
+    public long tryConsume() {
+        while (true) {
+            long now = System.nanoTime();
+            State current = state.get();
+            double tokens = Math.min(capacity, current.tokens() + (now - current.refilledAt()) * refillPerNano);
+            if (tokens < 1) {
+                return refillPerNano > 0 ? (long) Math.ceil((1 - tokens) / refillPerNano) : Long.MAX_VALUE;
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, now))) {
+                return 0;
+            }
+        }
+    }
+
+
+    /**
+     * Метод возвращает в bucket токен, взятый {@link #tryConsume()}, если запрос всё же был отклонён
+     * другим лимитом. Количество токенов не превышает ёмкость
+     */
+    public void refund() {
+        while (true) {
+            State current = state.get();
+            if (state.compareAndSet(current,
+                    new State(Math.min(capacity, current.tokens() + 1), current.refilledAt()))) {
+                return;
+            }
+        }
+    }
+
+
+    /**
+     * Состояние bucket-а
+     * @param tokens количество доступных токенов
+     * @param refilledAt момент последнего пополнения ({@link System#nanoTime()})
+     */
+    private record State(double tokens, long refilledAt) {
+    }
+}
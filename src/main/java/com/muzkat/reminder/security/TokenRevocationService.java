@@ -0,0 +1,133 @@
+package com.muzkat.reminder.security;
+
+import com.muzkat.reminder.model.RevokedAccessToken;
+import com.muzkat.reminder.repository.RevokedAccessTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Сервис отзыва access-токенов.
+ * <p>
+ *     Отозванные токены (по claim jti) хранятся в таблице {@code revoked_access_token}.
+ *     Для проверки на каждом запросе используется {@link RevocationBloomFilter} в памяти,
+ *     который периодически перестраивается из таблицы ({@code jwt.revocation.refresh-interval-ms}).
+ *     В обычном случае (токен не отозван) проверка не обращается к базе данных;
+ *     запрос к базе выполняется только при срабатывании фильтра Блума.
+ * </p>
+ * Токены, отозванные на другом экземпляре приложения, начинают отклоняться после очередного перестроения фильтра.
+ * Токены, отозванные на этом экземпляре во время перестроения, переносятся в новый фильтр
+ * из {@link #recentlyRevoked}, поскольку снимок таблицы мог быть прочитан до фиксации их отзыва
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    /**
+     * Допустимая доля ложных срабатываний фильтра Блума
+     */
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    /**
+     * Минимальная ёмкость фильтра Блума
+     */
+    private static final int MIN_CAPACITY = 1024;
+
+    /**
+     * Поле экземпляр {@link RevokedAccessTokenRepository}
+     */
+    private final RevokedAccessTokenRepository revokedAccessTokenRepository;
+
+    /**
+     * Поле текущий фильтр Блума отозванных токенов
+     */
+    private volatile RevocationBloomFilter bloomFilter = new RevocationBloomFilter(MIN_CAPACITY, FALSE_POSITIVE_RATE);
+
+    /**
+     * Поле признак того, что фильтр хотя бы раз загружен из базы данных.
+     * До первой загрузки проверка выполняется по базе данных
+     */
+    private volatile boolean loaded;
+
+    /**
+     * Поле идентификаторы токенов, отозванных на этом экземпляре с начала предыдущего перестроения фильтра.
+     * Изменяется вместе с заменой фильтра под монитором сервиса
+     */
+    private final Set<String> recentlyRevoked = new HashSet<>();
+
+
+    /**
+     * Метод проверяет, отозван ли access-токен
+     * @param tokenId идентификатор токена (claim jti), может быть null для токенов без jti
+     * @return true, если токен отозван
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        if (loaded && !bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        return revokedAccessTokenRepository.existsById(tokenId);
+    }
+
+
+    /**
+     * Метод отзывает access-токен до истечения срока его действия
+     * @param tokenId идентификатор токена (claim jti)
+     * @param expiresAt момент истечения срока действия токена
+     */
+    @Transactional
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null) {
+            return;
+        }
+        revokedAccessTokenRepository.save(
+                new RevokedAccessToken(tokenId, LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault())));
+        synchronized (this) {
+            recentlyRevoked.add(tokenId);
+            bloomFilter.put(tokenId);
+        }
+    }
+
+
+    /**
+     * Метод по расписанию удаляет записи о токенах с истёкшим сроком действия
+     * и перестраивает фильтр Блума из таблицы отозванных токенов.
+     * Токены, отозванные на этом экземпляре после начала предыдущего перестроения, добавляются в новый фильтр
+     * при замене, чтобы отзыв, не попавший в снимок таблицы, не терялся до следующего перестроения
+     */
+    @Scheduled(fixedRateString = "${jwt.revocation.refresh-interval-ms:60000}")
+    @Transactional
+    public void reload() {
+        Set<String> revokedBeforeSnapshot;
+        synchronized (this) {
+            revokedBeforeSnapshot = Set.copyOf(recentlyRevoked);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int expired = revokedAccessTokenRepository.deleteExpired(now);
+        List<String> active = revokedAccessTokenRepository.findActiveJtis(now);
+
+        RevocationBloomFilter rebuilt = new RevocationBloomFilter(
+                Math.max(MIN_CAPACITY, active.size() * 2L), FALSE_POSITIVE_RATE);
+        active.forEach(rebuilt::put);
+        synchronized (this) {
+            recentlyRevoked.forEach(rebuilt::put);
+            bloomFilter = rebuilt;
+            recentlyRevoked.removeAll(revokedBeforeSnapshot);
+        }
+        loaded = true;
+        log.debug("Фильтр отозванных токенов перестроен: {} действующих, {} удалено", active.size(), expired);
+    }
+}
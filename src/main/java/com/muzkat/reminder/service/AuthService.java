@@ -1,18 +1,23 @@
 package com.muzkat.reminder.service;
 
+import com.muzkat.reminder.dto.AuthResponseDTO;
 import com.muzkat.reminder.model.User;
 import com.muzkat.reminder.model.UserCredentials;
 import com.muzkat.reminder.repository.UserCredentialsRepository;
 import com.muzkat.reminder.repository.UserRepository;
+import com.muzkat.reminder.security.AuthenticatedUser;
 import com.muzkat.reminder.security.JwtTokenProvider;
+import com.muzkat.reminder.security.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+
 /**
  * Сервис для обработки аутентификации и регистрации пользователей.
- * Предоставляет методы для входа пользователя в приложение и регистрацию нового пользователя
+ * Предоставляет методы для входа пользователя в приложение, обновления JWT-токена по refresh-токену,
+ * выхода из приложения и регистрацию нового пользователя
  */
 @Service
 @RequiredArgsConstructor
@@ -29,36 +34,89 @@ public class AuthService {
     private final UserCredentialsRepository userCredentialsRepository;
 
     /**
-     * Поле компонент для шифрования и проверки пароля пользователя
+     * Поле сервис хэширования и проверки паролей в ограниченном пуле потоков {@link PasswordHashingService}
      */
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
 
     /**
      * Провайдер для JWT-токена {@link JwtTokenProvider}
      */
     private final JwtTokenProvider jwtTokenProvider;
 
+    /**
+     * Поле сервис refresh-токенов {@link RefreshTokenService}
+     */
+    private final RefreshTokenService refreshTokenService;
+
+    /**
+     * Поле сервис отзыва access-токенов {@link TokenRevocationService}
+     */
+    private final TokenRevocationService tokenRevocationService;
+
 
     /**
      * Метод для аутентификации пользователя.
-     * Возвращает JWT-токен при успешной проверке
+     * Возвращает JWT-токен и refresh-токен при успешной проверке
+     * <p>
+     *     Учетные данные загружаются вместе с пользователем одним запросом,
+     *     пароль проверяется в пуле хэширования {@link PasswordHashingService}
+     * </p>
      * @param email почта пользователя
      * @param password пароль пользователя
-     * @return JWT-токен
+     * @return DTO с JWT-токеном и refresh-токеном
      * @throws BadCredentialsException в случае, если имя пользователя или пароль некорректные
+     * @throws com.muzkat.reminder.exception.ServiceOverloadedException если пул хэширования перегружен
      */
-    public String login(String email, String password) {
-        User user = userRepository.findByEmail(email)
+    public AuthResponseDTO login(String email, String password) {
+        UserCredentials userCredentials = userCredentialsRepository.findByUserEmail(email)
                 .orElseThrow(() -> new BadCredentialsException("Почта не найдена " + email));
 
-        UserCredentials userCredentials = userCredentialsRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new BadCredentialsException("Учетные данные не найдены"));
-
-        if (!passwordEncoder.matches(password, userCredentials.getPassword())) {
+        if (!passwordHashingService.matches(password, userCredentials.getPassword())) {
             throw new BadCredentialsException("Пароль неверный");
         }
 
-        return jwtTokenProvider.generateToken(user.getEmail());
+        User user = userCredentials.getUser();
+        return issueTokens(user);
+    }
+
+
+    /**
+     * Метод обновляет JWT-токен по refresh-токену.
+     * Предъявленный refresh-токен отзывается, вместо него выдаётся новый
+     * @param refreshToken refresh-токен
+     * @return DTO с новым JWT-токеном и новым refresh-токеном
+     * @throws BadCredentialsException если refresh-токен недействителен или пользователь не найден
+     */
+    public AuthResponseDTO refresh(String refreshToken) {
+        Long userId = refreshTokenService.consume(refreshToken);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new BadCredentialsException("Пользователь не найден"));
+        return issueTokens(user);
+    }
+
+
+    /**
+     * Метод выхода из приложения: отзывает текущий JWT-токен и переданный refresh-токен
+     * @param principal текущий аутентифицированный пользователь
+     * @param refreshToken refresh-токен (может быть null)
+     */
+    public void logout(AuthenticatedUser principal, String refreshToken) {
+        tokenRevocationService.revoke(principal.getTokenId(),
+                Instant.now().plusMillis(jwtTokenProvider.getValidityInMillis()));
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
+        }
+    }
+
+
+    /**
+     * Метод выпускает JWT-токен и refresh-токен для пользователя
+     * @param user пользователь
+     * @return DTO с JWT-токеном и refresh-токеном
+     */
+    private AuthResponseDTO issueTokens(User user) {
+        String accessToken = jwtTokenProvider.generateToken(user.getEmail(), user.getId());
+        return new AuthResponseDTO(accessToken, refreshTokenService.issue(user.getId()));
     }
 
 
@@ -79,7 +137,7 @@ public class AuthService {
 
         UserCredentials credentials = new UserCredentials();
         credentials.setUser(user);
-        credentials.setPassword(passwordEncoder.encode(password));
+        credentials.setPassword(passwordHashingService.encode(password));
         userCredentialsRepository.save(credentials);
     }
 }
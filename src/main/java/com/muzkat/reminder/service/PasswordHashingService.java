@@ -0,0 +1,195 @@
+package com.muzkat.reminder.service;
+
+import com.muzkat.reminder.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Сервис хэширования и проверки паролей в выделенном ограниченном пуле потоков.
+ * <p>
+ *     BCrypt намеренно дорог по CPU, поэтому количество одновременных вычислений ограничено пулом
+ *     фиксированного размера, а количество ожидающих — ограниченной очередью. Если очередь заполнена,
+ *     сразу выбрасывается {@link ServiceOverloadedException} (ответ 503), и всплеск запросов на вход
+ *     не занимает все ядра и не копит неограниченную очередь.
+ * </p>
+ * <p>
+ *     Сервис не освобождает поток запроса: поток Tomcat ждёт результата не дольше
+ *     {@code reminder.password-hashing.timeout-ms}, после чего получает 503. Отмена по таймауту снимает
+ *     операцию из очереди, но уже начатое вычисление BCrypt не прерывается и занимает поток пула
+ *     до завершения. Таким образом, запросы на вход занимают не больше {@code pool-size + queue-capacity}
+ *     потоков Tomcat одновременно, а каждый из них — не дольше таймаута
+ * </p>
+ * Метрики (доступны через Actuator):
+ * <ul>
+ *     <li><b>auth.password.hashing</b> — время хэширования/проверки пароля, тег {@code operation}</li>
+ *     <li><b>auth.password.hashing.queue</b> — текущая глубина очереди</li>
+ *     <li><b>auth.password.hashing.rejected</b> — количество отклонённых операций</li>
+ * </ul>
+ */
+@Service
+@RequiredArgsConstructor
+public class PasswordHashingService {
+
+    /**
+     * Поле компонент для шифрования и проверки пароля пользователя
+     */
+    private final PasswordEncoder passwordEncoder;
+
+    /**
+     * Поле реестр метрик
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Поле количество потоков пула хэширования
+     */
+    @Value("${reminder.password-hashing.pool-size:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int poolSize;
+
+    /**
+     * Поле ёмкость очереди пула хэширования
+     */
+    @Value("${reminder.password-hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    /**
+     * Поле максимальное время ожидания результата в миллисекундах
+     */
+    @Value("${reminder.password-hashing.timeout-ms:5000}")
+    private long timeoutMs;
+
+    /**
+     * Поле пул потоков хэширования
+     */
+    private ThreadPoolExecutor executor;
+
+    /**
+     * Поле таймер проверки пароля
+     */
+    private Timer matchesTimer;
+
+    /**
+     * Поле таймер хэширования пароля
+     */
+    private Timer encodeTimer;
+
+    /**
+     * Поле счётчик отклонённых операций
+     */
+    private Counter rejectedCounter;
+
+
+    /**
+     * Метод создаёт пул потоков хэширования и регистрирует метрики
+     */
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        matchesTimer = Timer.builder("auth.password.hashing")
+                .tag("operation", "matches")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        encodeTimer = Timer.builder("auth.password.hashing")
+                .tag("operation", "encode")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        rejectedCounter = meterRegistry.counter("auth.password.hashing.rejected");
+        Gauge.builder("auth.password.hashing.queue", executor, pool -> pool.getQueue().size())
+                .register(meterRegistry);
+    }
+
+
+    /**
+     * Метод останавливает пул потоков хэширования
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+
+    /**
+     * Метод проверяет соответствие пароля его хэшу в пуле хэширования
+     * @param rawPassword пароль в открытом виде
+     * @param encodedPassword хэш пароля
+     * @return true, если пароль соответствует хэшу
+     * @throws ServiceOverloadedException если пул хэширования перегружен
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return execute(() -> matchesTimer.recordCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+
+    /**
+     * Метод хэширует пароль в пуле хэширования
+     * @param rawPassword пароль в открытом виде
+     * @return хэш пароля
+     * @throws ServiceOverloadedException если пул хэширования перегружен
+     */
+    public String encode(String rawPassword) {
+        return execute(() -> encodeTimer.recordCallable(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+
+    /**
+     * Метод выполняет операцию в пуле хэширования и ожидает результат не дольше таймаута
+     * @param task операция хэширования
+     * @return результат операции
+     * @param <T> тип результата
+     * @throws ServiceOverloadedException если очередь пула заполнена или истёк таймаут ожидания
+     */
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceOverloadedException("очередь проверки паролей заполнена", 1);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // снимает операцию, ещё ожидающую в очереди; начатое вычисление BCrypt прерывание не проверяет
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new ServiceOverloadedException("превышено время ожидания проверки пароля", 1);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Проверка пароля прервана", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Ошибка при проверке пароля", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.muzkat.reminder.service;
+
+import com.muzkat.reminder.dto.RemindDTO;
+import com.muzkat.reminder.mapper.RemindMapper;
+import com.muzkat.reminder.model.RemindRecord;
+import com.muzkat.reminder.repository.ReactiveRemindRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static com.muzkat.reminder.utils.RemindDtoUtils.matchesFilters;
+
+/**
+ * Реактивный сервис для управления напоминаниями.
+ * <p>
+ *     Повторяет бизнес-логику {@link RemindService} для реактивного режима (профиль {@code reactive}):
+ *     создание, обновление, удаление, поиск, фильтрация и сортировка напоминаний через R2DBC.
+ *     Списки возвращаются потоком {@link Flux} без загрузки в память целиком: строки читаются
+ *     из базы данных по мере потребления клиентом. Сортировка и фильтр по дате выполняются в базе данных.
+ *     Изменения выполняются в реактивной транзакции ({@link TransactionalOperator})
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRemindService {
+
+    /**
+     * Поле экземпляр {@link ReactiveRemindRepository}
+     */
+    private final ReactiveRemindRepository remindRepository;
+
+    /**
+     * Поле экземпляр {@link RemindMapper}
+     */
+    private final RemindMapper remindMapper;
+
+    /**
+     * Поле реактивная транзакция для изменяющих операций
+     */
+    private final TransactionalOperator transactionalOperator;
+
+
+    /**
+     * Создаёт новое напоминание для указанного пользователя
+     * @param remindDTO объект {@link RemindDTO}, содержащий данные напоминания
+     * @param userId идентификатор пользователя, для которого создаётся напоминание
+     * @return сохранённое напоминание в виде {@link RemindDTO}
+     */
+    public Mono<RemindDTO> createRemind(RemindDTO remindDTO, Long userId) {
+        RemindRecord remind = remindMapper.toRecord(remindDTO);
+        remind.setUserId(userId);
+        return remindRepository.save(remind).map(remindMapper::toDto);
+    }
+
+
+    /**
+     * Метод удаления напоминания по id напоминания
+     * @param id идентификатор напоминания
+     * @return true - если удаление прошло успешно, false - если напоминание не найдено
+     */
+    public Mono<Boolean> deleteRemind(Long id) {
+        return remindRepository.existsById(id)
+                .flatMap(exists -> exists
+                        ? remindRepository.deleteById(id).thenReturn(true)
+                        : Mono.just(false))
+                .as(transactionalOperator::transactional);
+    }
+
+
+    /**
+     * Метод поиска напоминания по идентификатору
+     * @param id идентификатор напоминания
+     * @return {@link RemindDTO} или пустой {@link Mono}, если напоминание не найдено
+     */
+    public Mono<RemindDTO> findRemindById(Long id) {
+        return remindRepository.findById(id).map(remindMapper::toDto);
+    }
+
+
+    /**
+     * Метод поиска напоминания по заголовку
+     * @param title заголовок напоминания
+     * @return {@link RemindDTO} или пустой {@link Mono}, если напоминание не найдено
+     */
+    public Mono<RemindDTO> findRemindByTitle(String title) {
+        return remindRepository.findFirstByTitle(title).map(remindMapper::toDto);
+    }
+
+
+    /**
+     * Метод поиска напоминания по полному описанию
+     * @param description полное описание напоминания
+     * @return {@link RemindDTO} или пустой {@link Mono}, если напоминание не найдено
+     */
+    public Mono<RemindDTO> findRemindByDescription(String description) {
+        return remindRepository.findFirstByDescription(description).map(remindMapper::toDto);
+    }
+
+
+    /**
+     * Метод обновления напоминания по краткому описанию
+     * @param title краткое описание напоминания
+     * @param remindDTO DTO с новыми данными
+     * @return обновлённый {@link RemindDTO} или пустой {@link Mono}, если напоминание не найдено
+     */
+    public Mono<RemindDTO> updateRemindByTitle(String title, RemindDTO remindDTO) {
+        return update(remindRepository.findFirstByTitle(title), remindDTO);
+    }
+
+
+    /**
+     * Метод обновления напоминания по идентификатору
+     * @param id идентификатор существующего напоминания
+     * @param remindDTO DTO с новыми данными
+     * @return обновлённый {@link RemindDTO} или пустой {@link Mono}, если напоминание не найдено
+     */
+    public Mono<RemindDTO> updateRemindById(Long id, RemindDTO remindDTO) {
+        return update(remindRepository.findById(id), remindDTO);
+    }
+
+
+    /**
+     * Метод для получения потока всех напоминаний
+     * @return поток всех напоминаний в форме DTO
+     */
+    public Flux<RemindDTO> getAllReminds() {
+        return remindRepository.findAll().map(remindMapper::toDto);
+    }
+
+
+    /**
+     * Метод фильтрации напоминаний по краткому описанию, дате и времени напоминания.
+     * Если задан фильтр по дате, из базы данных читаются только напоминания этой даты
+     * @param titleFilter фильтр по краткому описанию напоминания (может быть null)
+     * @param dateFilter фильтр по дате напоминания (может быть null)
+     * @param timeFilter фильтр по времени напоминания (может быть null)
+     * @return поток напоминаний, которые удовлетворяют критериям фильтра
+     */
+    public Flux<RemindDTO> filterReminds(String titleFilter, LocalDate dateFilter, LocalTime timeFilter) {
+        Flux<RemindRecord> reminds = dateFilter != null
+                ? remindRepository.findByDateTimeOfRemindGreaterThanEqualAndDateTimeOfRemindLessThan(
+                        dateFilter.atStartOfDay(), dateFilter.plusDays(1).atStartOfDay())
+                : remindRepository.findAll();
+        return reminds.map(remindMapper::toDto)
+                .filter(dto -> matchesFilters(dto, titleFilter, dateFilter, timeFilter));
+    }
+
+
+    /**
+     * Метод получает поток напоминаний, отсортированных в базе данных по указанному критерию
+     * @param sortBy Критерий сортировки. Возможные значения:
+     *               <ul>
+     *                   <li>"title" – сортировка по заголовку</li>
+     *                   <li>"date" – сортировка по дате</li>
+     *                   <li>"time" – сортировка по времени</li>
+     *               </ul>
+     * @return отсортированный поток напоминаний в формате {@link RemindDTO}
+     */
+    public Flux<RemindDTO> getSortedReminds(String sortBy) {
+        Flux<RemindRecord> reminds = switch (sortBy) {
+            case "title" -> remindRepository.findAllByOrderByTitle();
+            case "date" -> remindRepository.findAllByOrderByDateTimeOfRemind();
+            case "time" -> remindRepository.findAllOrderByTimeOfDay();
+            default -> Flux.error(new IllegalArgumentException("Некорректный параметр сортировки: " + sortBy));
+        };
+        return reminds.map(remindMapper::toDto);
+    }
+
+
+    /**
+     * Метод применяет к найденному напоминанию непустые поля DTO и сохраняет его
+     * @param existing найденное напоминание
+     * @param remindDTO DTO с новыми данными
+     * @return обновлённый {@link RemindDTO} или пустой {@link Mono}, если напоминание не найдено
+     */
+    private Mono<RemindDTO> update(Mono<RemindRecord> existing, RemindDTO remindDTO) {
+        return existing
+                .flatMap(remind -> {
+                    if (remindDTO.getTitle() != null) {
+                        remind.setTitle(remindDTO.getTitle());
+                    }
+                    if (remindDTO.getDescription() != null) {
+                        remind.setDescription(remindDTO.getDescription());
+                    }
+                    if (remindDTO.getDateOfRemind() != null && remindDTO.getTimeOfRemind() != null) {
+                        remind.setDateTimeOfRemind(remindDTO.getDateOfRemind().atTime(remindDTO.getTimeOfRemind()));
+                    }
+                    return remindRepository.save(remind);
+                })
+                .map(remindMapper::toDto)
+                .as(transactionalOperator::transactional);
+    }
+}
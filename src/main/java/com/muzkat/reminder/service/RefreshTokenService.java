@@ -0,0 +1,107 @@
+package com.muzkat.reminder.service;
+
+import com.muzkat.reminder.model.RefreshToken;
+import com.muzkat.reminder.repository.RefreshTokenRepository;
+import com.muzkat.reminder.utils.TokenDigestUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Сервис для выдачи, ротации и отзыва refresh-токенов.
+ * <p>
+ *     Refresh-токен — случайная строка, в базе данных хранится только её SHA-256 отпечаток.
+ *     Каждый токен одноразовый: при обновлении он отзывается и выдаётся новый.
+ *     Повторное предъявление уже использованного токена считается компрометацией,
+ *     и все refresh-токены пользователя отзываются
+ * </p>
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    /**
+     * Поле экземпляр {@link RefreshTokenRepository}
+     */
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    /**
+     * Поле генератор случайных значений для refresh-токенов
+     */
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /**
+     * Поле время жизни refresh-токена в миллисекундах
+     */
+    @Value("${jwt.refresh-expiration}")
+    private long refreshValidityInMillis;
+
+
+    /**
+     * Метод выдаёт новый refresh-токен пользователю
+     * @param userId идентификатор пользователя
+     * @return refresh-токен в открытом виде (возвращается клиенту один раз)
+     */
+    @Transactional
+    public String issue(Long userId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setUserId(userId);
+        refreshToken.setTokenHash(TokenDigestUtils.sha256(token));
+        refreshToken.setCreatedAt(now);
+        refreshToken.setExpiresAt(now.plus(Duration.ofMillis(refreshValidityInMillis)));
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+
+
+    /**
+     * Метод использует refresh-токен: проверяет его и отзывает, чтобы он не мог быть использован повторно
+     * @param token refresh-токен в открытом виде
+     * @return идентификатор пользователя, которому выдан токен
+     * @throws BadCredentialsException если токен не найден, просрочен или уже был использован
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public Long consume(String token) {
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(TokenDigestUtils.sha256(token))
+                .orElseThrow(() -> new BadCredentialsException("Refresh-токен не найден"));
+
+        if (refreshToken.isRevoked() || refreshTokenRepository.markUsed(refreshToken.getId()) == 0) {
+            int revoked = refreshTokenRepository.revokeAllByUserId(refreshToken.getUserId());
+            log.warn("Повторное использование refresh-токена пользователя id {}: отозвано токенов {}",
+                    refreshToken.getUserId(), revoked);
+            throw new BadCredentialsException("Refresh-токен уже использован");
+        }
+        if (refreshToken.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new BadCredentialsException("Срок действия refresh-токена истёк");
+        }
+        return refreshToken.getUserId();
+    }
+
+
+    /**
+     * Метод отзывает refresh-токен, если он существует
+     * @param token refresh-токен в открытом виде
+     */
+    @Transactional
+    public void revoke(String token) {
+        refreshTokenRepository.findByTokenHash(TokenDigestUtils.sha256(token))
+                .ifPresent(refreshToken -> {
+                    refreshToken.setRevoked(true);
+                    refreshTokenRepository.save(refreshToken);
+                });
+    }
+}
@@ -1,23 +1,40 @@
 package com.muzkat.reminder.service;
 
+import com.muzkat.reminder.config.NotificationProperties;
 import com.muzkat.reminder.dto.EmailResponseDTO;
 import com.muzkat.reminder.dto.RemindDTO;
 import com.muzkat.reminder.mapper.EmailResponseMapper;
 import com.muzkat.reminder.mapper.RemindMapper;
 import com.muzkat.reminder.model.Remind;
 import com.muzkat.reminder.model.User;
+import com.muzkat.reminder.repository.ArchivedRemindRepository;
 import com.muzkat.reminder.repository.RemindRepository;
 import com.muzkat.reminder.repository.UserRepository;
-import com.muzkat.reminder.service.notification.EmailSendService;
+import com.muzkat.reminder.exception.ServiceOverloadedException;
+import com.muzkat.reminder.service.notification.DeliveryLedger;
+import com.muzkat.reminder.service.notification.EmailNotificationChannel;
+import com.muzkat.reminder.service.notification.NotificationDispatcher;
+import com.muzkat.reminder.service.stream.RemindStreamEvent;
 import com.muzkat.reminder.utils.RemindDtoUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 import static com.muzkat.reminder.utils.RemindDtoUtils.getComparator;
@@ -32,16 +49,54 @@ import static com.muzkat.reminder.utils.RemindDtoUtils.matchesFilters;
  * </p>
  * Исключения обрабатываются на уровне контроллеров через Optional и
  * глобальный перехватчик {@link com.muzkat.reminder.exception.RemindExceptionHandler}
+ * <p>
+ *     Поиск по идентификатору и по краткому описанию кэшируется в локальном кэше Caffeine
+ *     (кэши {@value #REMIND_BY_ID_CACHE} и {@value #REMIND_BY_TITLE_CACHE}, настройки в {@code spring.cache}).
+ *     Методы, изменяющие напоминания, сбрасывают соответствующие записи кэша после фиксации транзакции:
+ *     перехватчик кэша упорядочен снаружи транзакционного ({@link com.muzkat.reminder.ReminderApplication}),
+ *     иначе параллельный поиск мог бы снова закэшировать ещё не изменённую строку.
+ *     Кэш отключается параметром {@code spring.cache.type: none}
+ * </p>
+ * <p>
+ *     Отправленные напоминания со временем переносятся в архив (таблица remind_archive).
+ *     Методы получения списков могут по запросу включать архивные напоминания
+ * </p>
+ * <p>
+ *     Методы чтения выполняются в транзакциях только для чтения и при включённых репликах
+ *     ({@code reminder.datasource.read-replicas}) обслуживаются репликой. Исключение — кэшируемые поиски
+ *     по идентификатору и краткому описанию: они читают основную базу данных, иначе после изменения
+ *     напоминания в кэш могла бы попасть устаревшая строка с отстающей реплики и храниться в нём до истечения записи
+ * </p>
+ * <p>
+ *     Об изменении и срабатывании напоминания публикуется {@link RemindStreamEvent}; после фиксации
+ *     транзакции он передаётся подключённым клиентам владельца напоминания
+ *     ({@link com.muzkat.reminder.service.stream.RemindStreamService})
+ * </p>
  */
 @Service
 @RequiredArgsConstructor
 public class RemindService {
 
+    /**
+     * Имя кэша напоминаний по идентификатору
+     */
+    public static final String REMIND_BY_ID_CACHE = "remindById";
+
+    /**
+     * Имя кэша напоминаний по краткому описанию
+     */
+    public static final String REMIND_BY_TITLE_CACHE = "remindByTitle";
+
     /**
      * Поле экземпляр {@link RemindRepository}
      */
     private final RemindRepository remindRepository;
 
+    /**
+     * Поле экземпляр {@link ArchivedRemindRepository}
+     */
+    private final ArchivedRemindRepository archivedRemindRepository;
+
     /**
      * Поле экземпляр {@link RemindMapper}
      */
@@ -53,9 +108,19 @@ public class RemindService {
     private final UserRepository userRepository;
 
     /**
-     * Поле экземпляр {@link EmailSendService}
+     * Поле экземпляр {@link NotificationDispatcher}
+     */
+    private final NotificationDispatcher notificationDispatcher;
+
+    /**
+     * Поле экземпляр {@link DeliveryLedger}
+     */
+    private final DeliveryLedger deliveryLedger;
+
+    /**
+     * Поле настройки каналов доставки
      */
-    private final EmailSendService emailSendService;
+    private final NotificationProperties notificationProperties;
 
     /**
      * Поле экземпляр {@link TelegramService}
@@ -67,6 +132,11 @@ public class RemindService {
      */
     private final EmailResponseMapper emailResponseMapper;
 
+    /**
+     * Поле публикатор событий приложения
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
 
     /**
      * Создаёт новое напоминание для указанного пользователя
@@ -76,14 +146,18 @@ public class RemindService {
      *     и возвращает сохранённое напоминание в виде {@link RemindDTO}.
      * </p>
      * @param remindDTO  объект {@link RemindDTO}, содержащий данные напоминания
-     * @param user объект {@link User}, для которого создаётся напоминание
+     * @param userId идентификатор пользователя, для которого создаётся напоминание
      * @return сохранённое напоминание в виде {@link RemindDTO}
      */
-    public RemindDTO createRemind(RemindDTO remindDTO, User user) {
+    @CacheEvict(cacheNames = REMIND_BY_TITLE_CACHE, allEntries = true)
+    @Transactional
+    public RemindDTO createRemind(RemindDTO remindDTO, Long userId) {
         Remind remind = remindMapper.toEntity(remindDTO);
-        remind.setUserId(user.getId());
+        remind.setUserId(userId);
         Remind saved = remindRepository.save(remind);
-        return remindMapper.toDto(saved);
+        RemindDTO result = remindMapper.toDto(saved);
+        eventPublisher.publishEvent(new RemindStreamEvent(userId, RemindStreamEvent.Type.CREATED, result));
+        return result;
     }
 
 
@@ -93,20 +167,31 @@ public class RemindService {
      * @return  true - если удаление прошло успешно,
      *          false - если напоминание не найдено
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = REMIND_BY_ID_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = REMIND_BY_TITLE_CACHE, allEntries = true)
+    })
+    @Transactional
     public boolean deleteRemind(Long id) {
-        if (!remindRepository.existsById(id)) {
+        Optional<Remind> remind = remindRepository.findById(id);
+        if (remind.isEmpty()) {
             return false;
         }
-        remindRepository.deleteById(id);
+        remindRepository.delete(remind.get());
+        eventPublisher.publishEvent(new RemindStreamEvent(remind.get().getUserId(), RemindStreamEvent.Type.DELETED,
+                remindMapper.toDto(remind.get())));
         return true;
     }
 
 
     /**
-     * Метод поиска напоминания по идентификатору
+     * Метод поиска напоминания по идентификатору.
+     * Результат кэшируется, поэтому читается основная база данных, а не реплика
      * @param id идентификатор напоминания
      * @return {@link Optional} с {@link RemindDTO}, если найдено
      */
+    @Cacheable(cacheNames = REMIND_BY_ID_CACHE, key = "#id", unless = "#result == null")
+    @Transactional
     public Optional<RemindDTO> findRemindById(Long id) {
         return remindRepository.findById(id).map(remindMapper::toDto);
     }
@@ -114,9 +199,12 @@ public class RemindService {
 
     /**
      * Метод поиска напоминания по заголовку.
+     * Результат кэшируется, поэтому читается основная база данных, а не реплика
      * @param title заголовок напоминания
      * @return {@link Optional} с {@link RemindDTO}, если найдено
      */
+    @Cacheable(cacheNames = REMIND_BY_TITLE_CACHE, key = "#title", unless = "#result == null")
+    @Transactional
     public Optional<RemindDTO> findRemindByTitle(String title) {
         return remindRepository.findByTitle(title)
                 .stream()
@@ -136,6 +224,11 @@ public class RemindService {
      * @param remindDTO DTO с новыми данными
      * @return {@link Optional} с обновлённым {@link RemindDTO}, если найдено
      */
+    @Caching(
+            put = @CachePut(cacheNames = REMIND_BY_ID_CACHE, key = "#result.id", unless = "#result == null"),
+            evict = @CacheEvict(cacheNames = REMIND_BY_TITLE_CACHE, allEntries = true)
+    )
+    @Transactional
     public Optional<RemindDTO> updateRemindByTitle(String title, RemindDTO remindDTO) {
         Optional<Remind> optionalRemind = remindRepository.findByTitle(title)
                 .stream()
@@ -157,8 +250,10 @@ public class RemindService {
         }
 
         Remind savedRemind = remindRepository.save(existRemind);
-
-        return Optional.of(remindMapper.toDto(savedRemind));
+        RemindDTO resultDto = remindMapper.toDto(savedRemind);
+        eventPublisher.publishEvent(new RemindStreamEvent(savedRemind.getUserId(), RemindStreamEvent.Type.UPDATED,
+                resultDto));
+        return Optional.of(resultDto);
     }
 
 
@@ -173,6 +268,11 @@ public class RemindService {
      * @param remindDTO DTO с новыми данными
      * @return {@link Optional} с обновлённым {@link RemindDTO}, если найдено
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = REMIND_BY_ID_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = REMIND_BY_TITLE_CACHE, allEntries = true)
+    })
+    @Transactional
     public Optional<RemindDTO> updateRemindById(Long id, RemindDTO remindDTO) {
         Optional<Remind> optionalRemind = remindRepository.findById(id);
 
@@ -194,6 +294,8 @@ public class RemindService {
 
         Remind updateRemind = remindRepository.save(existRemind);
         RemindDTO resultDto = remindMapper.toDto(updateRemind);
+        eventPublisher.publishEvent(new RemindStreamEvent(updateRemind.getUserId(), RemindStreamEvent.Type.UPDATED,
+                resultDto));
         return Optional.of(resultDto);
     }
 
@@ -203,6 +305,7 @@ public class RemindService {
      * @param description полное описание напоминания
      * @return {@link Optional} с {@link RemindDTO}, если найдено
      */
+    @Transactional(readOnly = true)
     public Optional<RemindDTO> findRemindByDescription(String description) {
         return remindRepository.findByDescription(description)
                 .stream()
@@ -211,28 +314,61 @@ public class RemindService {
     }
 
 
+    /**
+     * Метод поиска архивного напоминания по идентификатору
+     * @param id идентификатор напоминания
+     * @return {@link Optional} с {@link RemindDTO}, если напоминание найдено в архиве
+     */
+    @Transactional(readOnly = true)
+    public Optional<RemindDTO> findArchivedRemindById(Long id) {
+        return archivedRemindRepository.findById(id).map(remindMapper::toDto);
+    }
+
+
     /**
      * Метод для получения списка всех напоминаний в виде списка {@link RemindDTO}
+     * @param includeArchived добавить ли в список архивные напоминания
      * @return cписок всех напоминаний в форме DTO
      */
-    public List<RemindDTO> getAllReminds() {
-        return remindRepository.findAll().stream()
+    @Transactional(readOnly = true)
+    public List<RemindDTO> getAllReminds(boolean includeArchived) {
+        List<RemindDTO> reminds = remindRepository.findAll().stream()
                 .map(remindMapper::toDto)
                 .collect(Collectors.toList());
+        if (includeArchived) {
+            archivedRemindRepository.findAll().forEach(archived -> reminds.add(remindMapper.toDto(archived)));
+        }
+        return reminds;
     }
 
 
     /**
-     * Метод извлекает все напоминания из репозитория , преобразует в DTO
+     * Метод извлекает напоминания из репозитория, преобразует в DTO
      * и применяет фильтр к списку напоминаний по краткому описанию, дате и времени напоминания.
+     * Если задан фильтр по дате, из базы данных читаются только напоминания этой даты
      * @param titleFilter фильтр по краткому описанию напоминания (может быть null)
      * @param dateFilter фильтр по дате напоминания (может быть null)
      * @param timeFilter фильтр по времени напоминания (может быть null)
+     * @param includeArchived искать ли также среди архивных напоминаний
      * @return список напоминаний, которые удовлетворяют критериям фильтра
      */
-    public List<RemindDTO> filterReminds(String titleFilter, LocalDate dateFilter, LocalTime timeFilter) {
-        return remindRepository.findAll().stream()
-                .map(remindMapper::toDto)
+    @Transactional(readOnly = true)
+    public List<RemindDTO> filterReminds(String titleFilter, LocalDate dateFilter, LocalTime timeFilter,
+                                         boolean includeArchived) {
+        Stream<RemindDTO> reminds = (dateFilter != null
+                ? remindRepository.findByDateTimeOfRemindGreaterThanEqualAndDateTimeOfRemindLessThan(
+                        dateFilter.atStartOfDay(), dateFilter.plusDays(1).atStartOfDay())
+                : remindRepository.findAll()).stream()
+                .map(remindMapper::toDto);
+        if (includeArchived) {
+            Stream<RemindDTO> archived = (dateFilter != null
+                    ? archivedRemindRepository.findByDateTimeOfRemindGreaterThanEqualAndDateTimeOfRemindLessThan(
+                            dateFilter.atStartOfDay(), dateFilter.plusDays(1).atStartOfDay())
+                    : archivedRemindRepository.findAll()).stream()
+                    .map(remindMapper::toDto);
+            reminds = Stream.concat(reminds, archived);
+        }
+        return reminds
                 .filter(dto -> matchesFilters(dto, titleFilter, dateFilter, timeFilter))
                 .collect(Collectors.toList());
     }
@@ -248,11 +384,13 @@ public class RemindService {
      *                   <li>"date" – сортировка по дате</li>
      *                   <li>"time" – сортировка по времени</li>
      *               </ul>
+     * @param includeArchived добавить ли в список архивные напоминания
      * @return отсортированный список напоминаний в формате {@link RemindDTO}
      * @throws IllegalArgumentException если передан неверный параметр сортировки
      */
-    public List<RemindDTO> getSortedReminds(String sortBy) {
-        return getAllReminds().stream()
+    @Transactional(readOnly = true)
+    public List<RemindDTO> getSortedReminds(String sortBy, boolean includeArchived) {
+        return getAllReminds(includeArchived).stream()
                 .sorted(getComparator(sortBy))
                 .collect(Collectors.toList());
     }
@@ -265,27 +403,102 @@ public class RemindService {
      * <ul>
      *     <li>Извлекает напоминание из базы данных по идентификатору</li>
      *     <li>Находит пользователя, связанного с напоминанием</li>
-     *     <li>Отправляет письмо с темой и содержимым напоминания</li>
-     *     <li>Устанавливает флаг {@code notified = true} и сохраняет напоминание</li>
+     *     <li>Передаёт напоминание в канал email через {@link NotificationDispatcher}:
+     *     письмо отправляется, если доставка этого срабатывания ещё не выполнялась,
+     *     и ожидает завершения отправки не дольше {@code reminder.notification.send-timeout}</li>
+     *     <li>Если журнал доставки подтверждает отправку письма, отмечает срабатывание отправленным
+     *     так же, как планировщик ({@link #markNotified(Remind)}): обновляется только флаг {@code notified},
+     *     поэтому правки, сделанные во время ожидания, не затираются.
+     *     Если отправка завершилась ошибкой, флаг не устанавливается и ошибка передаётся клиенту</li>
      *     <li>Формирует и возвращает DTO-ответ для клиента</li>
      * </ul>
      * </p>
+     * Метод выполняется вне транзакции: ожидание отправки длится до {@code reminder.notification.send-timeout}
+     * и не должно удерживать соединение с базой данных. Напоминание читается из основной базы данных
      * @param remindId идентификатор напоминания
      * @return DTO с отправленным напоминанием и статусом доставки
      * @throws NoSuchElementException если напоминание или пользователь не найдены
+     * @throws ServiceOverloadedException если очередь канала email заполнена, его выключатель разомкнут
+     * или отправка не завершилась за {@code reminder.notification.send-timeout}
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = REMIND_BY_ID_CACHE, key = "#remindId"),
+            @CacheEvict(cacheNames = REMIND_BY_TITLE_CACHE, key = "#result.title")
+    })
     public EmailResponseDTO sendRemindById(Long remindId) {
-        Remind remind = remindRepository.findById(remindId).orElseThrow();
+        Remind remind = remindRepository.findByRemindId(remindId).orElseThrow();
         User user = userRepository.findById(remind.getUserId()).orElseThrow();
 
-        emailSendService.sendEmail(
-                user.getEmail(),
-                "Напоминание: " + remind.getTitle(),
-                remind.getDescription()
-        );
+        NotificationDispatcher.DispatchResult result =
+                notificationDispatcher.dispatch(remind, user, Set.of(EmailNotificationChannel.NAME));
+        if (!result.accepted()) {
+            throw new ServiceOverloadedException("канал email недоступен или перегружен", 30);
+        }
+        awaitDelivery(result);
+        if (!deliveryLedger.isDelivered(remind, result.channels())) {
+            return emailResponseMapper.toDto(remind, "Письмо уже отправляется");
+        }
+
+        applyNotified(remind);
+        return emailResponseMapper.toDto(remind,
+                result.duplicates().isEmpty() ? "Письмо отправлено" : "Письмо уже было отправлено");
+    }
 
+
+    /**
+     * Метод ожидает завершения отправок, поставленных в очереди каналов
+     * @param result результат передачи напоминания в каналы
+     * @throws ServiceOverloadedException если отправка не завершилась за {@code reminder.notification.send-timeout}
+     */
+    private void awaitDelivery(NotificationDispatcher.DispatchResult result) {
+        try {
+            result.completion().get(notificationProperties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceOverloadedException("превышено время ожидания отправки письма", 30);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ожидание отправки письма прервано", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Ошибка при отправке письма", e.getCause());
+        }
+    }
+
+
+    /**
+     * Метод отмечает срабатывание напоминания отправленным (notified = true), сбрасывает его записи в кэше
+     * и сообщает о срабатывании в поток событий владельца.
+     * Используется планировщиком после того, как журнал доставки подтвердил отправку во все каналы.
+     * Обновляется только флаг и только если время напоминания не изменилось, поэтому правки пользователя,
+     * сделанные во время доставки, сохраняются
+     * @param remind напоминание в состоянии на момент выборки
+     * @return true, если напоминание отмечено; false, если оно уже отмечено, удалено или перенесено
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = REMIND_BY_ID_CACHE, key = "#remind.remindId"),
+            @CacheEvict(cacheNames = REMIND_BY_TITLE_CACHE, key = "#remind.title")
+    })
+    @Transactional
+    public boolean markNotified(Remind remind) {
+        return applyNotified(remind);
+    }
+
+
+    /**
+     * Метод отмечает срабатывание напоминания отправленным и сообщает о нём в поток событий владельца.
+     * Записи кэша сбрасывает вызывающий метод
+     * @param remind напоминание в состоянии на момент выборки
+     * @return true, если напоминание отмечено; false, если оно уже отмечено, удалено или перенесено
+     */
+    private boolean applyNotified(Remind remind) {
+        if (remindRepository.markNotified(remind.getRemindId(), remind.getDateTimeOfRemind()) == 0) {
+            return false;
+        }
         remind.setNotified(true);
-        remindRepository.save(remind);
-        return emailResponseMapper.toDto(remind, "Письмо отправлено");
+        eventPublisher.publishEvent(new RemindStreamEvent(remind.getUserId(), RemindStreamEvent.Type.DUE,
+                remindMapper.toDto(remind)));
+        return true;
     }
 }
@@ -1,12 +1,15 @@
 package com.muzkat.reminder.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.muzkat.reminder.config.TelegramProperties;
+import com.muzkat.reminder.service.notification.NotificationMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -28,30 +31,48 @@ public class TelegramService {
 
 
     /**
-     * Поле HTTP-клиент для выполнения запросов к Telegram Bot API
+     * Поле метрики каналов доставки
      */
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final NotificationMetrics notificationMetrics;
+
+
+    /**
+     * Поле HTTP-клиент для выполнения запросов к Telegram Bot API. Таймауты ограничивают время,
+     * на которое недоступный Telegram может занять поток канала доставки
+     */
+    private final RestTemplate restTemplate = new RestTemplateBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .readTimeout(Duration.ofSeconds(10))
+            .build();
 
 
     /**
      * Метод отправляет текстовое сообщение в Telegram-чат.
      * Формирует и отправляет POST-запрос на endpoint Telegram Bot API /sendMessage.
-     * В случае ошибки логирует сообщение на уровне ERROR
+     * Вызов блокирующий: асинхронность и изоляцию обеспечивает вызывающий канал доставки.
+     * В случае ошибки логирует сообщение на уровне ERROR и пробрасывает исключение.
+     * Длительность и результат отправки записываются в {@link NotificationMetrics}
+     * @param chatId идентификатор чата; если не задан, используется чат из {@link TelegramProperties}
      * @param message текст сообщения
+     * @return message_id отправленного сообщения
      */
-    @Async
-    public void sendMessage(String message) {
-        String url = "https://api.telegram.org/bot" + telegramProperties.getToken() + "/sendMessage";
+    public String sendMessage(String chatId, String message) {
+        String url = telegramProperties.methodUrl("sendMessage");
         Map<String, Object> request = new HashMap<>();
-        request.put("chat_id", telegramProperties.getChatId());
+        request.put("chat_id", chatId == null || chatId.isBlank() ? telegramProperties.getChatId() : chatId);
         request.put("text", message);
         request.put("parse_mode", "Markdown");
 
+        long start = System.nanoTime();
         try {
-            restTemplate.postForObject(url, request, String.class);
+            JsonNode response = restTemplate.postForObject(url, request, JsonNode.class);
+            notificationMetrics.recordSend("telegram", start, true);
             log.info("Сообщение успешно отправлено в Telegram: {}", message);
-        } catch (Exception e) {
+            return response == null ? null : response.path("result").path("message_id").asText(null);
+        } catch (RuntimeException e) {
+            notificationMetrics.recordSend("telegram", start, false);
             log.error("Ошибка при отправке сообщения в Telegram: {}", e.getMessage());
+            throw e;
         }
     }
 }
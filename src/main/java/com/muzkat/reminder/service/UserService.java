@@ -4,6 +4,7 @@ import com.muzkat.reminder.model.User;
 import com.muzkat.reminder.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.Optional;
 
 /**
@@ -28,6 +29,7 @@ public class UserService {
      * @return сохраненный объект пользователя или Optional.empty(),
      * если email уже существует или данные некорректны
      */
+    @Transactional
     public Optional<User> createUser(User user) {
         if (userRepository.existsByEmail(user.getEmail())) {
             return Optional.empty();
@@ -45,6 +47,7 @@ public class UserService {
      * @param user объект пользователя с обновленными данными
      * @return обновленный объект пользователя или Optional.empty(), если пользователь не найден
      */
+    @Transactional
     public Optional<User> updateUser(Long id, User user) {
         if (!userRepository.existsById(id)) {
             return Optional.empty();
@@ -59,6 +62,7 @@ public class UserService {
      * @param id идентификатор пользователя, которого нужно удалить
      * @return true, если пользователь был удалён, иначе false
      */
+    @Transactional
     public boolean deleteById(Long id) {
         if (!userRepository.existsById(id)) {
             return false;
@@ -73,6 +77,7 @@ public class UserService {
      * @param id идентификатор пользователя
      * @return Optional с объектом пользователя, если найден
      */
+    @Transactional(readOnly = true)
     public Optional<User> findById(Long id) {
         return userRepository.findById(id);
     }
@@ -83,6 +88,7 @@ public class UserService {
      * @param email адрес электронной почты пользователя для проверки
      * @return true, если пользователь найден
      */
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
     }
@@ -94,6 +100,7 @@ public class UserService {
      * @param email электронная почта пользователя
      * @return Optional с объектом пользователя, если найден
      */
+    @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
@@ -0,0 +1,127 @@
+package com.muzkat.reminder.service.maintenance;
+
+import com.muzkat.reminder.config.RemindArchiveProperties;
+import com.muzkat.reminder.service.RemindService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Задача архивации отправленных напоминаний.
+ * <p>
+ *     По расписанию {@code reminder.archive.cron} переносит напоминания с {@code notified = true},
+ *     время которых старше {@code reminder.archive.min-age}, из таблицы remind в remind_archive.
+ *     Перенос выполняется пачками по {@code batch-size} строк: каждая пачка — один оператор
+ *     {@code DELETE ... RETURNING} + {@code INSERT} в отдельной транзакции, поэтому блокировки короткие.
+ *     Строки, заблокированные другими транзакциями, пропускаются ({@code SKIP LOCKED})
+ *     и переносятся при следующем запуске.
+ *     Если напоминание с тем же идентификатором уже есть в архиве, архивная строка заменяется удаляемой,
+ *     чтобы удалённое из remind напоминание всегда сохранялось в архиве.
+ * </p>
+ * После каждой пачки перенесённые напоминания удаляются из кэшей {@link RemindService}
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RemindArchiveJob {
+
+    /**
+     * Запрос переноса одной пачки отправленных напоминаний в архив
+     */
+    private static final String MOVE_BATCH_SQL = """
+            with moved as (
+                delete from remind
+                where (remind_id, remind) in (
+                    select remind_id, remind from remind
+                    where notified = true and remind < ?
+                    order by remind
+                    limit ?
+                    for update skip locked)
+                returning remind_id, title, description, remind, user_id)
+            insert into remind_archive (remind_id, title, description, remind, user_id, archived_at)
+            select remind_id, title, description, remind, user_id, now() from moved
+            on conflict (remind_id) do update
+                set title = excluded.title,
+                    description = excluded.description,
+                    remind = excluded.remind,
+                    user_id = excluded.user_id,
+                    archived_at = excluded.archived_at
+            returning remind_id
+            """;
+
+    /**
+     * Поле клиент JDBC
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Поле настройки архивации
+     */
+    private final RemindArchiveProperties properties;
+
+    /**
+     * Поле менеджер кэшей напоминаний
+     */
+    private final CacheManager cacheManager;
+
+
+    /**
+     * Метод переносит отправленные напоминания в архив пачками, пока они не закончатся
+     * или не будет достигнут предел {@code max-batches}
+     */
+    @Scheduled(cron = "${reminder.archive.cron:0 30 3 * * *}")
+    public void archiveDelivered() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(properties.getMinAge()));
+        int total = 0;
+        try {
+            for (int batch = 0; batch < properties.getMaxBatches(); batch++) {
+                List<Long> moved = jdbcTemplate.queryForList(MOVE_BATCH_SQL, Long.class,
+                        cutoff, properties.getBatchSize());
+                evictFromCache(moved);
+                total += moved.size();
+                if (moved.size() < properties.getBatchSize()) {
+                    break;
+                }
+                Thread.sleep(properties.getBatchPause().toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (DataAccessException e) {
+            log.error("Ошибка при архивации напоминаний: {}", e.getMessage());
+        }
+        if (total > 0) {
+            log.info("В архив перенесено {} отправленных напоминаний", total);
+        }
+    }
+
+
+    /**
+     * Метод удаляет перенесённые напоминания из кэшей {@link RemindService}
+     * @param remindIds идентификаторы перенесённых напоминаний
+     */
+    private void evictFromCache(List<Long> remindIds) {
+        if (remindIds.isEmpty()) {
+            return;
+        }
+        Cache byId = cacheManager.getCache(RemindService.REMIND_BY_ID_CACHE);
+        if (byId != null) {
+            remindIds.forEach(byId::evict);
+        }
+        Cache byTitle = cacheManager.getCache(RemindService.REMIND_BY_TITLE_CACHE);
+        if (byTitle != null) {
+            byTitle.clear();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.muzkat.reminder.service.maintenance;
+
+import com.muzkat.reminder.config.RemindPartitionProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Задача обслуживания месячных секций таблицы remind.
+ * <p>
+ *     Таблица remind секционирована по времени напоминания (changeSet 8): каждая секция
+ *     {@code remind_pYYYY_MM} содержит напоминания одного месяца, напоминания вне созданных секций
+ *     попадают в {@code remind_default}. Задача выполняется при старте приложения и по расписанию
+ *     {@code reminder.partitioning.cron}:
+ *     <ul>
+ *         <li>создаёт секции на {@code months-ahead} месяцев вперёд функцией {@code create_remind_partition};
+ *         напоминания этих месяцев, ранее попавшие в {@code remind_default}, переносятся в новые секции</li>
+ *         <li>если задан {@code retention-months}, отсоединяет (и при {@code retention-action: drop} удаляет)
+ *         секции, полностью старше срока хранения. Это заменяет массовое удаление строк</li>
+ *     </ul>
+ * </p>
+ * Настройки задаются в {@link RemindPartitionProperties}
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RemindPartitionMaintenance {
+
+    /**
+     * Шаблон имени месячной секции
+     */
+    private static final Pattern PARTITION_NAME = Pattern.compile("remind_p(\\d{4})_(\\d{2})");
+
+    /**
+     * Поле клиент JDBC для выполнения DDL
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Поле настройки обслуживания секций
+     */
+    private final RemindPartitionProperties properties;
+
+
+    /**
+     * Метод выполняет обслуживание секций при старте приложения,
+     * чтобы секция текущего месяца существовала до первой вставки
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+
+    /**
+     * Метод выполняет обслуживание секций по расписанию
+     */
+    @Scheduled(cron = "${reminder.partitioning.cron:0 0 3 * * *}")
+    public void maintain() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            createAhead();
+            retireExpired();
+        } catch (DataAccessException e) {
+            log.error("Ошибка при обслуживании секций таблицы remind: {}", e.getMessage());
+        }
+    }
+
+
+    /**
+     * Метод создаёт секции с текущего месяца на {@code months-ahead} месяцев вперёд.
+     * Напоминания месяца, уже попавшие в {@code remind_default}, функция переносит в новую секцию.
+     * Ошибка создания секции одного месяца не мешает созданию остальных
+     */
+    private void createAhead() {
+        YearMonth current = YearMonth.now();
+        int failed = 0;
+        for (int i = 0; i <= properties.getMonthsAhead(); i++) {
+            LocalDate month = current.plusMonths(i).atDay(1);
+            try {
+                jdbcTemplate.queryForObject("select create_remind_partition(?)", String.class, month);
+            } catch (DataAccessException e) {
+                failed++;
+                log.error("Не удалось создать секцию таблицы remind за {}: {}", YearMonth.from(month), e.getMessage());
+            }
+        }
+        if (failed == 0) {
+            log.debug("Секции таблицы remind созданы до {}", current.plusMonths(properties.getMonthsAhead()));
+        }
+    }
+
+
+    /**
+     * Метод отсоединяет или удаляет секции, все напоминания которых старше срока хранения
+     */
+    private void retireExpired() {
+        if (properties.getRetentionMonths() <= 0) {
+            return;
+        }
+        YearMonth cutoff = YearMonth.now().minusMonths(properties.getRetentionMonths());
+        List<String> partitions = jdbcTemplate.queryForList("""
+                select c.relname from pg_inherits i
+                join pg_class c on c.oid = i.inhrelid
+                where i.inhparent = 'remind'::regclass
+                """, String.class);
+
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.isBefore(cutoff)) {
+                continue;
+            }
+            jdbcTemplate.execute("alter table remind detach partition " + partition);
+            if (properties.getRetentionAction() == RemindPartitionProperties.RetentionAction.DROP) {
+                jdbcTemplate.execute("drop table " + partition);
+                log.info("Секция {} таблицы remind удалена по сроку хранения", partition);
+            } else {
+                log.info("Секция {} таблицы remind отсоединена по сроку хранения", partition);
+            }
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.muzkat.reminder.service.notification;
+
+import com.muzkat.reminder.config.NotificationProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.function.Consumer;
+
+/**
+ * Автоматический выключатель (circuit breaker) канала доставки.
+ * <p>
+ *     В состоянии {@link State#CLOSED} результаты последних {@code sliding-window-size} отправок
+ *     хранятся в кольцевом буфере. Когда в окне набирается не меньше {@code minimum-calls} отправок
+ *     и доля ошибок достигает {@code failure-rate-threshold} или доля медленных отправок
+ *     (не быстрее {@code slow-call-duration}) достигает {@code slow-call-rate-threshold},
+ *     выключатель размыкается ({@link State#OPEN}) и на время {@code open-duration} отклоняет
+ *     все отправки без обращения к внешнему сервису.
+ * </p>
+ * <p>
+ *     Затем выключатель переходит в {@link State#HALF_OPEN} и пропускает не более
+ *     {@code half-open-calls} пробных отправок. Если доля неудачных или медленных из них достигает
+ *     {@code failure-rate-threshold}, выключатель снова размыкается, иначе замыкается (окно очищается).
+ * </p>
+ * <p>
+ *     Каждое разрешение ({@link Permission}) помечается состоянием и номером периода, в котором оно выдано.
+ *     Результат учитывается только в том же периоде: отправка, начатая в CLOSED и завершившаяся
+ *     уже в HALF_OPEN, не считается пробной и не может досрочно замкнуть выключатель.
+ * </p>
+ * Методы синхронизированы: они вызываются один раз на отправку, а сама отправка
+ * на порядки дольше захвата монитора
+ */
+@Slf4j
+public class ChannelCircuitBreaker {
+
+    /**
+     * Поле имя канала
+     */
+    private final String channel;
+
+    /**
+     * Поле настройки выключателя
+     */
+    private final NotificationProperties.Breaker settings;
+
+    /**
+     * Поле обработчик смены состояния
+     */
+    private final Consumer<State> onTransition;
+
+    /**
+     * Поле признаки ошибки отправок в окне
+     */
+    private final boolean[] failedCalls;
+
+    /**
+     * Поле признаки медленных отправок в окне
+     */
+    private final boolean[] slowCalls;
+
+    /**
+     * Поле позиция следующей записи в окне
+     */
+    private int next;
+
+    /**
+     * Поле количество отправок в окне
+     */
+    private int calls;
+
+    /**
+     * Поле количество ошибок в окне
+     */
+    private int failures;
+
+    /**
+     * Поле количество медленных отправок в окне
+     */
+    private int slow;
+
+    /**
+     * Поле текущее состояние
+     */
+    private State state = State.CLOSED;
+
+    /**
+     * Поле номер текущего периода: увеличивается при каждой смене состояния
+     */
+    private long generation;
+
+    /**
+     * Поле момент размыкания ({@link System#nanoTime()})
+     */
+    private long openedAt;
+
+    /**
+     * Поле количество выданных пробных разрешений в состоянии HALF_OPEN
+     */
+    private int probesPermitted;
+
+    /**
+     * Поле количество завершённых пробных отправок
+     */
+    private int probesCompleted;
+
+    /**
+     * Поле количество неудачных или медленных пробных отправок
+     */
+    private int probesBad;
+
+
+    /**
+     * Конструктор выключателя в состоянии CLOSED
+     * @param channel имя канала
+     * @param settings настройки выключателя
+     * @param onTransition обработчик смены состояния (для метрик)
+     */
+    public ChannelCircuitBreaker(String channel, NotificationProperties.Breaker settings, Consumer<State> onTransition) {
+        this.channel = channel;
+        this.settings = settings;
+        this.onTransition = onTransition;
+        this.failedCalls = new boolean[settings.getSlidingWindowSize()];
+        this.slowCalls = new boolean[settings.getSlidingWindowSize()];
+    }
+
+
+    /**
+     * Метод запрашивает разрешение на отправку
+     * @return разрешение, если отправку можно выполнить; null, если выключатель разомкнут
+     */
+    public synchronized Permission tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < settings.getOpenDuration().toNanos()) {
+                return null;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesPermitted >= settings.getHalfOpenCalls()) {
+                return null;
+            }
+            probesPermitted++;
+        }
+        return new Permission(state, generation);
+    }
+
+
+    /**
+     * Метод возвращает неиспользованное разрешение (отправка не была выполнена)
+     * @param permission разрешение, выданное {@link #tryAcquirePermission()}
+     */
+    public synchronized void releasePermission(Permission permission) {
+        if (permission.generation() == generation && state == State.HALF_OPEN && probesPermitted > probesCompleted) {
+            probesPermitted--;
+        }
+    }
+
+
+    /**
+     * Метод записывает результат отправки. Результат отправки, разрешённой в другом периоде
+     * (до последней смены состояния), на состояние не влияет
+     * @param permission разрешение, по которому выполнялась отправка
+     * @param durationNanos длительность отправки в наносекундах
+     * @param success true, если отправка успешна
+     */
+    public synchronized void onResult(Permission permission, long durationNanos, boolean success) {
+        if (permission.generation() != generation) {
+            log.debug("Канал {}: результат отправки, разрешённой в состоянии {}, не учитывается в состоянии {}",
+                    channel, permission.grantedIn(), state);
+            return;
+        }
+        boolean isSlow = durationNanos >= settings.getSlowCallDuration().toNanos();
+        switch (state) {
+            case HALF_OPEN -> {
+                probesCompleted++;
+                if (!success || isSlow) {
+                    probesBad++;
+                }
+                if (probesCompleted >= settings.getHalfOpenCalls()) {
+                    int badRate = probesBad * 100 / probesCompleted;
+                    transition(badRate >= settings.getFailureRateThreshold() ? State.OPEN : State.CLOSED);
+                }
+            }
+            case CLOSED -> {
+                record(!success, isSlow);
+                if (calls >= settings.getMinimumCalls()
+                        && (failures * 100 / calls >= settings.getFailureRateThreshold()
+                        || slow * 100 / calls >= settings.getSlowCallRateThreshold())) {
+                    transition(State.OPEN);
+                }
+            }
+            case OPEN -> {
+                // разрешения в состоянии OPEN не выдаются
+            }
+        }
+    }
+
+
+    /**
+     * Метод возвращает текущее состояние
+     * @return состояние выключателя
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+
+    /**
+     * Метод записывает результат в кольцевой буфер окна
+     * @param failed признак ошибки
+     * @param isSlow признак медленной отправки
+     */
+    private void record(boolean failed, boolean isSlow) {
+        if (calls == failedCalls.length) {
+            failures -= failedCalls[next] ? 1 : 0;
+            slow -= slowCalls[next] ? 1 : 0;
+        } else {
+            calls++;
+        }
+        failedCalls[next] = failed;
+        slowCalls[next] = isSlow;
+        failures += failed ? 1 : 0;
+        slow += isSlow ? 1 : 0;
+        next = (next + 1) % failedCalls.length;
+    }
+
+
+    /**
+     * Метод переводит выключатель в новое состояние и сбрасывает счётчики
+     * @param target новое состояние
+     */
+    private void transition(State target) {
+        State previous = state;
+        state = target;
+        generation++;
+        probesPermitted = 0;
+        probesCompleted = 0;
+        probesBad = 0;
+        if (target == State.CLOSED) {
+            next = 0;
+            calls = 0;
+            failures = 0;
+            slow = 0;
+        }
+        if (target == State.OPEN) {
+            openedAt = System.nanoTime();
+            log.warn("Канал {}: выключатель разомкнут ({} -> OPEN), отправки приостановлены на {}",
+                    channel, previous, settings.getOpenDuration());
+        } else {
+            log.warn("Канал {}: выключатель {} -> {}", channel, previous, target);
+        }
+        onTransition.accept(target);
+    }
+
+
+    /**
+     * Разрешение на отправку
+     * @param grantedIn состояние, в котором выдано разрешение
+     * @param generation номер периода, в котором выдано разрешение
+     */
+    public record Permission(State grantedIn, long generation) {
+    }
+
+
+    /**
+     * Состояние выключателя
+     */
+    public enum State {
+
+        /**
+         * Отправки выполняются, результаты учитываются в окне
+         */
+        CLOSED,
+
+        /**
+         * Отправки отклоняются без обращения к внешнему сервису
+         */
+        OPEN,
+
+        /**
+         * Выполняется ограниченное количество пробных отправок
+         */
+        HALF_OPEN
+    }
+}
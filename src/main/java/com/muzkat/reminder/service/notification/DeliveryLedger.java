@@ -0,0 +1,143 @@
+package com.muzkat.reminder.service.notification;
+
+import com.muzkat.reminder.config.NotificationProperties;
+import com.muzkat.reminder.model.Delivery;
+import com.muzkat.reminder.model.Remind;
+import com.muzkat.reminder.repository.DeliveryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Журнал доставки уведомлений (таблица delivery).
+ * <p>
+ *     Перед каждой отправкой срабатывание напоминания захватывается в канал ({@link #claim(Remind, String)}):
+ *     одна индексированная вставка по ключу (идентификатор напоминания, время срабатывания, канал).
+ *     Отправляет сообщение только тот вызов, которому захват удался, поэтому повторы, пересекающиеся
+ *     проходы планировщика и несколько экземпляров приложения не приводят к повторным письмам
+ *     и сообщениям в Telegram без какой-либо координации между ними.
+ *     Результат отправки и идентификатор сообщения у провайдера записываются через {@link #track}
+ * </p>
+ * Повторно захватываются доставки FAILED, а также доставки, оставшиеся в состоянии PENDING дольше
+ * {@code reminder.notification.claim-timeout}: результат такой отправки неизвестен (приложение остановилось
+ * или аварийно завершилось во время отправки), и без повторного захвата напоминание навсегда подавлялось бы
+ * как повторное. Отправки, так и не начатые до остановки приложения, снимаются с захвата
+ * {@link NotificationDispatcher} сразу.
+ * Напоминание считается доставленным ({@link #isDelivered(Remind, Set)}), когда доставка во все его каналы
+ * записана в состоянии SENT
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeliveryLedger {
+
+    /**
+     * Максимальная длина сохраняемого текста ошибки
+     */
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    /**
+     * Поле экземпляр {@link DeliveryRepository}
+     */
+    private final DeliveryRepository deliveryRepository;
+
+    /**
+     * Поле метрики каналов доставки
+     */
+    private final NotificationMetrics notificationMetrics;
+
+    /**
+     * Поле настройки каналов доставки
+     */
+    private final NotificationProperties notificationProperties;
+
+
+    /**
+     * Метод захватывает доставку текущего срабатывания напоминания в канал
+     * @param remind напоминание
+     * @param channel канал доставки
+     * @return true, если сообщение нужно отправить; false, если оно уже отправлено или отправляется
+     */
+    public boolean claim(Remind remind, String channel) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean claimed = deliveryRepository.claim(remind.getRemindId(), remind.getDateTimeOfRemind(),
+                channel, now, now.minus(notificationProperties.getClaimTimeout())) == 1;
+        if (!claimed) {
+            notificationMetrics.recordDuplicate(channel);
+            log.info("Напоминание id {}: повторная отправка в канал {} подавлена", remind.getRemindId(), channel);
+        }
+        return claimed;
+    }
+
+
+    /**
+     * Метод снимает захват доставки, если сообщение так и не было передано в канал
+     * (например, очередь канала заполнена): запись переводится в FAILED и может быть захвачена повторно
+     * @param remind напоминание
+     * @param channel канал доставки
+     * @param reason причина
+     */
+    public void release(Remind remind, String channel, String reason) {
+        deliveryRepository.complete(remind.getRemindId(), remind.getDateTimeOfRemind(), channel,
+                Delivery.Status.FAILED, null, reason, LocalDateTime.now());
+    }
+
+
+    /**
+     * Метод записывает результат асинхронной отправки в журнал по её завершении
+     * @param remind напоминание
+     * @param channel канал доставки
+     * @param send результат отправки: идентификатор сообщения у провайдера
+     * @return тот же результат отправки
+     */
+    public CompletableFuture<String> track(Remind remind, String channel, CompletableFuture<String> send) {
+        Long remindId = remind.getRemindId();
+        LocalDateTime occurrence = remind.getDateTimeOfRemind();
+        return send.whenComplete((providerMessageId, error) -> {
+            try {
+                if (error == null) {
+                    deliveryRepository.complete(remindId, occurrence, channel, Delivery.Status.SENT,
+                            providerMessageId, null, LocalDateTime.now());
+                } else {
+                    deliveryRepository.complete(remindId, occurrence, channel, Delivery.Status.FAILED,
+                            null, errorText(error), LocalDateTime.now());
+                }
+            } catch (RuntimeException e) {
+                log.error("Напоминание id {}: не удалось записать результат доставки в канал {}: {}",
+                        remindId, channel, e.getMessage());
+            }
+        });
+    }
+
+
+    /**
+     * Метод проверяет, доставлено ли текущее срабатывание напоминания во все указанные каналы
+     * @param remind напоминание
+     * @param channels каналы доставки
+     * @return true, если доставка в каждый канал записана в состоянии SENT
+     */
+    public boolean isDelivered(Remind remind, Set<String> channels) {
+        if (channels.isEmpty()) {
+            return true;
+        }
+        return deliveryRepository.countByRemindIdAndOccurrenceAndChannelInAndStatus(remind.getRemindId(),
+                remind.getDateTimeOfRemind(), channels, Delivery.Status.SENT) == channels.size();
+    }
+
+
+    /**
+     * Метод формирует текст ошибки для журнала
+     * @param error ошибка отправки
+     * @return текст ошибки не длиннее {@value #MAX_ERROR_LENGTH} символов
+     */
+    private static String errorText(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        String text = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        return text.length() > MAX_ERROR_LENGTH ? text.substring(0, MAX_ERROR_LENGTH) : text;
+    }
+}
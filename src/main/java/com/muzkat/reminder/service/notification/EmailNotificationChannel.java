@@ -0,0 +1,43 @@
+package com.muzkat.reminder.service.notification;
+
+import com.muzkat.reminder.model.Remind;
+import com.muzkat.reminder.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Канал доставки напоминаний по электронной почте через {@link EmailSendService}
+ */
+@Component
+@RequiredArgsConstructor
+public class EmailNotificationChannel implements NotificationChannel {
+
+    /**
+     * Имя канала
+     */
+    public static final String NAME = "email";
+
+    /**
+     * Поле экземпляр {@link EmailSendService}
+     */
+    private final EmailSendService emailSendService;
+
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+
+    /**
+     * Метод отправляет письмо с темой «Напоминание: краткое описание» и полным описанием напоминания
+     * на адрес пользователя
+     * @param remind напоминание
+     * @param user владелец напоминания
+     * @return Message-ID письма
+     */
+    @Override
+    public String send(Remind remind, User user) {
+        return emailSendService.sendEmail(user.getEmail(), "Напоминание: " + remind.getTitle(), remind.getDescription());
+    }
+}
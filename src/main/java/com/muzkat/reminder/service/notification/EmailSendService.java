@@ -1,11 +1,15 @@
 package com.muzkat.reminder.service.notification;
 
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
 import lombok.AllArgsConstructor;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.MailPreparationException;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * Сервис для отправки напоминаний по электронной почте
  * <p>
@@ -22,24 +26,59 @@ public class EmailSendService {
      */
     private final JavaMailSender javaMailSender;
 
+    /**
+     * Поле метрики каналов доставки
+     */
+    private final NotificationMetrics notificationMetrics;
+
 
     /**
      * Метод отправляет текстовое письмо по указанному адресу
      * <p>
      *     Метод использует {@link JavaMailSender} для отправки письма
      *     пользователю, содержит тему и текст сообщения.
-     *     Поддерживает отправку только текстовых (не HTML) сообщений
+     *     Поддерживает отправку только текстовых (не HTML) сообщений.
+     *     Вызов блокирующий: асинхронность и изоляцию обеспечивает канал {@link EmailNotificationChannel}.
+     *     Длительность и результат отправки записываются в {@link NotificationMetrics}
      * </p>
      * @param mailTo адрес получателя письма
      * @param messageSubject тема письма
      * @param textOfRemind текст письма (содержимое напоминания)
+     * @return Message-ID отправленного письма
+     */
+    public String sendEmail(String mailTo, String messageSubject, String textOfRemind){
+        MimeMessage message = javaMailSender.createMimeMessage();
+        try {
+            MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+            helper.setTo(mailTo);
+            helper.setSubject(messageSubject);
+            helper.setText(textOfRemind == null ? "" : textOfRemind);
+        } catch (MessagingException e) {
+            throw new MailPreparationException(e);
+        }
+
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            javaMailSender.send(message);
+            success = true;
+        } finally {
+            notificationMetrics.recordSend("email", start, success);
+        }
+        return messageId(message);
+    }
+
+
+    /**
+     * Метод возвращает Message-ID письма, присвоенный при отправке
+     * @param message отправленное письмо
+     * @return Message-ID или null, если он недоступен
      */
-    @Async
-    public void sendEmail(String mailTo, String messageSubject, String textOfRemind){
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(mailTo);
-        message.setSubject(messageSubject);
-        message.setText(textOfRemind);
-        javaMailSender.send(message);
+    private static String messageId(MimeMessage message) {
+        try {
+            return message.getMessageID();
+        } catch (MessagingException e) {
+            return null;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.muzkat.reminder.service.notification;
+
+import com.muzkat.reminder.model.Remind;
+import com.muzkat.reminder.model.User;
+
+/**
+ * Канал доставки уведомлений о напоминаниях.
+ * <p>
+ *     Реализации регистрируются как бины и подхватываются {@link NotificationDispatcher} автоматически:
+ *     чтобы добавить канал, достаточно объявить новый компонент. Каждый канал выполняется в собственном
+ *     ограниченном пуле потоков, поэтому метод {@link #send(Remind, User)} может блокироваться
+ *     на время обращения к внешнему сервису
+ * </p>
+ */
+public interface NotificationChannel {
+
+    /**
+     * Метод возвращает имя канала: используется в настройках, предпочтениях пользователя,
+     * журнале доставки и тегах метрик
+     * @return имя канала
+     */
+    String name();
+
+
+    /**
+     * Метод отправляет уведомление о напоминании пользователю
+     * @param remind напоминание
+     * @param user владелец напоминания
+     * @return идентификатор сообщения у провайдера (может быть null)
+     * @throws RuntimeException если отправка не удалась
+     */
+    String send(Remind remind, User user);
+}
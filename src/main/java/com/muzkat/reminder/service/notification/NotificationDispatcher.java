@@ -0,0 +1,447 @@
+package com.muzkat.reminder.service.notification;
+
+import com.muzkat.reminder.config.NotificationProperties;
+import com.muzkat.reminder.diagnostics.RemindDispatchEvent;
+import com.muzkat.reminder.model.Remind;
+import com.muzkat.reminder.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Рассылка уведомлений о напоминании по каналам доставки {@link NotificationChannel}.
+ * <p>
+ *     Каналы, через которые уведомляется пользователь, определяются его предпочтениями
+ *     ({@link User#getNotificationChannels()}) или, если они не заданы, настройкой
+ *     {@code reminder.notification.default-channels}. Каждый канал выполняется в собственном пуле потоков
+ *     фиксированного размера с ограниченной очередью (bulkhead, {@code reminder.notification.bulkheads}),
+ *     поэтому каналы одного напоминания отправляются параллельно, а медленный SMTP-сервер
+ *     не задерживает Telegram и не занимает потоки других каналов.
+ * </p>
+ * <p>
+ *     Перед передачей в канал доставка захватывается в журнале {@link DeliveryLedger}. Если очередь
+ *     канала заполнена, захват снимается, а напоминание не считается отправленным
+ *     ({@link DispatchResult#accepted()}) и будет передано повторно следующим проходом.
+ *     Завершение всех поставленных в очередь отправок отслеживается через {@link DispatchResult#completion()}:
+ *     напоминание отмечается отправленным только после того, как журнал доставки подтвердит отправку
+ *     во все каналы, поэтому отправка, завершившаяся ошибкой, повторяется следующим проходом.
+ * </p>
+ * <p>
+ *     Каждый канал защищён автоматическим выключателем {@link ChannelCircuitBreaker}
+ *     ({@code reminder.notification.circuit-breakers}): пока внешний сервис недоступен или отвечает
+ *     слишком медленно, отправки в канал не выполняются и не занимают потоки, а напоминание так же
+ *     остаётся неотправленным и не считается ошибкой. Отправки, завершившиеся ошибкой или таймаутом
+ *     (именно они размыкают выключатель), тоже не теряются: журнал доставки записывает их как FAILED,
+ *     напоминание не отмечается отправленным и возвращается в очередь следующего прохода
+ * </p>
+ * Метрики:
+ * <ul>
+ *     <li>{@code reminder.notification.queue} — глубина очереди канала, тег {@code channel}</li>
+ *     <li>{@code reminder.notification.rejected} — отправки, отклонённые из-за заполненной очереди канала</li>
+ *     <li>{@code reminder.notification.circuit.state} — состояние выключателя канала: 1 для текущего
+ *     состояния (тег {@code state}: closed, open, half_open), 0 для остальных</li>
+ *     <li>{@code reminder.notification.circuit.transitions} — переходы выключателя в состояние {@code state}</li>
+ *     <li>{@code reminder.notification.circuit.rejected} — отправки, отклонённые разомкнутым выключателем</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class NotificationDispatcher {
+
+    /**
+     * Поле каналы доставки по имени
+     */
+    private final Map<String, NotificationChannel> channels;
+
+    /**
+     * Поле экземпляр {@link DeliveryLedger}
+     */
+    private final DeliveryLedger deliveryLedger;
+
+    /**
+     * Поле настройки каналов доставки
+     */
+    private final NotificationProperties notificationProperties;
+
+    /**
+     * Поле реестр метрик
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Поле пулы потоков каналов по имени канала
+     */
+    private final Map<String, ThreadPoolExecutor> executors = new HashMap<>();
+
+    /**
+     * Поле счётчики отклонённых отправок по имени канала
+     */
+    private final Map<String, Counter> rejectedCounters = new HashMap<>();
+
+    /**
+     * Поле автоматические выключатели по имени канала
+     */
+    private final Map<String, ChannelCircuitBreaker> breakers = new HashMap<>();
+
+    /**
+     * Поле счётчики отправок, отклонённых выключателем, по имени канала
+     */
+    private final Map<String, Counter> shortCircuitedCounters = new HashMap<>();
+
+
+    /**
+     * Конструктор рассылки
+     * @param channels все зарегистрированные каналы доставки
+     * @param deliveryLedger журнал доставки
+     * @param notificationProperties настройки каналов доставки
+     * @param meterRegistry реестр метрик
+     */
+    public NotificationDispatcher(List<NotificationChannel> channels, DeliveryLedger deliveryLedger,
+                                  NotificationProperties notificationProperties, MeterRegistry meterRegistry) {
+        this.channels = channels.stream()
+                .collect(Collectors.toMap(NotificationChannel::name, channel -> channel,
+                        (first, second) -> {
+                            throw new IllegalStateException("Канал доставки " + first.name() + " объявлен дважды");
+                        },
+                        LinkedHashMap::new));
+        this.deliveryLedger = deliveryLedger;
+        this.notificationProperties = notificationProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+
+    /**
+     * Метод создаёт пул потоков, автоматический выключатель и метрики каждого канала
+     */
+    @PostConstruct
+    public void init() {
+        for (String name : channels.keySet()) {
+            NotificationProperties.Bulkhead bulkhead = notificationProperties.bulkhead(name);
+            AtomicInteger threadNumber = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(bulkhead.getPoolSize(), bulkhead.getPoolSize(),
+                    0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(bulkhead.getQueueCapacity()),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "notify-" + name + "-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+            executors.put(name, executor);
+            Gauge.builder("reminder.notification.queue", executor, pool -> pool.getQueue().size())
+                    .tag("channel", name)
+                    .register(meterRegistry);
+            rejectedCounters.put(name, Counter.builder("reminder.notification.rejected")
+                    .tag("channel", name)
+                    .register(meterRegistry));
+
+            ChannelCircuitBreaker breaker = new ChannelCircuitBreaker(name, notificationProperties.breaker(name),
+                    state -> Counter.builder("reminder.notification.circuit.transitions")
+                            .tag("channel", name)
+                            .tag("state", state.name().toLowerCase(Locale.ROOT))
+                            .register(meterRegistry)
+                            .increment());
+            breakers.put(name, breaker);
+            for (ChannelCircuitBreaker.State state : ChannelCircuitBreaker.State.values()) {
+                Gauge.builder("reminder.notification.circuit.state", breaker, b -> b.getState() == state ? 1 : 0)
+                        .tag("channel", name)
+                        .tag("state", state.name().toLowerCase(Locale.ROOT))
+                        .register(meterRegistry);
+            }
+            shortCircuitedCounters.put(name, Counter.builder("reminder.notification.circuit.rejected")
+                    .tag("channel", name)
+                    .register(meterRegistry));
+        }
+        log.info("Каналы доставки уведомлений: {}", channels.keySet());
+    }
+
+
+    /**
+     * Метод останавливает пулы потоков каналов, давая 10 секунд на завершение поставленных в очередь отправок.
+     * Отправки, которые за это время так и не начались, снимаются с захвата в журнале доставки (FAILED),
+     * чтобы их повторно передал следующий проход планировщика после перезапуска. Отправки, выполняющиеся
+     * в момент остановки, остаются в состоянии PENDING и повторно захватываются по истечении
+     * {@code reminder.notification.claim-timeout}
+     * @throws InterruptedException если ожидание остановки прервано
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executors.values().forEach(ThreadPoolExecutor::shutdown);
+        for (ThreadPoolExecutor executor : executors.values()) {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        executors.forEach((name, executor) -> {
+            List<Runnable> queued = new ArrayList<>();
+            executor.getQueue().drainTo(queued);
+            queued.forEach(task -> ((QueuedSend) task).cancel("приложение остановлено до начала отправки"));
+            if (!queued.isEmpty()) {
+                log.warn("Канал {}: {} отправок не начаты до остановки, захват снят", name, queued.size());
+            }
+        });
+    }
+
+
+    /**
+     * Метод определяет каналы, через которые уведомляется пользователь.
+     * Пустая строка предпочтений означает отказ от всех уведомлений; неизвестные каналы пропускаются
+     * @param user пользователь
+     * @return имена каналов
+     */
+    public Set<String> channelsFor(User user) {
+        Set<String> requested = user.getNotificationChannels() == null
+                ? notificationProperties.getDefaultChannels()
+                : Arrays.stream(user.getNotificationChannels().split(","))
+                        .map(channel -> channel.trim().toLowerCase(Locale.ROOT))
+                        .filter(channel -> !channel.isEmpty())
+                        .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<String> selected = new LinkedHashSet<>(requested);
+        selected.retainAll(channels.keySet());
+        return selected;
+    }
+
+
+    /**
+     * Метод передаёт напоминание во все каналы пользователя
+     * @param remind напоминание
+     * @param user владелец напоминания
+     * @return результат передачи по каналам
+     */
+    public DispatchResult dispatch(Remind remind, User user) {
+        return dispatch(remind, user, channelsFor(user));
+    }
+
+
+    /**
+     * Метод передаёт напоминание в указанные каналы. Каналы выполняются параллельно,
+     * метод возвращается сразу после постановки отправок в очереди каналов;
+     * их завершение (вместе с записью результата в журнал доставки) отслеживается через
+     * {@link DispatchResult#completion()}
+     * @param remind напоминание
+     * @param user владелец напоминания
+     * @param channelNames имена каналов
+     * @return результат передачи по каналам
+     */
+    public DispatchResult dispatch(Remind remind, User user, Set<String> channelNames) {
+        Set<String> submitted = new LinkedHashSet<>();
+        Set<String> duplicates = new LinkedHashSet<>();
+        Set<String> rejected = new LinkedHashSet<>();
+        Set<String> shortCircuited = new LinkedHashSet<>();
+        List<CompletableFuture<String>> sends = new ArrayList<>();
+        for (String name : channelNames) {
+            NotificationChannel channel = channels.get(name);
+            if (channel == null) {
+                log.warn("Напоминание id {}: неизвестный канал доставки {}", remind.getRemindId(), name);
+                continue;
+            }
+            ChannelCircuitBreaker breaker = breakers.get(name);
+            ChannelCircuitBreaker.Permission permission = breaker.tryAcquirePermission();
+            if (permission == null) {
+                shortCircuitedCounters.get(name).increment();
+                shortCircuited.add(name);
+                continue;
+            }
+            // Разрешение передаётся отправке только после постановки в очередь; во всех остальных случаях,
+            // включая ошибку базы данных при захвате, оно возвращается, иначе пробное разрешение HALF_OPEN
+            // было бы потеряно и канал остался бы отключён до перезапуска
+            boolean queued = false;
+            try {
+                if (!deliveryLedger.claim(remind, name)) {
+                    duplicates.add(name);
+                    continue;
+                }
+                QueuedSend task = new QueuedSend(channel, breaker, permission, remind, user);
+                try {
+                    executors.get(name).execute(task);
+                    queued = true;
+                } catch (RejectedExecutionException e) {
+                    rejectedCounters.get(name).increment();
+                    deliveryLedger.release(remind, name, "очередь канала заполнена");
+                    rejected.add(name);
+                    log.warn("Напоминание id {}: очередь канала {} заполнена", remind.getRemindId(), name);
+                    continue;
+                }
+                sends.add(deliveryLedger.track(remind, name, task.result));
+                submitted.add(name);
+            } finally {
+                if (!queued) {
+                    breaker.releasePermission(permission);
+                }
+            }
+        }
+        return new DispatchResult(submitted, duplicates, rejected, shortCircuited,
+                CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)));
+    }
+
+
+    /**
+     * Метод отправляет напоминание в канал, передаёт длительность и результат отправки
+     * автоматическому выключателю и записывает событие JFR {@link RemindDispatchEvent}
+     * @param channel канал доставки
+     * @param breaker автоматический выключатель канала
+     * @param permission разрешение выключателя на отправку
+     * @param remind напоминание
+     * @param user владелец напоминания
+     * @return идентификатор сообщения у провайдера
+     */
+    private static String send(NotificationChannel channel, ChannelCircuitBreaker breaker,
+                               ChannelCircuitBreaker.Permission permission, Remind remind, User user) {
+        RemindDispatchEvent event = new RemindDispatchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            String providerMessageId = channel.send(remind, user);
+            event.success = true;
+            return providerMessageId;
+        } finally {
+            breaker.onResult(permission, System.nanoTime() - start, event.success);
+            event.end();
+            if (event.shouldCommit()) {
+                event.remindId = remind.getRemindId();
+                event.channel = channel.name();
+                event.lag = Duration.between(remind.getDateTimeOfRemind(), LocalDateTime.now()).toMillis();
+                event.commit();
+            }
+        }
+    }
+
+
+    /**
+     * Отправка, поставленная в очередь канала. Хранит разрешение выключателя и результат отправки,
+     * чтобы при остановке приложения отправку, так и не начавшуюся, можно было отменить
+     */
+    private static final class QueuedSend implements Runnable {
+
+        /**
+         * Поле канал доставки
+         */
+        private final NotificationChannel channel;
+
+        /**
+         * Поле автоматический выключатель канала
+         */
+        private final ChannelCircuitBreaker breaker;
+
+        /**
+         * Поле разрешение выключателя на отправку
+         */
+        private final ChannelCircuitBreaker.Permission permission;
+
+        /**
+         * Поле напоминание
+         */
+        private final Remind remind;
+
+        /**
+         * Поле владелец напоминания
+         */
+        private final User user;
+
+        /**
+         * Поле результат отправки: идентификатор сообщения у провайдера
+         */
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+
+        /**
+         * Конструктор отправки
+         * @param channel канал доставки
+         * @param breaker автоматический выключатель канала
+         * @param permission разрешение выключателя на отправку
+         * @param remind напоминание
+         * @param user владелец напоминания
+         */
+        QueuedSend(NotificationChannel channel, ChannelCircuitBreaker breaker,
+                   ChannelCircuitBreaker.Permission permission, Remind remind, User user) {
+            this.channel = channel;
+            this.breaker = breaker;
+            this.permission = permission;
+            this.remind = remind;
+            this.user = user;
+        }
+
+        @Override
+        public void run() {
+            try {
+                result.complete(send(channel, breaker, permission, remind, user));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Метод отменяет отправку, которая так и не началась: возвращает разрешение выключателю
+         * и завершает результат ошибкой, которую журнал доставки записывает как FAILED
+         * @param reason причина
+         */
+        void cancel(String reason) {
+            breaker.releasePermission(permission);
+            result.completeExceptionally(new CancellationException(reason));
+        }
+    }
+
+
+    /**
+     * Результат передачи напоминания в каналы
+     * @param submitted каналы, в которые отправка поставлена в очередь
+     * @param duplicates каналы, доставка в которые уже выполнена или выполняется
+     * @param rejected каналы, очередь которых заполнена
+     * @param shortCircuited каналы, выключатель которых разомкнут
+     * @param completion завершается после всех поставленных в очередь отправок и записи их результатов
+     *                   в журнал доставки; завершается с ошибкой, если хотя бы одна отправка не удалась
+     */
+    public record DispatchResult(Set<String> submitted, Set<String> duplicates, Set<String> rejected,
+                                 Set<String> shortCircuited, CompletableFuture<Void> completion) {
+
+        /**
+         * Метод возвращает все известные каналы, в которые передавалось напоминание
+         * @return имена каналов
+         */
+        public Set<String> channels() {
+            Set<String> channels = new LinkedHashSet<>(submitted);
+            channels.addAll(duplicates);
+            channels.addAll(deferred());
+            return channels;
+        }
+
+        /**
+         * Метод проверяет, принято ли напоминание всеми каналами
+         * @return true, если ни один канал не отклонил отправку
+         */
+        public boolean accepted() {
+            return rejected.isEmpty() && shortCircuited.isEmpty();
+        }
+
+        /**
+         * Метод возвращает каналы, отправка в которые отложена до следующего прохода
+         * @return имена каналов
+         */
+        public Set<String> deferred() {
+            Set<String> deferred = new LinkedHashSet<>(rejected);
+            deferred.addAll(shortCircuited);
+            return deferred;
+        }
+    }
+}
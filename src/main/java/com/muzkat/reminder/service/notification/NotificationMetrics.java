@@ -0,0 +1,66 @@
+package com.muzkat.reminder.service.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Метрики каналов доставки уведомлений.
+ * <p>
+ *     Время каждой отправки записывается в таймер {@code reminder.notification.send}
+ *     с тегами {@code channel} (email, telegram) и {@code outcome} (success, failure);
+ *     количество ошибок канала — это счётчик таймера с {@code outcome=failure}.
+ *     Таймеры публикуют гистограмму, поэтому перцентили считаются на стороне Prometheus.
+ *     Отправки, подавленные журналом доставки {@link DeliveryLedger}, считаются счётчиком
+ *     {@code reminder.notification.duplicate} с тегом {@code channel}
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationMetrics {
+
+    /**
+     * Поле реестр метрик
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Поле таймеры отправки по каналу и результату
+     */
+    private final Map<String, Timer> sendTimers = new ConcurrentHashMap<>();
+
+
+    /**
+     * Метод записывает длительность отправки уведомления
+     * @param channel канал доставки
+     * @param startNanos момент начала отправки ({@link System#nanoTime()})
+     * @param success true, если отправка успешна
+     */
+    public void recordSend(String channel, long startNanos, boolean success) {
+        String outcome = success ? "success" : "failure";
+        sendTimers.computeIfAbsent(channel + ':' + outcome, key -> Timer.builder("reminder.notification.send")
+                        .tag("channel", channel)
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+
+    /**
+     * Метод учитывает отправку, подавленную как повторная
+     * @param channel канал доставки
+     */
+    public void recordDuplicate(String channel) {
+        Counter.builder("reminder.notification.duplicate")
+                .tag("channel", channel)
+                .register(meterRegistry)
+                .increment();
+    }
+}
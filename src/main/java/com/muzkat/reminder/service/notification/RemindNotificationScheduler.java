@@ -1,24 +1,59 @@
 package com.muzkat.reminder.service.notification;
 
+import com.muzkat.reminder.diagnostics.SchedulerTickEvent;
+import com.muzkat.reminder.dto.SchedulerPassDTO;
+import com.muzkat.reminder.exception.ServiceOverloadedException;
 import com.muzkat.reminder.model.Remind;
+import com.muzkat.reminder.model.User;
 import com.muzkat.reminder.repository.RemindRepository;
+import com.muzkat.reminder.repository.UserRepository;
 import com.muzkat.reminder.service.RemindService;
-import com.muzkat.reminder.service.TelegramService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Планировщик задач для автоматической отправки напоминаний по электронной почте
  * <p>
- *     Периодически проверяет базу данных на наличие просроченных и неотправленных напоминаний
- *     и инициирует их отправку через {@link RemindService}
+ *     Проверяет базу данных на наличие просроченных и неотправленных напоминаний
+ *     и передаёт их в каналы доставки через {@link NotificationDispatcher}. Регулярные проходы запускает
+ *     {@link RemindSchedulerControl}; ограниченный ручной проход выполняет {@link #drain(int)}
+ * </p>
+ * <p>
+ *     В пределах JVM одновременно выполняется не более одного прохода: иначе проход, начавшийся,
+ *     пока предыдущий ещё не завершён, выбрал бы те же неотправленные напоминания и отправил их повторно.
+ *     Регулярный проход, пришедшийся на выполняющийся, обрабатывается по политике
+ *     {@code reminder.scheduler.overlap-policy} ({@link OverlapPolicy}); ручной проход в этом случае
+ *     отклоняется с {@link ServiceOverloadedException}. Между экземплярами приложения и при повторах
+ *     повторную отправку исключает журнал доставки {@link DeliveryLedger}
+ * </p>
+ * <p>
+ *     Напоминание отмечается отправленным (notified = true) не при постановке отправок в очереди каналов,
+ *     а после их завершения, когда журнал доставки подтверждает отправку во все каналы пользователя.
+ *     Если отправка в какой-либо канал завершилась ошибкой (в том числе из-за недоступности SMTP-сервера
+ *     или Telegram, размыкающей выключатель канала), напоминание остаётся в очереди: следующий проход
+ *     повторно захватывает неудавшуюся доставку, а уже выполненные доставки подавляются как повторные.
+ *     Пока отправки выполняются, следующий проход видит их как повторные и ничего не отправляет
  * </p>
  */
 @Component
@@ -37,36 +72,350 @@ public class RemindNotificationScheduler {
     private final RemindService remindService;
 
     /**
-     * Поле экземпляр {@link TelegramService}
+     * Поле экземпляр {@link UserRepository}
+     */
+    private final UserRepository userRepository;
+
+    /**
+     * Поле экземпляр {@link NotificationDispatcher}
+     */
+    private final NotificationDispatcher notificationDispatcher;
+
+    /**
+     * Поле экземпляр {@link DeliveryLedger}
+     */
+    private final DeliveryLedger deliveryLedger;
+
+    /**
+     * Поле реестр метрик
+     */
+    private final MeterRegistry meterRegistry;
+
+
+    /**
+     * Поле политика обработки регулярного прохода, пришедшегося на выполняющийся проход
+     */
+    @Value("${reminder.scheduler.overlap-policy:coalesce}")
+    private OverlapPolicy overlapPolicy;
+
+    /**
+     * Поле блокировка, допускающая только один выполняющийся проход
      */
-    private final TelegramService telegramService;
+    private final ReentrantLock passLock = new ReentrantLock();
 
+    /**
+     * Поле признак запрошенного повторного прохода (политика {@link OverlapPolicy#COALESCE})
+     */
+    private final AtomicBoolean rerunRequested = new AtomicBoolean();
 
     /**
-     * Метод запускается по расписанию, проверяет напоминания,
-     * дата которых уже наступила и которые ещё не были отправлены (notified = false).
-     * Отправляет напоминания и логирует результат
+     * Поле количество напоминаний, выбранных выполняющимися проходами и ещё не обработанных
+     */
+    private final AtomicInteger backlog = new AtomicInteger();
+
+    /**
+     * Поле количество выполняющихся проходов
+     */
+    private final AtomicInteger runningPasses = new AtomicInteger();
+
+    /**
+     * Поле результат последнего завершённого прохода
+     */
+    private final AtomicReference<SchedulerPassDTO> lastPass = new AtomicReference<>();
+
+    /**
+     * Поле таймер прохода планировщика
+     */
+    private Timer tickTimer;
+
+    /**
+     * Поле таймер задержки отправки относительно времени напоминания
+     */
+    private Timer lagTimer;
+
+    /**
+     * Поле счётчик регулярных проходов, пришедшихся на выполняющийся проход
+     */
+    private Counter overlapCounter;
+
+    /**
+     * Поле счётчик напоминаний, доставленных во все каналы
+     */
+    private Counter deliveredCounter;
+
+    /**
+     * Поле счётчик напоминаний, оставленных в очереди из-за ошибки отправки
+     */
+    private Counter requeuedCounter;
+
+    /**
+     * Метод регистрирует метрики планировщика:
+     * <ul>
+     *     <li>{@code reminder.scheduler.tick} — длительность одного прохода</li>
+     *     <li>{@code reminder.scheduler.backlog} — количество найденных и ещё не обработанных в проходе напоминаний</li>
+     *     <li>{@code reminder.notification.lag} — задержка доставки во все каналы относительно времени
+     *     напоминания; записывается по завершении отправок</li>
+     *     <li>{@code reminder.scheduler.delivered} — напоминания, доставленные во все каналы и отмеченные
+     *     отправленными</li>
+     *     <li>{@code reminder.scheduler.requeued} — напоминания, оставленные в очереди до следующего прохода
+     *     из-за ошибки отправки</li>
+     *     <li>{@code reminder.scheduler.overlap} — регулярные проходы, пропущенные или объединённые
+     *     из-за выполняющегося прохода</li>
+     * </ul>
+     */
+    @PostConstruct
+    public void initMetrics() {
+        tickTimer = Timer.builder("reminder.scheduler.tick")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        lagTimer = Timer.builder("reminder.notification.lag")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofDays(30))
+                .register(meterRegistry);
+        Gauge.builder("reminder.scheduler.backlog", backlog, AtomicInteger::get)
+                .register(meterRegistry);
+        overlapCounter = Counter.builder("reminder.scheduler.overlap")
+                .tag("policy", overlapPolicy.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+        deliveredCounter = meterRegistry.counter("reminder.scheduler.delivered");
+        requeuedCounter = meterRegistry.counter("reminder.scheduler.requeued");
+    }
+
+
+    /**
+     * Метод выполняет регулярный проход: проверяет напоминания,
+     * дата которых уже наступила
+     * и которые ещё не были отправлены (notified = false).
+     * Отправляет напоминания, логирует результат и обновляет метрики планировщика.
+     * <p>
+     *     Если в этот момент выполняется другой проход, текущий вызов сразу возвращается:
+     *     при политике {@link OverlapPolicy#SKIP} проход пропускается, при {@link OverlapPolicy#COALESCE}
+     *     выполняющийся проход по завершении выполняет ещё один, объединяющий все пришедшиеся на него вызовы
+     * </p>
      */
-    @Async
-    @Scheduled(fixedRateString = "${reminder.scheduler.interval-ms}")
     public void checkDateTimeAndSendRemind(){
+        if (overlapPolicy == OverlapPolicy.SKIP) {
+            if (!passLock.tryLock()) {
+                overlapCounter.increment();
+                log.info("Проход планировщика пропущен: выполняется предыдущий проход");
+                return;
+            }
+            try {
+                runPass(null, false);
+            } finally {
+                passLock.unlock();
+            }
+            return;
+        }
+
+        // Флаг выставляется до попытки захвата: владелец блокировки проверяет его уже после
+        // её освобождения, поэтому запрос не теряется, даже если проход завершается прямо сейчас
+        rerunRequested.set(true);
+        if (passLock.isLocked()) {
+            overlapCounter.increment();
+        }
+        while (rerunRequested.get() && passLock.tryLock()) {
+            try {
+                if (rerunRequested.compareAndSet(true, false)) {
+                    runPass(null, false);
+                }
+            } finally {
+                passLock.unlock();
+            }
+        }
+    }
+
+
+    /**
+     * Метод выполняет ручной проход, ограниченный {@code limit} самыми старыми напоминаниями
+     * @param limit максимальное количество напоминаний
+     * @return результат прохода
+     * @throws ServiceOverloadedException если в этот момент выполняется другой проход
+     */
+    public SchedulerPassDTO drain(int limit) {
+        if (!passLock.tryLock()) {
+            throw new ServiceOverloadedException("выполняется проход планировщика напоминаний", 5);
+        }
+        try {
+            return runPass(limit, true);
+        } finally {
+            passLock.unlock();
+        }
+    }
+
+
+    /**
+     * Метод возвращает результат последнего завершённого прохода
+     * @return результат прохода или null, если проходов ещё не было
+     */
+    public SchedulerPassDTO getLastPass() {
+        return lastPass.get();
+    }
+
+
+    /**
+     * Метод возвращает количество выполняющихся проходов (0 или 1)
+     * @return количество проходов
+     */
+    public int getRunningPasses() {
+        return runningPasses.get();
+    }
+
+
+    /**
+     * Метод возвращает количество напоминаний, выбранных выполняющимися проходами и ещё не обработанных
+     * @return количество напоминаний
+     */
+    public int getInFlight() {
+        return backlog.get();
+    }
+
+
+    /**
+     * Метод подсчитывает неотправленные напоминания, время которых наступило
+     * @return количество напоминаний
+     */
+    public long countDue() {
+        return remindRepository.countPendingDue(LocalDateTime.now());
+    }
+
+
+    /**
+     * Метод находит время самого старого неотправленного напоминания, время которого наступило
+     * @return время напоминания или null, если таких напоминаний нет
+     */
+    public LocalDateTime findOldestDue() {
+        return remindRepository.findOldestPendingDue(LocalDateTime.now());
+    }
+
+
+    /**
+     * Метод выполняет один проход планировщика под таймером {@code reminder.scheduler.tick}
+     * @param limit максимальное количество напоминаний (null — все найденные)
+     * @param manual признак ручного запуска
+     * @return результат прохода
+     */
+    private SchedulerPassDTO runPass(Integer limit, boolean manual) {
+        runningPasses.incrementAndGet();
+        try {
+            SchedulerPassDTO pass = tickTimer.record(() -> sendDueReminds(limit, manual));
+            lastPass.set(pass);
+            return pass;
+        } finally {
+            runningPasses.decrementAndGet();
+        }
+    }
+
+
+    /**
+     * Метод отправляет просроченные напоминания: владельцы напоминаний загружаются одним запросом,
+     * каждое напоминание передаётся в каналы пользователя через {@link NotificationDispatcher}
+     * и отмечается отправленным по завершении отправок ({@link #onDispatchCompleted}). Напоминание, отклонённое
+     * заполненной очередью канала или разомкнутым выключателем канала, остаётся неотправленным
+     * до следующего прохода и учитывается как отложенное, а не как ошибка.
+     * Результат прохода учитывает напоминания, переданные в каналы ({@code dispatched}): проход завершается
+     * раньше, чем выполняются сами отправки.
+     * Проход записывается событием JFR {@link SchedulerTickEvent}
+     * @param limit максимальное количество напоминаний (null — все найденные)
+     * @param manual признак ручного запуска
+     * @return результат прохода
+     */
+    private SchedulerPassDTO sendDueReminds(Integer limit, boolean manual) {
+        SchedulerTickEvent tick = new SchedulerTickEvent();
+        tick.begin();
+        long start = System.nanoTime();
         LocalDateTime now = LocalDateTime.now();
-        List<Remind> findRemind = remindRepository.findByDateTimeOfRemindBeforeAndNotifiedFalse(now);
+        List<Remind> findRemind = limit == null
+                ? remindRepository.findPendingDue(now)
+                : remindRepository.findPendingDueOldestFirst(now, Limit.of(limit));
         log.info("Найдено {} напоминаний для отправки", findRemind.size());
+        backlog.addAndGet(findRemind.size());
+        tick.due = findRemind.size();
+        Map<Long, User> users = findRemind.isEmpty() ? Map.of() : userRepository
+                .findAllById(findRemind.stream().map(Remind::getUserId).distinct().toList()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
 
         for (Remind remind : findRemind){
             try{
-                remindService.sendRemindById(remind.getRemindId());
-                String message = "Напоминание: *" + remind.getTitle() + "*\n\n" +
-                                 remind.getDescription() + "\n" +
-                                 remind.getDateTimeOfRemind().
-                                         format(DateTimeFormatter.ofPattern("\n*время начала* HH:mm\n*дата* dd-MM-yyyy"));
-                telegramService.sendMessage(message);
-                log.info("Напоминание id {}: отправлены уведомления в Telеgram и на почту пользователя", remind.getRemindId());
+                User user = users.get(remind.getUserId());
+                if (user == null) {
+                    throw new NoSuchElementException("пользователь id " + remind.getUserId() + " не найден");
+                }
+                NotificationDispatcher.DispatchResult result = notificationDispatcher.dispatch(remind, user);
+                if (!result.accepted()) {
+                    log.info("Напоминание id {}: каналы {} недоступны, отправка отложена до следующего прохода",
+                            remind.getRemindId(), result.deferred());
+                    tick.deferred++;
+                    continue;
+                }
+                result.completion().whenComplete((ignored, error) -> onDispatchCompleted(remind, result, error));
+                if (!result.submitted().isEmpty()) {
+                    log.info("Напоминание id {}: уведомления переданы в каналы {}",
+                            remind.getRemindId(), result.submitted());
+                    tick.dispatched++;
+                }
 
             } catch (Exception e) {
                 log.warn("Ошибка при отправке напоминания id {}: {}", remind.getRemindId(), e.getMessage());
+                tick.failed++;
+            } finally {
+                backlog.decrementAndGet();
             }
         }
+        tick.commit();
+        return new SchedulerPassDTO(now, Duration.ofNanos(System.nanoTime() - start).toMillis(),
+                tick.due, tick.dispatched, tick.failed, tick.deferred, manual);
+    }
+
+
+    /**
+     * Метод обрабатывает завершение отправок напоминания: если журнал доставки подтверждает отправку
+     * во все каналы, напоминание отмечается отправленным и записывается задержка доставки.
+     * Если отправка завершилась ошибкой, напоминание остаётся в очереди и будет передано повторно
+     * следующим проходом. Выполняется в потоке канала, завершившего последнюю отправку
+     * @param remind напоминание
+     * @param result результат передачи напоминания в каналы
+     * @param error ошибка отправки или null
+     */
+    private void onDispatchCompleted(Remind remind, NotificationDispatcher.DispatchResult result, Throwable error) {
+        try {
+            if (error != null) {
+                requeuedCounter.increment();
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                log.warn("Напоминание id {}: ошибка отправки, напоминание будет передано повторно следующим проходом: {}",
+                        remind.getRemindId(), cause.getMessage());
+                return;
+            }
+            if (!deliveryLedger.isDelivered(remind, result.channels())) {
+                log.debug("Напоминание id {}: доставка в каналы {} ещё выполняется",
+                        remind.getRemindId(), result.channels());
+                return;
+            }
+            if (remindService.markNotified(remind)) {
+                deliveredCounter.increment();
+                lagTimer.record(Duration.between(remind.getDateTimeOfRemind(), LocalDateTime.now()));
+                log.info("Напоминание id {}: доставлено в каналы {}", remind.getRemindId(), result.channels());
+            }
+        } catch (RuntimeException e) {
+            log.error("Напоминание id {}: не удалось отметить доставку: {}", remind.getRemindId(), e.getMessage());
+        }
+    }
+
+
+    /**
+     * Политика обработки регулярного прохода, пришедшегося на выполняющийся проход
+     */
+    public enum OverlapPolicy {
+
+        /**
+         * Проход пропускается; напоминания будут отправлены следующим регулярным проходом
+         */
+        SKIP,
+
+        /**
+         * Все пришедшиеся на выполняющийся проход вызовы объединяются в один проход,
+         * который начинается сразу после завершения текущего
+         */
+        COALESCE
     }
 }
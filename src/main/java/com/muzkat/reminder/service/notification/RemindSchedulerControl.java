@@ -0,0 +1,211 @@
+package com.muzkat.reminder.service.notification;
+
+import com.muzkat.reminder.dto.SchedulerPassDTO;
+import com.muzkat.reminder.dto.SchedulerStatusDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.TriggerContext;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Управление регулярными проходами {@link RemindNotificationScheduler}.
+ * <p>
+ *     Заменяет {@code @Scheduled(fixedRate)}: проходы планируются через {@link TaskScheduler}
+ *     с интервалом, который можно изменить во время работы, и выполняются в пуле
+ *     {@code applicationTaskExecutor}, чтобы не занимать поток планировщика.
+ *     Регулярные проходы можно приостановить (например, на время сбоя SMTP) и возобновить;
+ *     ручной ограниченный проход ({@link #drain(int)}) выполняется и при приостановке.
+ * </p>
+ * Начальные значения задаются свойствами {@code reminder.scheduler.interval-ms}
+ * и {@code reminder.scheduler.initial-delay-ms}
+ */
+@Component
+@Slf4j
+public class RemindSchedulerControl {
+
+    /**
+     * Поле планировщик напоминаний
+     */
+    private final RemindNotificationScheduler scheduler;
+
+    /**
+     * Поле планировщик задач Spring
+     */
+    private final TaskScheduler taskScheduler;
+
+    /**
+     * Поле пул потоков, в котором выполняются проходы
+     */
+    private final AsyncTaskExecutor applicationTaskExecutor;
+
+    /**
+     * Поле задержка первого прохода после старта приложения
+     */
+    private final Duration initialDelay;
+
+    /**
+     * Поле признак приостановки регулярных проходов
+     */
+    private final AtomicBoolean paused = new AtomicBoolean();
+
+    /**
+     * Поле текущий интервал между регулярными проходами
+     */
+    private volatile Duration interval;
+
+    /**
+     * Поле запланированные регулярные проходы
+     */
+    private ScheduledFuture<?> schedule;
+
+
+    /**
+     * Конструктор управления проходами
+     * @param scheduler планировщик напоминаний
+     * @param taskScheduler планировщик задач Spring
+     * @param applicationTaskExecutor пул потоков приложения
+     * @param intervalMs начальный интервал между проходами в миллисекундах
+     * @param initialDelayMs задержка первого прохода в миллисекундах
+     */
+    public RemindSchedulerControl(RemindNotificationScheduler scheduler,
+                                  TaskScheduler taskScheduler,
+                                  @Qualifier("applicationTaskExecutor") AsyncTaskExecutor applicationTaskExecutor,
+                                  @Value("${reminder.scheduler.interval-ms}") long intervalMs,
+                                  @Value("${reminder.scheduler.initial-delay-ms:0}") long initialDelayMs) {
+        this.scheduler = scheduler;
+        this.taskScheduler = taskScheduler;
+        this.applicationTaskExecutor = applicationTaskExecutor;
+        this.interval = Duration.ofMillis(intervalMs);
+        this.initialDelay = Duration.ofMillis(initialDelayMs);
+    }
+
+
+    /**
+     * Метод планирует регулярные проходы после старта приложения
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reschedule(initialDelay);
+    }
+
+
+    /**
+     * Метод отменяет регулярные проходы при остановке приложения
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (schedule != null) {
+            schedule.cancel(false);
+        }
+    }
+
+
+    /**
+     * Метод приостанавливает регулярные проходы; уже выполняющийся проход завершается
+     */
+    public void pause() {
+        if (paused.compareAndSet(false, true)) {
+            log.warn("Регулярные проходы планировщика напоминаний приостановлены");
+        }
+    }
+
+
+    /**
+     * Метод возобновляет регулярные проходы
+     */
+    public void resume() {
+        if (paused.compareAndSet(true, false)) {
+            log.warn("Регулярные проходы планировщика напоминаний возобновлены");
+        }
+    }
+
+
+    /**
+     * Метод изменяет интервал между регулярными проходами.
+     * Следующий проход выполняется через новый интервал от текущего момента
+     * @param newInterval новый интервал
+     */
+    public void changeInterval(Duration newInterval) {
+        interval = newInterval;
+        reschedule(newInterval);
+        log.warn("Интервал планировщика напоминаний изменён на {} мс", newInterval.toMillis());
+    }
+
+
+    /**
+     * Метод выполняет ручной проход по не более чем {@code limit} самым старым напоминаниям
+     * @param limit максимальное количество напоминаний
+     * @return результат прохода
+     */
+    public SchedulerPassDTO drain(int limit) {
+        log.warn("Ручной разбор очереди напоминаний: не более {}", limit);
+        return scheduler.drain(limit);
+    }
+
+
+    /**
+     * Метод возвращает состояние планировщика
+     * @return состояние планировщика
+     */
+    public SchedulerStatusDTO status() {
+        LocalDateTime oldestDue = scheduler.findOldestDue();
+        long oldestDueAge = oldestDue == null ? 0 : Duration.between(oldestDue, LocalDateTime.now()).toSeconds();
+        return new SchedulerStatusDTO(paused.get(), interval.toMillis(), scheduler.countDue(), oldestDueAge,
+                scheduler.getRunningPasses(), scheduler.getInFlight(), scheduler.getLastPass());
+    }
+
+
+    /**
+     * Метод заново планирует регулярные проходы
+     * @param firstDelay задержка до первого прохода
+     */
+    private synchronized void reschedule(Duration firstDelay) {
+        if (schedule != null) {
+            schedule.cancel(false);
+        }
+        schedule = taskScheduler.schedule(this::tick, context -> nextExecution(context, firstDelay));
+    }
+
+
+    /**
+     * Метод вычисляет момент следующего прохода: с фиксированной частотой от предыдущего
+     * запланированного момента с текущим интервалом
+     * @param context контекст триггера
+     * @param firstDelay задержка до первого прохода
+     * @return момент следующего прохода
+     */
+    private Instant nextExecution(TriggerContext context, Duration firstDelay) {
+        Instant last = context.lastScheduledExecution();
+        return last == null ? context.getClock().instant().plus(firstDelay) : last.plus(interval);
+    }
+
+
+    /**
+     * Метод запускает регулярный проход в пуле потоков приложения, если проходы не приостановлены
+     */
+    private void tick() {
+        if (paused.get()) {
+            log.debug("Проход планировщика пропущен: регулярные проходы приостановлены");
+            return;
+        }
+        applicationTaskExecutor.execute(() -> {
+            try {
+                scheduler.checkDateTimeAndSendRemind();
+            } catch (RuntimeException e) {
+                log.error("Ошибка прохода планировщика напоминаний: {}", e.getMessage(), e);
+            }
+        });
+    }
+}
@@ -0,0 +1,40 @@
+package com.muzkat.reminder.service.notification;
+
+import com.muzkat.reminder.model.Remind;
+import com.muzkat.reminder.model.User;
+import com.muzkat.reminder.service.TelegramService;
+import com.muzkat.reminder.utils.RemindMessageUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Канал доставки напоминаний в Telegram через {@link TelegramService}.
+ * Сообщение отправляется в чат пользователя, а если пользователь не зарегистрирован
+ * в боте, — в общий чат из настроек {@code telegram.bot.chat-id}
+ */
+@Component
+@RequiredArgsConstructor
+public class TelegramNotificationChannel implements NotificationChannel {
+
+    /**
+     * Имя канала
+     */
+    public static final String NAME = "telegram";
+
+    /**
+     * Поле экземпляр {@link TelegramService}
+     */
+    private final TelegramService telegramService;
+
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+
+    @Override
+    public String send(Remind remind, User user) {
+        return telegramService.sendMessage(user.getTelegramChatId(), RemindMessageUtils.telegramMessage(remind));
+    }
+}
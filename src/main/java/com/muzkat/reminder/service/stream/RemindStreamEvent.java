@@ -0,0 +1,50 @@
+package com.muzkat.reminder.service.stream;
+
+import com.muzkat.reminder.dto.RemindDTO;
+
+import java.util.Locale;
+
+/**
+ * Событие приложения об изменении или срабатывании напоминания пользователя.
+ * Публикуется {@link com.muzkat.reminder.service.RemindService} и после фиксации транзакции
+ * передаётся подключённым клиентам пользователя через {@link RemindStreamService}
+ * @param userId идентификатор владельца напоминания
+ * @param type тип события
+ * @param remind напоминание (для удалённого — его последнее состояние)
+ */
+public record RemindStreamEvent(Long userId, Type type, RemindDTO remind) {
+
+    /**
+     * Тип события
+     */
+    public enum Type {
+
+        /**
+         * Напоминание создано
+         */
+        CREATED,
+
+        /**
+         * Напоминание изменено
+         */
+        UPDATED,
+
+        /**
+         * Напоминание удалено
+         */
+        DELETED,
+
+        /**
+         * Наступило время напоминания, уведомления переданы в каналы доставки
+         */
+        DUE;
+
+        /**
+         * Метод возвращает имя события в потоке SSE (поле event)
+         * @return имя события, например {@code remind-due}
+         */
+        public String eventName() {
+            return "remind-" + name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
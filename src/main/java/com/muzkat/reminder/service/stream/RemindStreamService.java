@@ -0,0 +1,489 @@
+package com.muzkat.reminder.service.stream;
+
+import com.muzkat.reminder.config.RemindStreamProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Поток событий напоминаний пользователя (Server-Sent Events).
+ * <p>
+ *     Клиент подключается один раз и получает события {@link RemindStreamEvent} о создании, изменении,
+ *     удалении и срабатывании своих напоминаний вместо периодического опроса списка. Соединение
+ *     обслуживается асинхронно: между событиями оно не занимает поток Tomcat (NIO), а стоит только
+ *     объекта {@link SseEmitter} и сокета, поэтому тысячи простаивающих клиентов обходятся дёшево.
+ *     События передаются клиентам после фиксации транзакции в отдельном пуле потоков фиксированного
+ *     размера с ограниченной очередью ({@code reminder.stream.send-pool-size}, {@code send-queue-capacity}),
+ *     так что медленный клиент не задерживает запрос или проход планировщика, опубликовавший событие.
+ * </p>
+ * <p>
+ *     Порядок событий сохраняется для каждого соединения: у соединения своя очередь исходящих событий,
+ *     события попадают в неё под монитором потока пользователя в порядке идентификаторов, а разбирает её
+ *     не более одной задачи пула одновременно. Иначе два события пользователя могли бы прийти клиенту
+ *     в обратном порядке, и после обрыва соединения повтор по {@code Last-Event-ID} пропустил бы более раннее.
+ *     Повтор пропущенных событий при подключении проходит через ту же очередь и всегда предшествует новым событиям
+ * </p>
+ * <p>
+ *     Каждое событие получает возрастающий идентификатор (поле id) и сохраняется в буфере пользователя
+ *     ({@code replay-size} последних событий не старше {@code replay-max-age}). При переподключении
+ *     клиент передаёт заголовок {@code Last-Event-ID}, и ему повторяются пропущенные события.
+ *     Если пропущенные события уже вытеснены из буфера, идентификатор получен до перезапуска приложения
+ *     или на другом экземпляре, клиенту отправляется событие {@code resync}: он должен заново загрузить
+ *     список напоминаний и продолжить с идентификатора этого события. Доставка «хотя бы один раз»:
+ *     после переподключения событие может прийти повторно, но не теряется.
+ * </p>
+ * <p>
+ *     Буфер хранится в памяти экземпляра приложения; при нескольких экземплярах за балансировщиком
+ *     клиент после переподключения к другому экземпляру получит {@code resync}.
+ *     Если общая очередь отправки ({@code send-queue-capacity} событий) или очередь соединения
+ *     ({@code replay-size} событий) заполнена, соединение закрывается, и клиент дочитывает
+ *     события из буфера при переподключении
+ * </p>
+ * Метрики:
+ * <ul>
+ *     <li>{@code reminder.stream.connections} — количество открытых соединений</li>
+ *     <li>{@code reminder.stream.queue} — количество событий в очередях соединений, ожидающих отправки</li>
+ *     <li>{@code reminder.stream.dropped} — события, не переданные в очередь отправки из-за её заполнения</li>
+ *     <li>{@code reminder.stream.resync} — переподключения, после которых повтор событий невозможен</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RemindStreamService {
+
+    /**
+     * Имя события, требующего заново загрузить список напоминаний
+     */
+    public static final String RESYNC_EVENT = "resync";
+
+    /**
+     * Поле настройки потока событий
+     */
+    private final RemindStreamProperties properties;
+
+    /**
+     * Поле реестр метрик
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Поле потоки пользователей по идентификатору пользователя
+     */
+    private final Map<Long, UserStream> streams = new ConcurrentHashMap<>();
+
+    /**
+     * Поле последний выданный идентификатор события. Начальное значение зависит от времени запуска,
+     * поэтому идентификаторы, выданные до перезапуска приложения, меньше любого текущего
+     */
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    /**
+     * Поле наибольший идентификатор события из буферов удалённых потоков пользователей
+     */
+    private final AtomicLong forgottenUpTo = new AtomicLong(sequence.get());
+
+    /**
+     * Поле количество открытых соединений
+     */
+    private final AtomicInteger connections = new AtomicInteger();
+
+    /**
+     * Поле количество событий в очередях соединений, ожидающих отправки
+     */
+    private final AtomicInteger queuedEvents = new AtomicInteger();
+
+    /**
+     * Поле пул потоков отправки событий
+     */
+    private ThreadPoolExecutor sendExecutor;
+
+    /**
+     * Поле счётчик событий, не переданных в очередь отправки
+     */
+    private Counter droppedCounter;
+
+    /**
+     * Поле счётчик переподключений без возможности повтора
+     */
+    private Counter resyncCounter;
+
+
+    /**
+     * Метод создаёт пул потоков отправки и метрики
+     */
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        sendExecutor = new ThreadPoolExecutor(properties.getSendPoolSize(), properties.getSendPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getSendQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "remind-stream-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder("reminder.stream.connections", connections, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("reminder.stream.queue", queuedEvents, AtomicInteger::get).register(meterRegistry);
+        droppedCounter = meterRegistry.counter("reminder.stream.dropped");
+        resyncCounter = meterRegistry.counter("reminder.stream.resync");
+    }
+
+
+    /**
+     * Метод закрывает все соединения и останавливает пул потоков отправки
+     */
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdownNow();
+        streams.values().forEach(stream -> stream.subscribers.forEach(subscriber -> subscriber.emitter().complete()));
+    }
+
+
+    /**
+     * Метод открывает поток событий пользователя.
+     * <p>
+     *     Если передан {@code lastEventId}, клиенту повторяются события пользователя с большим
+     *     идентификатором либо, если это невозможно, отправляется событие {@code resync}.
+     *     При превышении {@code max-connections-per-user} закрывается самое старое соединение пользователя
+     * </p>
+     * @param userId идентификатор пользователя
+     * @param lastEventId идентификатор последнего полученного клиентом события (может быть null)
+     * @return поток событий
+     */
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        List<StreamEntry> replay = new ArrayList<>();
+        Subscriber evicted = null;
+        Subscriber subscriber;
+        long resyncId = 0;
+        while (true) {
+            UserStream stream = streams.computeIfAbsent(userId, id -> new UserStream(forgottenUpTo.get()));
+            synchronized (stream) {
+                if (stream.removed) {
+                    continue;
+                }
+                long current = sequence.get();
+                subscriber = new Subscriber(emitter, current);
+                if (stream.subscribers.size() >= properties.getMaxConnectionsPerUser()) {
+                    evicted = stream.subscribers.get(0);
+                    stream.subscribers.remove(0);
+                }
+                stream.subscribers.add(subscriber);
+                if (lastEventId != null) {
+                    if (lastEventId < stream.evictedUpTo || lastEventId > current) {
+                        resyncId = current;
+                    } else {
+                        stream.entries.stream().filter(entry -> entry.id() > lastEventId).forEach(replay::add);
+                    }
+                }
+                // Начало потока ставится в очередь соединения под монитором, до любого нового события
+                subscriber.outbox().add(SseEmitter.event().comment("connected")
+                        .reconnectTime(properties.getReconnectDelay().toMillis()));
+                if (resyncId != 0) {
+                    subscriber.outbox().add(SseEmitter.event().id(Long.toString(resyncId))
+                            .name(RESYNC_EVENT).data(RESYNC_EVENT));
+                }
+                replay.forEach(entry -> subscriber.outbox().add(toSse(entry)));
+                queuedEvents.addAndGet(subscriber.outbox().size());
+                break;
+            }
+        }
+        connections.incrementAndGet();
+        Subscriber registered = subscriber;
+        emitter.onCompletion(() -> unsubscribe(userId, registered));
+        emitter.onTimeout(emitter::complete);
+        if (evicted != null) {
+            connections.decrementAndGet();
+            evicted.emitter().complete();
+        }
+
+        if (resyncId != 0) {
+            resyncCounter.increment();
+        }
+        schedule(userId, registered);
+        log.debug("Пользователь {} подключился к потоку событий (Last-Event-ID {}, повторено {}{})",
+                userId, lastEventId, replay.size(), resyncId != 0 ? ", resync" : "");
+        return emitter;
+    }
+
+
+    /**
+     * Метод принимает событие после фиксации транзакции, сохраняет его в буфере пользователя
+     * и ставит в очереди соединений пользователя (под монитором потока пользователя, поэтому
+     * в порядке идентификаторов). Если транзакции нет, событие обрабатывается сразу
+     * @param event событие напоминания
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRemindEvent(RemindStreamEvent event) {
+        if (event.userId() == null) {
+            return;
+        }
+        StreamEntry entry;
+        List<Subscriber> recipients;
+        while (true) {
+            UserStream stream = streams.computeIfAbsent(event.userId(), id -> new UserStream(forgottenUpTo.get()));
+            synchronized (stream) {
+                if (stream.removed) {
+                    continue;
+                }
+                entry = new StreamEntry(sequence.incrementAndGet(), event, System.nanoTime());
+                stream.entries.addLast(entry);
+                while (stream.entries.size() > properties.getReplaySize()) {
+                    stream.evictedUpTo = stream.entries.removeFirst().id();
+                }
+                recipients = new ArrayList<>();
+                for (Subscriber subscriber : stream.subscribers) {
+                    if (subscriber.registeredAt() < entry.id() && enqueue(event.userId(), subscriber, toSse(entry))) {
+                        recipients.add(subscriber);
+                    }
+                }
+                break;
+            }
+        }
+        recipients.forEach(subscriber -> schedule(event.userId(), subscriber));
+    }
+
+
+    /**
+     * Метод отправляет heartbeat-комментарий во все соединения и удаляет из буферов устаревшие события.
+     * Потоки пользователей без соединений и событий удаляются
+     */
+    @Scheduled(fixedRateString = "${reminder.stream.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        long expiredBefore = System.nanoTime() - properties.getReplayMaxAge().toNanos();
+        for (Map.Entry<Long, UserStream> item : streams.entrySet()) {
+            Long userId = item.getKey();
+            UserStream stream = item.getValue();
+            List<Subscriber> recipients;
+            synchronized (stream) {
+                while (!stream.entries.isEmpty() && stream.entries.peekFirst().createdAt() - expiredBefore < 0) {
+                    stream.evictedUpTo = stream.entries.removeFirst().id();
+                }
+                if (stream.entries.isEmpty() && stream.subscribers.isEmpty()) {
+                    stream.removed = true;
+                    forgottenUpTo.accumulateAndGet(stream.evictedUpTo, Math::max);
+                    streams.remove(userId, stream);
+                    continue;
+                }
+                recipients = List.copyOf(stream.subscribers);
+            }
+            if (recipients.isEmpty()) {
+                continue;
+            }
+            for (Subscriber subscriber : recipients) {
+                if (subscriber.outbox().isEmpty() && enqueue(userId, subscriber, SseEmitter.event().comment("heartbeat"))) {
+                    schedule(userId, subscriber);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Метод ставит событие в очередь соединения. Если общая очередь отправки или очередь соединения заполнена,
+     * событие не ставится, а соединение закрывается: клиент дочитает события из буфера при переподключении
+     * @param userId идентификатор пользователя
+     * @param subscriber соединение
+     * @param event событие
+     * @return true, если событие поставлено в очередь
+     */
+    private boolean enqueue(Long userId, Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (queuedEvents.get() >= properties.getSendQueueCapacity()
+                || subscriber.outbox().size() >= properties.getReplaySize()) {
+            droppedCounter.increment();
+            log.warn("Очередь отправки событий заполнена, соединение пользователя {} закрыто для переподключения",
+                    userId);
+            unsubscribe(userId, subscriber);
+            subscriber.emitter().complete();
+            return false;
+        }
+        subscriber.outbox().add(event);
+        queuedEvents.incrementAndGet();
+        return true;
+    }
+
+
+    /**
+     * Метод запускает разбор очереди соединения в пуле отправки, если он ещё не запущен
+     * @param userId идентификатор пользователя
+     * @param subscriber соединение
+     */
+    private void schedule(Long userId, Subscriber subscriber) {
+        if (!subscriber.draining().compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sendExecutor.execute(() -> drain(userId, subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.draining().set(false);
+            droppedCounter.increment();
+            log.warn("Пул отправки событий перегружен, соединение пользователя {} закрыто для переподключения", userId);
+            unsubscribe(userId, subscriber);
+            subscriber.emitter().complete();
+        }
+    }
+
+
+    /**
+     * Метод отправляет события из очереди соединения по порядку. Очередь разбирает не более одной задачи:
+     * событие, поставленное после выхода из цикла, запускает разбор заново
+     * @param userId идентификатор пользователя
+     * @param subscriber соединение
+     */
+    private void drain(Long userId, Subscriber subscriber) {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.outbox().poll()) != null) {
+                queuedEvents.decrementAndGet();
+                send(userId, subscriber, event);
+            }
+            subscriber.draining().set(false);
+        } while (!subscriber.outbox().isEmpty() && subscriber.draining().compareAndSet(false, true));
+    }
+
+
+    /**
+     * Метод отправляет событие в соединение; при ошибке соединение закрывается
+     * @param userId идентификатор пользователя
+     * @param subscriber соединение
+     * @param event событие
+     */
+    private void send(Long userId, Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter().send(event);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Соединение пользователя {} закрыто: {}", userId, e.getMessage());
+            unsubscribe(userId, subscriber);
+            subscriber.emitter().complete();
+        }
+    }
+
+
+    /**
+     * Метод удаляет соединение из потока пользователя
+     * @param userId идентификатор пользователя
+     * @param subscriber соединение
+     */
+    private void unsubscribe(Long userId, Subscriber subscriber) {
+        UserStream stream = streams.get(userId);
+        if (stream == null) {
+            return;
+        }
+        synchronized (stream) {
+            if (stream.subscribers.remove(subscriber)) {
+                connections.decrementAndGet();
+            }
+        }
+    }
+
+
+    /**
+     * Метод преобразует событие буфера в событие SSE
+     * @param entry событие буфера
+     * @return событие SSE
+     */
+    private static SseEmitter.SseEventBuilder toSse(StreamEntry entry) {
+        return SseEmitter.event()
+                .id(Long.toString(entry.id()))
+                .name(entry.event().type().eventName())
+                .data(entry.event().remind());
+    }
+
+
+    /**
+     * Поток событий одного пользователя: соединения и буфер последних событий.
+     * Изменяется под монитором самого объекта
+     */
+    private static final class UserStream {
+
+        /**
+         * Поле открытые соединения пользователя в порядке подключения
+         */
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+        /**
+         * Поле последние события пользователя в порядке возрастания идентификатора
+         */
+        private final ArrayDeque<StreamEntry> entries = new ArrayDeque<>();
+
+        /**
+         * Поле наибольший идентификатор вытесненного из буфера события: повтор событий
+         * после меньшего идентификатора невозможен
+         */
+        private long evictedUpTo;
+
+        /**
+         * Поле признак удаления потока из {@link #streams}
+         */
+        private boolean removed;
+
+        /**
+         * Конструктор потока пользователя
+         * @param evictedUpTo идентификатор, после которого для пользователя не было забытых событий
+         */
+        private UserStream(long evictedUpTo) {
+            this.evictedUpTo = evictedUpTo;
+        }
+    }
+
+
+    /**
+     * Открытое соединение
+     * @param emitter поток событий соединения
+     * @param registeredAt последний идентификатор события на момент подключения: события
+     *                     с идентификатором не больше него соединению не отправляются в реальном времени,
+     *                     так как уже учтены при повторе
+     * @param outbox очередь событий, ожидающих отправки в соединение
+     * @param draining признак выполняющегося разбора очереди
+     */
+    private record Subscriber(SseEmitter emitter, long registeredAt,
+                              ConcurrentLinkedQueue<SseEmitter.SseEventBuilder> outbox, AtomicBoolean draining) {
+
+        /**
+         * Конструктор соединения с пустой очередью
+         * @param emitter поток событий соединения
+         * @param registeredAt последний идентификатор события на момент подключения
+         */
+        private Subscriber(SseEmitter emitter, long registeredAt) {
+            this(emitter, registeredAt, new ConcurrentLinkedQueue<>(), new AtomicBoolean());
+        }
+    }
+
+
+    /**
+     * Событие в буфере пользователя
+     * @param id идентификатор события
+     * @param event событие напоминания
+     * @param createdAt момент добавления в буфер ({@link System#nanoTime()})
+     */
+    private record StreamEntry(long id, RemindStreamEvent event, long createdAt) {
+    }
+}
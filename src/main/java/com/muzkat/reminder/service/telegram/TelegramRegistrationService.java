@@ -0,0 +1,137 @@
+package com.muzkat.reminder.service.telegram;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.muzkat.reminder.config.TelegramIngestionProperties;
+import com.muzkat.reminder.dto.TelegramUpdateDTO;
+import com.muzkat.reminder.model.User;
+import com.muzkat.reminder.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сервис привязки Telegram-чата к учётной записи пользователя.
+ * <p>
+ *     Пользователь отправляет боту свой email, и chat_id чата сохраняется у пользователя с этим email.
+ *     Обновления обрабатываются пачками: повторно доставленные обновления отсекаются по update_id
+ *     в скользящем окне ({@link TelegramIngestionProperties}), пользователи загружаются одним запросом,
+ *     изменения сохраняются в одной транзакции; если транзакция откатывается, отметки об обработке снимаются.
+ *     Используется как для webhook, так и для других способов получения обновлений
+ * </p>
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TelegramRegistrationService {
+
+    /**
+     * Поле экземпляр {@link UserRepository}
+     */
+    private final UserRepository userRepository;
+
+    /**
+     * Поле настройки приёма обновлений
+     */
+    private final TelegramIngestionProperties properties;
+
+    /**
+     * Поле окно уже обработанных идентификаторов обновлений
+     */
+    private Cache<Long, Boolean> processedUpdates;
+
+
+    /**
+     * Метод создаёт окно обработанных идентификаторов обновлений
+     */
+    @PostConstruct
+    public void init() {
+        processedUpdates = Caffeine.newBuilder()
+                .maximumSize(properties.getDedupWindowSize())
+                .expireAfterWrite(properties.getDedupWindow())
+                .build();
+    }
+
+
+    /**
+     * Метод применяет пачку обновлений: отсекает дубликаты и сохраняет chat_id пользователям,
+     * email которых указан в тексте сообщения. Если к одному email относится несколько обновлений,
+     * применяется последнее
+     * @param updates пачка обновлений от Telegram
+     * @return количество пользователей, которым сохранён chat_id
+     */
+    @Transactional
+    public int applyUpdates(List<TelegramUpdateDTO> updates) {
+        List<Long> acceptedIds = new ArrayList<>();
+        Map<String, Long> chatIdByEmail = new LinkedHashMap<>();
+        for (TelegramUpdateDTO update : updates) {
+            if (!isNew(update)) {
+                log.debug("Повторное обновление Telegram update_id {} пропущено", update.getUpdateId());
+                continue;
+            }
+            if (update.getUpdateId() != null) {
+                acceptedIds.add(update.getUpdateId());
+            }
+            TelegramUpdateDTO.Message message = update.getMessage();
+            if (message == null || message.getChat() == null || message.getText() == null) {
+                continue;
+            }
+            chatIdByEmail.put(message.getText().trim(), message.getChat().getId());
+        }
+        forgetOnRollback(acceptedIds);
+        if (chatIdByEmail.isEmpty()) {
+            return 0;
+        }
+
+        List<User> users = userRepository.findByEmailIn(chatIdByEmail.keySet());
+        for (User user : users) {
+            Long chatId = chatIdByEmail.remove(user.getEmail());
+            user.setTelegramChatId(chatId.toString());
+            log.info("Пользователь с email {} успешно добавлен в telegram-чат: chat_id {}", user.getEmail(), chatId);
+        }
+        userRepository.saveAll(users);
+        chatIdByEmail.keySet().forEach(email ->
+                log.warn("Не удалось добавить Telegram: пользователь с email {} не найден", email));
+        return users.size();
+    }
+
+
+    /**
+     * Метод снимает отметку об обработке с обновлений пачки, если транзакция не будет зафиксирована,
+     * чтобы повторная доставка этих обновлений была обработана
+     * @param updateIds идентификаторы обновлений пачки
+     */
+    private void forgetOnRollback(List<Long> updateIds) {
+        if (updateIds.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    processedUpdates.invalidateAll(updateIds);
+                }
+            }
+        });
+    }
+
+
+    /**
+     * Метод отмечает обновление как обработанное, если оно ещё не встречалось в окне
+     * @param update обновление от Telegram
+     * @return true, если обновление новое или не имеет update_id
+     */
+    private boolean isNew(TelegramUpdateDTO update) {
+        return update.getUpdateId() == null
+                || processedUpdates.asMap().putIfAbsent(update.getUpdateId(), Boolean.TRUE) == null;
+    }
+}
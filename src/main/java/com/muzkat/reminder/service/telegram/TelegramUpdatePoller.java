@@ -0,0 +1,235 @@
+package com.muzkat.reminder.service.telegram;
+
+import com.muzkat.reminder.config.TelegramIngestionProperties;
+import com.muzkat.reminder.config.TelegramProperties;
+import com.muzkat.reminder.dto.TelegramGetUpdatesResponseDTO;
+import com.muzkat.reminder.dto.TelegramUpdateDTO;
+import com.muzkat.reminder.model.TelegramUpdateOffset;
+import com.muzkat.reminder.repository.TelegramUpdateOffsetRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Получение обновлений Telegram методом getUpdates (long polling).
+ * <p>
+ *     Используется вместо webhook, если {@code telegram.ingestion.mode=polling} — например, в окружениях
+ *     без публичного HTTPS-адреса. Фоновый поток {@code telegram-polling} запрашивает пачку обновлений,
+ *     применяет её через {@link TelegramRegistrationService} и в той же транзакции сохраняет смещение
+ *     (update_id последнего обновления + 1) в таблице {@code telegram_update_offset}.
+ *     Следующий запрос с этим смещением подтверждает Telegram получение предыдущей пачки,
+ *     поэтому после перезапуска обработка продолжается с первого неподтверждённого обновления.
+ * </p>
+ * Адрес Bot API задаётся {@code telegram.bot.api-url}, что позволяет проверять режим на локальной заглушке
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "telegram.ingestion", name = "mode", havingValue = "polling")
+public class TelegramUpdatePoller {
+
+    /**
+     * Запас времени ожидания ответа сверх времени long polling
+     */
+    private static final Duration READ_TIMEOUT_MARGIN = Duration.ofSeconds(10);
+
+    /**
+     * Максимальный размер пачки getUpdates, допускаемый Telegram
+     */
+    private static final int MAX_LIMIT = 100;
+
+    /**
+     * Поле сервис привязки Telegram-чата к пользователю
+     */
+    private final TelegramRegistrationService registrationService;
+
+    /**
+     * Поле экземпляр {@link TelegramUpdateOffsetRepository}
+     */
+    private final TelegramUpdateOffsetRepository offsetRepository;
+
+    /**
+     * Поле настройки подключения к Telegram Bot API
+     */
+    private final TelegramProperties telegramProperties;
+
+    /**
+     * Поле настройки приёма обновлений
+     */
+    private final TelegramIngestionProperties properties;
+
+    /**
+     * Поле шаблон транзакции для применения пачки и сохранения смещения
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Поле HTTP-клиент с временем ожидания ответа больше времени long polling
+     */
+    private final RestTemplate restTemplate;
+
+    /**
+     * Поле фоновый поток получения обновлений
+     */
+    private Thread worker;
+
+    /**
+     * Поле признак работы фонового потока
+     */
+    private volatile boolean running;
+
+
+    /**
+     * Конструктор получения обновлений
+     * @param registrationService сервис привязки Telegram-чата к пользователю
+     * @param offsetRepository репозиторий смещения getUpdates
+     * @param telegramProperties настройки подключения к Telegram Bot API
+     * @param properties настройки приёма обновлений
+     * @param transactionTemplate шаблон транзакции
+     * @param restTemplateBuilder построитель HTTP-клиента
+     */
+    public TelegramUpdatePoller(TelegramRegistrationService registrationService,
+                                TelegramUpdateOffsetRepository offsetRepository,
+                                TelegramProperties telegramProperties,
+                                TelegramIngestionProperties properties,
+                                TransactionTemplate transactionTemplate,
+                                RestTemplateBuilder restTemplateBuilder) {
+        this.registrationService = registrationService;
+        this.offsetRepository = offsetRepository;
+        this.telegramProperties = telegramProperties;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.restTemplate = restTemplateBuilder
+                .connectTimeout(Duration.ofSeconds(10))
+                .readTimeout(properties.getPollTimeout().plus(READ_TIMEOUT_MARGIN))
+                .build();
+    }
+
+
+    /**
+     * Метод запускает фоновый поток получения обновлений
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform()
+                .name("telegram-polling")
+                .daemon(true)
+                .start(this::pollLoop);
+        log.info("Получение обновлений Telegram через getUpdates запущено");
+    }
+
+
+    /**
+     * Метод останавливает фоновый поток после завершения текущего запроса
+     * @throws InterruptedException если ожидание завершения потока было прервано
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+
+    /**
+     * Цикл фонового потока: читает сохранённое смещение, запрашивает пачки обновлений, а при ошибках
+     * (в том числе недоступности базы данных при старте) повторяет с экспоненциально растущей паузой
+     */
+    private void pollLoop() {
+        String bot = botId();
+        Long offset = null;
+        long backoffMillis = 0;
+        while (running) {
+            try {
+                if (backoffMillis > 0) {
+                    Thread.sleep(backoffMillis);
+                }
+                if (offset == null) {
+                    offset = offsetRepository.findById(bot).map(TelegramUpdateOffset::getNextOffset).orElse(0L);
+                }
+                offset = pollOnce(bot, offset);
+                backoffMillis = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                backoffMillis = Math.min(Math.max(1000, backoffMillis * 2), properties.getPollMaxBackoff().toMillis());
+                if (e instanceof HttpClientErrorException.Conflict) {
+                    log.error("getUpdates недоступен, пока у бота настроен webhook: удалите его методом deleteWebhook");
+                } else {
+                    log.error("Ошибка при получении обновлений Telegram, повтор через {} мс: {}",
+                            backoffMillis, e.getMessage());
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Метод запрашивает одну пачку обновлений и применяет её вместе с сохранением нового смещения
+     * @param bot идентификатор бота
+     * @param offset идентификатор первого ожидаемого обновления
+     * @return смещение для следующего запроса
+     */
+    private long pollOnce(String bot, long offset) {
+        URI uri = UriComponentsBuilder.fromUriString(telegramProperties.methodUrl("getUpdates"))
+                .queryParam("offset", offset)
+                .queryParam("limit", Math.min(properties.getBatchSize(), MAX_LIMIT))
+                .queryParam("timeout", properties.getPollTimeout().toSeconds())
+                .queryParam("allowed_updates", "[\"message\"]")
+                .encode()
+                .build()
+                .toUri();
+        TelegramGetUpdatesResponseDTO response = restTemplate.getForObject(uri, TelegramGetUpdatesResponseDTO.class);
+        if (response == null || !response.isOk()) {
+            throw new IllegalStateException("getUpdates вернул ошибку: "
+                    + (response != null ? response.getDescription() : "пустой ответ"));
+        }
+
+        List<TelegramUpdateDTO> updates = response.getResult();
+        if (updates.isEmpty()) {
+            return offset;
+        }
+        long nextOffset = updates.stream()
+                .map(TelegramUpdateDTO::getUpdateId)
+                .filter(id -> id != null)
+                .mapToLong(id -> id + 1)
+                .max()
+                .orElse(offset);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            registrationService.applyUpdates(updates);
+            offsetRepository.save(new TelegramUpdateOffset(bot, nextOffset, LocalDateTime.now()));
+        });
+        log.debug("Обработано {} обновлений Telegram, следующее смещение {}", updates.size(), nextOffset);
+        return nextOffset;
+    }
+
+
+    /**
+     * Метод возвращает идентификатор бота — часть токена до двоеточия,
+     * чтобы не хранить сам токен в базе данных
+     * @return идентификатор бота
+     */
+    private String botId() {
+        String token = telegramProperties.getToken();
+        int separator = token.indexOf(':');
+        return separator > 0 ? token.substring(0, separator) : "default";
+    }
+}
@@ -0,0 +1,169 @@
+package com.muzkat.reminder.service.telegram;
+
+import com.muzkat.reminder.config.TelegramIngestionProperties;
+import com.muzkat.reminder.dto.TelegramUpdateDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ограниченная очередь входящих обновлений Telegram с фоновым обработчиком.
+ * <p>
+ *     Webhook только кладёт обновление в очередь и сразу отвечает Telegram.
+ *     Фоновый поток {@code telegram-updates} забирает обновления пачками
+ *     (не более {@code telegram.ingestion.batch-size}) и передаёт их в {@link TelegramRegistrationService}
+ * </p>
+ * <p>
+ *     Telegram уже получил ответ и повторно обновления не доставит, поэтому пачка, которую не удалось применить,
+ *     не отбрасывается: поток повторяет её с нарастающей паузой (не более {@code telegram.ingestion.apply-max-backoff})
+ *     до {@code telegram.ingestion.apply-max-attempts} попыток и только затем записывает каждое обновление
+ *     в журнал ошибок как недоставленное (dead letter), чтобы привязку чата можно было восстановить вручную.
+ *     Новые обновления в это время ждут в очереди
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "telegram.ingestion", name = "mode", havingValue = "webhook", matchIfMissing = true)
+@Slf4j
+@RequiredArgsConstructor
+public class TelegramUpdateQueue {
+
+    /**
+     * Поле сервис привязки Telegram-чата к пользователю
+     */
+    private final TelegramRegistrationService registrationService;
+
+    /**
+     * Поле настройки приёма обновлений
+     */
+    private final TelegramIngestionProperties properties;
+
+    /**
+     * Поле очередь обновлений, ожидающих обработки
+     */
+    private BlockingQueue<TelegramUpdateDTO> queue;
+
+    /**
+     * Поле фоновый поток обработки
+     */
+    private Thread worker;
+
+    /**
+     * Поле признак работы фонового потока
+     */
+    private volatile boolean running;
+
+
+    /**
+     * Метод создаёт очередь и запускает фоновый поток обработки
+     */
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        running = true;
+        worker = Thread.ofPlatform()
+                .name("telegram-updates")
+                .daemon(true)
+                .start(this::processLoop);
+    }
+
+
+    /**
+     * Метод останавливает фоновый поток, предварительно обработав оставшиеся обновления.
+     * Если поток не успел за 10 секунд, он прерывается и записывает необработанные обновления как недоставленные
+     * @throws InterruptedException если ожидание завершения потока было прервано
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+        if (worker.isAlive()) {
+            worker.interrupt();
+            worker.join(TimeUnit.SECONDS.toMillis(1));
+        }
+    }
+
+
+    /**
+     * Метод добавляет обновление в очередь без ожидания
+     * @param update обновление от Telegram
+     * @return true, если обновление принято; false, если очередь заполнена
+     */
+    public boolean submit(TelegramUpdateDTO update) {
+        return queue.offer(update);
+    }
+
+
+    /**
+     * Цикл фонового потока: забирает обновления пачками и применяет их.
+     * Пачка, которую не удалось применить, повторяется с паузой, пока не исчерпаны попытки
+     */
+    private void processLoop() {
+        int batchSize = properties.getBatchSize();
+        List<TelegramUpdateDTO> batch = new ArrayList<>(batchSize);
+        int attempts = 0;
+        long backoffMillis = 0;
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    TelegramUpdateDTO first = queue.poll(1, TimeUnit.SECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                } else if (backoffMillis > 0) {
+                    Thread.sleep(backoffMillis);
+                }
+                attempts++;
+                registrationService.applyUpdates(batch);
+                batch.clear();
+                attempts = 0;
+                backoffMillis = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queue.drainTo(batch);
+                deadLetter(batch, "обработка остановлена");
+                return;
+            } catch (Exception e) {
+                if (!running || attempts >= properties.getApplyMaxAttempts()) {
+                    log.error("Не удалось обработать {} обновлений Telegram за {} попыток: {}",
+                            batch.size(), attempts, e.getMessage());
+                    deadLetter(batch, e.getMessage());
+                    batch.clear();
+                    attempts = 0;
+                    backoffMillis = 0;
+                } else {
+                    backoffMillis = Math.min(Math.max(1000, backoffMillis * 2),
+                            properties.getApplyMaxBackoff().toMillis());
+                    log.warn("Ошибка при обработке {} обновлений Telegram (попытка {} из {}), повтор через {} мс: {}",
+                            batch.size(), attempts, properties.getApplyMaxAttempts(), backoffMillis, e.getMessage());
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Метод записывает необработанные обновления в журнал ошибок, чтобы привязку чатов можно было восстановить вручную
+     * @param updates обновления, которые не удалось применить
+     * @param reason причина
+     */
+    private void deadLetter(List<TelegramUpdateDTO> updates, String reason) {
+        for (TelegramUpdateDTO update : updates) {
+            TelegramUpdateDTO.Message message = update.getMessage();
+            log.error("Обновление Telegram не применено (dead letter, {}): update_id {}, chat_id {}, текст {}",
+                    reason, update.getUpdateId(),
+                    message == null || message.getChat() == null ? null : message.getChat().getId(),
+                    message == null ? null : message.getText());
+        }
+    }
+}
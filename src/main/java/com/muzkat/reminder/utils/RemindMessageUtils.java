@@ -0,0 +1,35 @@
+package com.muzkat.reminder.utils;
+
+import com.muzkat.reminder.model.Remind;
+import lombok.experimental.UtilityClass;
+
+import java.time.format.DateTimeFormatter;
+
+
+/**
+ * Утилитарный класс для формирования текста уведомлений о напоминаниях.
+ * Форматтер даты создаётся один раз: {@link DateTimeFormatter} неизменяем и потокобезопасен,
+ * поэтому разбирать шаблон заново для каждого напоминания не нужно.
+ * Класс не предназначен для создания экземпляров.
+ */
+@UtilityClass
+public class RemindMessageUtils {
+
+    /**
+     * Поле форматтер времени и даты напоминания в сообщении Telegram (Markdown)
+     */
+    private static final DateTimeFormatter TELEGRAM_DATE_TIME =
+            DateTimeFormatter.ofPattern("\n*время начала* HH:mm\n*дата* dd-MM-yyyy");
+
+
+    /**
+     * Метод формирует текст сообщения Telegram о напоминании
+     * @param remind напоминание
+     * @return текст сообщения в разметке Markdown
+     */
+    public static String telegramMessage(Remind remind) {
+        return "Напоминание: *" + remind.getTitle() + "*\n\n" +
+               remind.getDescription() + "\n" +
+               remind.getDateTimeOfRemind().format(TELEGRAM_DATE_TIME);
+    }
+}
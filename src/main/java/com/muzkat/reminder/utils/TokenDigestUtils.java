@@ -0,0 +1,33 @@
+package com.muzkat.reminder.utils;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+
+/**
+ * Утилитарный класс для вычисления отпечатков токенов.
+ * Отпечаток (SHA-256 в кодировке Base64 URL без паддинга) используется вместо самого токена
+ * как ключ кэша и в журналах, чтобы значение токена не хранилось в открытом виде.
+ * Класс не предназначен для создания экземпляров.
+ */
+@UtilityClass
+public class TokenDigestUtils {
+
+    /**
+     * Метод вычисляет SHA-256 отпечаток токена
+     * @param token исходный токен
+     * @return отпечаток токена в кодировке Base64 URL без паддинга
+     */
+    public static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Алгоритм SHA-256 недоступен", e);
+        }
+    }
+}